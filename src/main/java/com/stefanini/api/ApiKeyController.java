@@ -0,0 +1,69 @@
+package com.stefanini.api;
+
+import com.stefanini.infrastructure.security.ApiKey;
+import com.stefanini.infrastructure.security.ApiKeyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.util.Arrays;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/api-keys")
+@Tag(name = "API keys", description = "Long-lived keys for machine clients")
+@SecurityRequirement(name = "bearerAuth")
+public class ApiKeyController {
+
+    private final ApiKeyService apiKeyService;
+
+    public ApiKeyController(ApiKeyService apiKeyService) {
+        this.apiKeyService = apiKeyService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Create an API key for the caller; the key is only returned once")
+    public ResponseEntity<ApiKeyResponse> create(@Valid @RequestBody ApiKeyRequest request, Authentication authentication) {
+        try {
+            ApiKeyService.CreatedApiKey created = apiKeyService.create(authentication.getName(), request.getName().trim(),
+                    request.getScopes(), request.getExpiresAt());
+            return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(created.getKey(), created.getRawKey()));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    @GetMapping
+    @Operation(summary = "List the caller's API keys")
+    public List<ApiKeyResponse> list(Authentication authentication) {
+        return apiKeyService.listFor(authentication.getName()).stream()
+                .map(key -> toResponse(key, null))
+                .toList();
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Revoke an API key")
+    public ResponseEntity<Void> revoke(@PathVariable Long id, Authentication authentication) {
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+        apiKeyService.revoke(id, authentication.getName(), admin);
+        return ResponseEntity.noContent().build();
+    }
+
+    private ApiKeyResponse toResponse(ApiKey key, String rawKey) {
+        return new ApiKeyResponse(key.getId(), key.getName(), key.getKeyPrefix(),
+                Arrays.asList(key.getScopes().split(" ")), key.getCreatedAt(), key.getExpiresAt(),
+                key.getRevokedAt(), rawKey);
+    }
+}
@@ -0,0 +1,49 @@
+package com.stefanini.api;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ApiKeyRequest {
+
+    @NotBlank
+    @Size(max = 100)
+    private String name;
+
+    /**
+     * Any of {@code tasks:read}, {@code tasks:write}.
+     */
+    @NotEmpty
+    private List<String> scopes;
+
+    /**
+     * Optional expiry (UTC); keys without one stay valid until revoked.
+     */
+    private LocalDateTime expiresAt;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<String> getScopes() {
+        return scopes;
+    }
+
+    public void setScopes(List<String> scopes) {
+        this.scopes = scopes;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
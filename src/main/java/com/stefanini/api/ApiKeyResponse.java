@@ -0,0 +1,66 @@
+package com.stefanini.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ApiKeyResponse {
+
+    private final Long id;
+    private final String name;
+    private final String prefix;
+    private final List<String> scopes;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime expiresAt;
+    private final LocalDateTime revokedAt;
+
+    /**
+     * The secret itself; only present in the response to the create call.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final String key;
+
+    public ApiKeyResponse(Long id, String name, String prefix, List<String> scopes, LocalDateTime createdAt,
+                          LocalDateTime expiresAt, LocalDateTime revokedAt, String key) {
+        this.id = id;
+        this.name = name;
+        this.prefix = prefix;
+        this.scopes = scopes;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+        this.key = key;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public List<String> getScopes() {
+        return scopes;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
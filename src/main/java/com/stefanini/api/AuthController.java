@@ -1,39 +1,121 @@
 package com.stefanini.api;
 
-import com.stefanini.infrastructure.security.JwtService;
+import com.stefanini.infrastructure.security.AuthTokenService;
+import com.stefanini.infrastructure.security.InvalidRefreshTokenException;
+import com.stefanini.infrastructure.security.LoginExecutor;
+import com.stefanini.infrastructure.security.TokenRevocationService;
+import com.stefanini.infrastructure.security.VerifiedToken;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequestMapping("/api/auth")
 @Tag(name = "Auth", description = "Authentication and JWT generation")
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
-    private final JwtService jwtService;
+    private final LoginExecutor loginExecutor;
+    private final AuthTokenService authTokenService;
+    private final TokenRevocationService revocationService;
 
-    public AuthController(AuthenticationManager authenticationManager, JwtService jwtService) {
-        this.authenticationManager = authenticationManager;
-        this.jwtService = jwtService;
+    public AuthController(LoginExecutor loginExecutor, AuthTokenService authTokenService,
+                          TokenRevocationService revocationService) {
+        this.loginExecutor = loginExecutor;
+        this.authTokenService = authTokenService;
+        this.revocationService = revocationService;
     }
 
     @PostMapping("/login")
-    @Operation(summary = "Authenticate and return JWT token")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        Authentication auth = authenticationManager.authenticate(
+    @Operation(summary = "Authenticate and return access and refresh tokens")
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
+        // Password verification runs on the login pool; the request thread is released while it waits.
+        return loginExecutor.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
+        ).thenApply(auth -> ResponseEntity.ok(toResponse(authTokenService.issue(auth))));
+    }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Exchange a refresh token for a new access token (the refresh token is rotated)")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshRequest request) {
+        try {
+            return ResponseEntity.ok(toResponse(authTokenService.refresh(request.getRefreshToken())));
+        } catch (InvalidRefreshTokenException ex) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, ex.getMessage());
+        }
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Revoke the access token used for this request")
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<Void> logout(Authentication authentication) {
+        VerifiedToken current = currentToken(authentication);
+        revocationService.revokeToken(current.getId(), current.getSubject(), current.getExpiresAt());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/revoke")
+    @Operation(summary = "Revoke a token by jti, or all of a user's tokens issued before a timestamp")
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<Void> revoke(@RequestBody RevokeRequest request, Authentication authentication) {
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+        if (request.getJti() != null && !request.getJti().isBlank()) {
+            String jti = request.getJti().trim();
+            // The owner of an arbitrary jti is unknown, so only admins may revoke tokens other than their own,
+            // and they have to name the owner for the revocation record.
+            String owner = authentication.getCredentials() instanceof VerifiedToken token && jti.equals(token.getId())
+                    ? token.getSubject()
+                    : null;
+            if (owner == null) {
+                if (!admin) {
+                    throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Cannot revoke tokens of another user");
+                }
+                if (request.getUsername() == null || request.getUsername().isBlank()) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "username of the token's owner is required to revoke another user's token");
+                }
+                owner = request.getUsername().trim();
+            }
+            revocationService.revokeToken(jti, owner, null);
+            return ResponseEntity.noContent().build();
+        }
+
+        String username = request.getUsername() != null && !request.getUsername().isBlank()
+                ? request.getUsername().trim()
+                : authentication.getName();
+        if (!username.equals(authentication.getName()) && !admin) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Cannot revoke tokens of another user");
+        }
+        Instant before = request.getIssuedBefore() != null ? request.getIssuedBefore() : Instant.now();
+        try {
+            revocationService.revokeAllIssuedBefore(username, before);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    private VerifiedToken currentToken(Authentication authentication) {
+        if (authentication == null || !(authentication.getCredentials() instanceof VerifiedToken token)
+                || token.getId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Request was not authenticated with a revocable token");
+        }
+        return token;
+    }
 
-        String token = jwtService.generateToken(auth.getName());
-        return ResponseEntity.ok(new AuthResponse(token));
+    private AuthResponse toResponse(AuthTokenService.IssuedTokens tokens) {
+        return new AuthResponse(tokens.getAccessToken(), tokens.getRefreshToken(), tokens.getExpiresInMillis() / 1000);
     }
 }
@@ -2,6 +2,8 @@ package com.stefanini.api;
 
 public class AuthResponse {
     private String token;
+    private String refreshToken;
+    private Long expiresIn;
 
     public AuthResponse() {
     }
@@ -10,6 +12,12 @@ public class AuthResponse {
         this.token = token;
     }
 
+    public AuthResponse(String token, String refreshToken, Long expiresIn) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
+    }
+
     public String getToken() {
         return token;
     }
@@ -17,4 +25,23 @@ public class AuthResponse {
     public void setToken(String token) {
         this.token = token;
     }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    /**
+     * Access token lifetime in seconds.
+     */
+    public Long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public void setExpiresIn(Long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
 }
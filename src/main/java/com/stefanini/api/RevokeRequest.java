@@ -0,0 +1,46 @@
+package com.stefanini.api;
+
+import java.time.Instant;
+
+public class RevokeRequest {
+
+    /**
+     * Revoke a single token by its jti claim. When absent, all tokens of {@link #username} are revoked.
+     */
+    private String jti;
+
+    /**
+     * Defaults to the caller; revoking another user's tokens requires ROLE_ADMIN. With a {@link #jti} that is not
+     * the caller's own token, names the token's owner and is required.
+     */
+    private String username;
+
+    /**
+     * Tokens issued before this instant, at second precision, are revoked; defaults to now and may not be later.
+     */
+    private Instant issuedBefore;
+
+    public String getJti() {
+        return jti;
+    }
+
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public Instant getIssuedBefore() {
+        return issuedBefore;
+    }
+
+    public void setIssuedBefore(Instant issuedBefore) {
+        this.issuedBefore = issuedBefore;
+    }
+}
@@ -0,0 +1,75 @@
+package com.stefanini.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+public class TaskBatchResponse {
+
+    private final int requested;
+    private final int created;
+    private final int failed;
+    private final List<Item> results;
+
+    public TaskBatchResponse(List<Item> results) {
+        this.requested = results.size();
+        this.created = (int) results.stream().filter(item -> Item.CREATED.equals(item.getStatus())).count();
+        this.failed = requested - created;
+        this.results = results;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public List<Item> getResults() {
+        return results;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class Item {
+
+        static final String CREATED = "CREATED";
+        static final String INVALID = "INVALID";
+        static final String FAILED = "FAILED";
+
+        private final int index;
+
+        /**
+         * CREATED, INVALID (rejected by validation, nothing written) or FAILED (its chunk could not be inserted).
+         */
+        private final String status;
+        private final TaskResponse task;
+        private final List<String> errors;
+
+        public Item(int index, String status, TaskResponse task, List<String> errors) {
+            this.index = index;
+            this.status = status;
+            this.task = task;
+            this.errors = errors;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public TaskResponse getTask() {
+            return task;
+        }
+
+        public List<String> getErrors() {
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.stefanini.api;
+
+import jakarta.validation.constraints.NotBlank;
+import java.util.List;
+
+/**
+ * Target status plus either explicit {@code ids} or a {@code filter}; exactly one of them must be given.
+ */
+public class TaskBulkStatusRequest {
+
+    private List<Long> ids;
+
+    private Filter filter;
+
+    @NotBlank
+    private String status;
+
+    public TaskBulkStatusRequest() {
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public Filter getFilter() {
+        return filter;
+    }
+
+    public void setFilter(Filter filter) {
+        this.filter = filter;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    /**
+     * Same criteria as GET /api/tasks; at least one is required.
+     */
+    public static class Filter {
+
+        private String status;
+        private String from;
+        private String to;
+
+        public Filter() {
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public String getFrom() {
+            return from;
+        }
+
+        public void setFrom(String from) {
+            this.from = from;
+        }
+
+        public String getTo() {
+            return to;
+        }
+
+        public void setTo(String to) {
+            this.to = to;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.stefanini.api;
+
+import java.util.List;
+
+public class TaskBulkStatusResponse {
+
+    private final String status;
+    private final int updated;
+    private final List<Long> ids;
+
+    /**
+     * True when a filter matched more than {@code app.tasks.bulk.max-rows}; repeat the request to continue.
+     */
+    private final boolean hasMore;
+
+    public TaskBulkStatusResponse(String status, List<Long> ids, boolean hasMore) {
+        this.status = status;
+        this.updated = ids.size();
+        this.ids = ids;
+        this.hasMore = hasMore;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
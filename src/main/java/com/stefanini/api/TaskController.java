@@ -1,20 +1,60 @@
 package com.stefanini.api;
 
+import com.stefanini.application.CursorPage;
+import com.stefanini.application.TaskBatchResult;
+import com.stefanini.application.TaskBulkResult;
+import com.stefanini.application.TaskImportReader;
+import com.stefanini.application.TaskImportResult;
+import com.stefanini.application.TaskImportService;
+import com.stefanini.application.TaskJsonCache;
+import com.stefanini.application.TaskCursor;
+import com.stefanini.application.TaskProperties;
+import com.stefanini.application.TaskPurgeService;
 import com.stefanini.application.TaskService;
+import com.stefanini.application.TaskStatistics;
+import com.stefanini.application.TaskStats;
 import com.stefanini.domain.Task;
+import com.stefanini.domain.TaskPurgeJob;
 import com.stefanini.domain.TaskStatus;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -22,9 +62,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 @RestController
@@ -33,10 +75,28 @@ import org.springframework.web.server.ResponseStatusException;
 @SecurityRequirement(name = "bearerAuth")
 public class TaskController {
 
+    private static final Set<String> COUNT_MODES = Set.of("none", "approximate", "exact");
+
     private final TaskService taskService;
+    private final TaskProperties taskProperties;
+    private final Validator validator;
+    private final TaskPurgeService purgeService;
+    private final TaskImportService importService;
+    private final TaskStatistics statistics;
+    private final TaskJsonCache jsonCache;
+    private final Semaphore exportPermits;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskProperties taskProperties, Validator validator,
+                          TaskPurgeService purgeService, TaskImportService importService, TaskStatistics statistics,
+                          TaskJsonCache jsonCache) {
         this.taskService = taskService;
+        this.taskProperties = taskProperties;
+        this.validator = validator;
+        this.purgeService = purgeService;
+        this.importService = importService;
+        this.statistics = statistics;
+        this.jsonCache = jsonCache;
+        this.exportPermits = new Semaphore(taskProperties.getExport().getMaxConcurrent());
     }
 
     @PostMapping
@@ -46,52 +106,355 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(created));
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create many tasks at once; each item is validated and reported on its own")
+    public TaskBatchResponse createBatch(@RequestBody List<TaskRequest> requests) {
+        int maxItems = taskProperties.getBatch().getMaxItems();
+        if (requests == null || requests.isEmpty() || requests.size() > maxItems) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch must contain between 1 and " + maxItems + " tasks");
+        }
+
+        TaskBatchResponse.Item[] results = new TaskBatchResponse.Item[requests.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        List<Task> valid = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            List<String> errors = validate(requests.get(i));
+            if (errors.isEmpty()) {
+                validIndexes.add(i);
+                valid.add(toEntity(requests.get(i)));
+            } else {
+                results[i] = new TaskBatchResponse.Item(i, TaskBatchResponse.Item.INVALID, null, errors);
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            List<TaskBatchResult.Item> outcomes = taskService.createBatch(valid).getItems();
+            for (int j = 0; j < outcomes.size(); j++) {
+                int index = validIndexes.get(j);
+                TaskBatchResult.Item outcome = outcomes.get(j);
+                results[index] = outcome.isCreated()
+                        ? new TaskBatchResponse.Item(index, TaskBatchResponse.Item.CREATED, toResponse(outcome.getTask()), List.of())
+                        : new TaskBatchResponse.Item(index, TaskBatchResponse.Item.FAILED, null, List.of(outcome.getError()));
+            }
+        }
+        return new TaskBatchResponse(Arrays.asList(results));
+    }
+
+    @PostMapping("/import")
+    @Operation(summary = "Bulk load tasks from an NDJSON or CSV request body of any size (gzip accepted); "
+            + "rejected rows are reported by line number")
+    public TaskImportResponse importTasks(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            HttpServletRequest request
+    ) throws IOException {
+        TaskImportReader.Format parsedFormat;
+        try {
+            parsedFormat = TaskImportReader.Format.parse(format);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+        InputStream body = request.getInputStream();
+        if (contentEncoding != null && contentEncoding.trim().equalsIgnoreCase("gzip")) {
+            body = new GZIPInputStream(body, 8192);
+        }
+        TaskImportResult result = importService.importTasks(new InputStreamReader(body, StandardCharsets.UTF_8), parsedFormat);
+        return new TaskImportResponse(result.getRead(), result.getImported(), result.getRejected(),
+                result.getRejections().stream()
+                        .map(r -> new TaskImportResponse.Rejection(r.getLine(), r.getErrors()))
+                        .toList());
+    }
+
+    @PostMapping("/bulk-status")
+    @Operation(summary = "Move many tasks to a status at once, selected by ids or by a search filter")
+    public TaskBulkStatusResponse updateStatus(@Valid @RequestBody TaskBulkStatusRequest request) {
+        TaskStatus target = parseStatusForPatch(request.getStatus());
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (byIds == (request.getFilter() != null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Provide either ids or filter");
+        }
+
+        TaskBulkResult result;
+        if (byIds) {
+            int maxRows = taskProperties.getBulk().getMaxRows();
+            if (request.getIds().size() > maxRows) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + maxRows + " ids per request");
+            }
+            if (request.getIds().stream().anyMatch(Objects::isNull)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids must not contain null");
+            }
+            result = taskService.updateStatus(request.getIds(), target);
+        } else {
+            TaskBulkStatusRequest.Filter filter = request.getFilter();
+            TaskStatus status = filter.getStatus() != null && !filter.getStatus().isBlank() ? parseStatus(filter.getStatus()) : null;
+            LocalDateTime fromDate = parseDate(filter.getFrom(), "from");
+            LocalDateTime toDate = parseDate(filter.getTo(), "to");
+            requireCriterion(status, fromDate, toDate);
+            result = taskService.updateStatus(status, fromDate, toDate, target);
+        }
+        return new TaskBulkStatusResponse(target.name(),
+                result.getUpdated().stream().map(Task::getId).toList(), result.isHasMore());
+    }
+
+    @PostMapping("/purge-jobs")
+    @Operation(summary = "Delete every task matching a filter in the background; poll the returned job for progress")
+    public ResponseEntity<TaskPurgeJobResponse> startPurge(@RequestBody TaskPurgeRequest request,
+                                                           Authentication authentication) {
+        TaskStatus status = request.getStatus() != null && !request.getStatus().isBlank() ? parseStatus(request.getStatus()) : null;
+        LocalDateTime fromDate = parseDate(request.getFrom(), "from");
+        LocalDateTime toDate = parseDate(request.getTo(), "to");
+        requireCriterion(status, fromDate, toDate);
+        TaskPurgeJob job = purgeService.start(status, fromDate, toDate, authentication.getName());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(toResponse(job));
+    }
+
+    @GetMapping("/purge-jobs/{id}")
+    @Operation(summary = "Get the progress of a purge job started by the caller (any job for admins)")
+    public TaskPurgeJobResponse findPurge(@PathVariable Long id, Authentication authentication) {
+        return toResponse(purgeService.find(id, authentication.getName(), isAdmin(authentication)));
+    }
+
+    @DeleteMapping("/purge-jobs/{id}")
+    @Operation(summary = "Cancel a purge job started by the caller (any job for admins); tasks already deleted "
+            + "stay deleted")
+    public TaskPurgeJobResponse cancelPurge(@PathVariable Long id, Authentication authentication) {
+        return toResponse(purgeService.cancel(id, authentication.getName(), isAdmin(authentication)));
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+    }
+
     @GetMapping
-    @Operation(summary = "Search tasks with optional filters and pagination")
-    public Page<TaskResponse> findAll(
+    @Operation(summary = "Search tasks with optional filters and pagination. q matches words of the title or "
+            + "description (all words must match, a trailing * matches a prefix). No total is computed unless "
+            + "count=approximate (cached estimate) or count=exact is requested. Answers If-None-Match with 304 "
+            + "when the page still has the same tasks at the same versions")
+    public TaskPageResponse findAll(
+            @RequestParam(required = false) String q,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String from,
             @RequestParam(required = false) String to,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "none") String count,
+            WebRequest request
+    ) {
+        validateSize(size);
+        if (page < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page must not be negative");
+        }
+        Pageable pageable = PageRequest.of(page, size,
+                Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")));
+        TaskStatus parsedStatus = status != null && !status.isBlank() ? parseStatus(status) : null;
+        LocalDateTime fromDate = parseDate(from, "from");
+        LocalDateTime toDate = parseDate(to, "to");
+        String countMode = count.trim().toLowerCase();
+        if (!COUNT_MODES.contains(countMode)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Invalid count: " + count + " (expected none, approximate or exact)");
+        }
+
+        if (q != null && !q.isBlank()) {
+            Page<Task> result;
+            try {
+                result = taskService.searchText(q, parsedStatus, fromDate, toDate, pageable);
+            } catch (IllegalArgumentException ex) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+            } catch (IllegalStateException ex) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+            }
+            // Text matches are capped at app.tasks.search.max-candidates, so the exact total stays affordable.
+            boolean withTotal = !countMode.equals("none");
+            return notModified(request,
+                    toPageResponse(result, withTotal ? result.getTotalElements() : null, withTotal ? false : null));
+        }
+
+        TaskPageResponse response = switch (countMode) {
+            case "exact" -> {
+                Page<Task> result = taskService.search(parsedStatus, fromDate, toDate, pageable);
+                yield toPageResponse(result, result.getTotalElements(), false);
+            }
+            case "approximate" -> {
+                Slice<Task> result = taskService.searchSlice(parsedStatus, fromDate, toDate, pageable);
+                yield toPageResponse(result, taskService.estimateCount(parsedStatus, fromDate, toDate), true);
+            }
+            default -> toPageResponse(taskService.searchSlice(parsedStatus, fromDate, toDate, pageable), null, null);
+        };
+        return notModified(request, response);
+    }
+
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Search tasks with keyset pagination; send an empty cursor for the first page and "
+            + "the returned next cursor for the following ones")
+    public TaskCursorResponse findAllByCursor(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request
     ) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+        validateSize(size);
+        if (q != null && !q.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "q is only supported with page and size");
+        }
+        TaskStatus parsedStatus = status != null && !status.isBlank() ? parseStatus(status) : null;
+        LocalDateTime fromDate = parseDate(from, "from");
+        LocalDateTime toDate = parseDate(to, "to");
+        TaskCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = TaskCursor.decode(cursor.trim());
+            } catch (IllegalArgumentException ex) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+
+        CursorPage<Task> result = taskService.searchAfter(parsedStatus, fromDate, toDate, after, size);
+        TaskCursorResponse response = new TaskCursorResponse(
+                result.getItems().stream().map(this::toResponse).toList(),
+                result.getNext() != null ? result.getNext().encode() : null);
+        return request.checkNotModified(pageEtag(response.getItems(), response.getNext())) ? null : response;
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Stream every task matching the filters, newest first, as NDJSON (default) or CSV; "
+            + "gzip-compressed when the client accepts it")
+    public void export(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response
+    ) throws IOException {
         TaskStatus parsedStatus = status != null && !status.isBlank() ? parseStatus(status) : null;
         LocalDateTime fromDate = parseDate(from, "from");
         LocalDateTime toDate = parseDate(to, "to");
+        boolean csv = switch (format.trim().toLowerCase()) {
+            case "ndjson" -> false;
+            case "csv" -> true;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Invalid format: " + format + " (expected ndjson or csv)");
+        };
+        boolean gzip = acceptsGzip(acceptEncoding);
+        // Each export keeps its read transaction and connection open for the whole download; without a bound, a
+        // handful of slow clients would drain the pool for every other request.
+        if (!exportPermits.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many exports in progress, retry later");
+        }
+        try {
+            stream(parsedStatus, fromDate, toDate, csv, gzip, response);
+        } finally {
+            exportPermits.release();
+        }
+    }
+
+    private void stream(TaskStatus status, LocalDateTime from, LocalDateTime to, boolean csv, boolean gzip,
+                        HttpServletResponse response) throws IOException {
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + (csv ? "csv" : "ndjson") + "\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        // Written on the request thread: blocking writes to a slow client hold back the database read, and there
+        // is no async request timeout for a long export to run into.
+        OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream(), 8192) : response.getOutputStream();
+        try (TaskExportWriter writer = csv ? TaskExportWriter.csv(out) : TaskExportWriter.ndjson(out)) {
+            taskService.export(status, from, to, writer::writeUnchecked);
+        }
+    }
 
-        return taskService.search(parsedStatus, fromDate, toDate, pageable)
-                .map(this::toResponse);
+    @GetMapping("/stats")
+    @Operation(summary = "Task counts per status and per creation day for the last days (default 30), served from "
+            + "memory without querying the database")
+    public TaskStatsResponse stats(@RequestParam(defaultValue = "30") int days) {
+        int maxDays = taskProperties.getStats().getMaxDays();
+        if (days < 1 || days > maxDays) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "days must be between 1 and " + maxDays);
+        }
+        TaskStats stats = statistics.snapshot(days);
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        stats.getByStatus().forEach((status, count) -> byStatus.put(status.name(), count));
+        List<TaskStatsResponse.Day> byDay = new ArrayList<>(stats.getByDay().size());
+        stats.getByDay().forEach((day, count) -> byDay.add(new TaskStatsResponse.Day(day, count)));
+        return new TaskStatsResponse(stats.getTotal(), byStatus, byDay, stats.getReconciledAt());
     }
 
-    @GetMapping("/{id}")
-    @Operation(summary = "Get a task by id")
-    public TaskResponse findById(@PathVariable Long id) {
-        return toResponse(taskService.findById(id));
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get a task by id; answers If-None-Match with 304 while the task is unchanged")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = TaskResponse.class)))
+    public ResponseEntity<byte[]> findById(@PathVariable Long id, WebRequest request) {
+        // Revalidation only needs the version, not the task or its JSON.
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String etag = etag(jsonCache.version(id));
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        // Written as cached bytes; the schema above documents their shape.
+        TaskJsonCache.Entry entry = jsonCache.get(id, this::toResponse);
+        return ResponseEntity.ok().eTag(etag(entry.getVersion())).contentType(MediaType.APPLICATION_JSON)
+                .body(entry.getJson());
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update a task (replace all fields)")
-    public TaskResponse update(@PathVariable Long id, @Valid @RequestBody TaskRequest request) {
-        Task updated = taskService.update(id, toEntity(request));
-        return toResponse(updated);
+    @Operation(summary = "Update a task (replace all fields); with If-Match, only if the task is still at that "
+            + "version (412 otherwise)")
+    public ResponseEntity<TaskResponse> update(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody TaskRequest request
+    ) {
+        Task updated = taskService.update(id, toEntity(request), expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(etag(updated.getVersion())).body(toResponse(updated));
     }
 
     @PatchMapping("/{id}")
-    @Operation(summary = "Partially update a task (only provided fields)")
-    public TaskResponse patch(@PathVariable Long id, @RequestBody TaskPatchRequest request) {
+    @Operation(summary = "Partially update a task (only provided fields); If-Match works as for PUT")
+    public ResponseEntity<TaskResponse> patch(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody TaskPatchRequest request
+    ) {
         Task partial = toEntity(request);
-        Task patched = taskService.patch(id, partial);
-        return toResponse(patched);
+        Task patched = taskService.patch(id, partial, expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(etag(patched.getVersion())).body(toResponse(patched));
     }
 
     @DeleteMapping("/{id}")
-    @Operation(summary = "Delete a task by id")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        taskService.delete(id);
+    @Operation(summary = "Delete a task by id; If-Match works as for PUT")
+    public ResponseEntity<Void> delete(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        taskService.delete(id, expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
+    private List<String> validate(TaskRequest request) {
+        if (request == null) {
+            return List.of("task must not be null");
+        }
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<TaskRequest> violation : validator.validate(request)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        if (request.getStatus() != null && !request.getStatus().isBlank()) {
+            try {
+                TaskStatus.valueOf(request.getStatus().trim().toUpperCase());
+            } catch (IllegalArgumentException ex) {
+                errors.add("status: Invalid status: " + request.getStatus());
+            }
+        }
+        return errors;
+    }
+
     private Task toEntity(TaskRequest request) {
         Task task = new Task();
         task.setTitle(request.getTitle());
@@ -130,16 +493,115 @@ public class TaskController {
         return parseStatus(status);
     }
 
+    private TaskPageResponse toPageResponse(Slice<Task> slice, Long total, Boolean approximate) {
+        return new TaskPageResponse(slice.getContent().stream().map(this::toResponse).toList(),
+                slice.getNumber(), slice.getSize(), slice.hasNext(), total, approximate);
+    }
+
+    private TaskPurgeJobResponse toResponse(TaskPurgeJob job) {
+        return new TaskPurgeJobResponse(job.getId(), job.getState().name(),
+                job.getFilterStatus() != null ? job.getFilterStatus().name() : null, job.getFilterFrom(), job.getFilterTo(),
+                job.getDeletedCount(), job.getCreatedAt(), job.getUpdatedAt(), job.getFinishedAt(), job.getError());
+    }
+
     private TaskResponse toResponse(Task task) {
         return new TaskResponse(
                 task.getId(),
                 task.getTitle(),
                 task.getDescription(),
                 task.getCreatedAt(),
-                task.getStatus() != null ? task.getStatus().name() : null
+                task.getStatus() != null ? task.getStatus().name() : null,
+                task.getVersion()
         );
     }
 
+    private TaskPageResponse notModified(WebRequest request, TaskPageResponse response) {
+        return request.checkNotModified(pageEtag(response.getContent(), response.isHasNext(),
+                response.getTotalElements())) ? null : response;
+    }
+
+    /**
+     * Whether Accept-Encoding lets gzip through: an explicit {@code gzip} entry decides, otherwise {@code *} does,
+     * and a weight of 0 (or one that does not parse) means not acceptable.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.length() > 2 && param.substring(0, 2).equalsIgnoreCase("q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException ex) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = q;
+            } else if (coding.equals("*")) {
+                any = q;
+            }
+        }
+        Double weight = gzip != null ? gzip : any;
+        return weight != null && weight > 0;
+    }
+
+    // Strong: one version always has the same JSON.
+    private static String etag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    // Weak: same tasks at the same versions and same paging state, whatever the exact bytes.
+    private static String pageEtag(List<TaskResponse> items, Object... state) {
+        long hash = Arrays.hashCode(state);
+        for (TaskResponse item : items) {
+            hash = 31 * hash + item.getId();
+            hash = 31 * hash + Objects.requireNonNullElse(item.getVersion(), -1L);
+        }
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * The version an If-Match header asks for; null when absent or {@code *}. Only a single strong ETag can
+     * match, anything else fails the precondition.
+     */
+    private Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ex) {
+                // falls through
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match does not match the task's ETag");
+    }
+
+    // An empty filter would touch every task; require the caller to say so with an explicit criterion.
+    private void requireCriterion(TaskStatus status, LocalDateTime from, LocalDateTime to) {
+        if (status == null && from == null && to == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "filter needs at least one of status, from, to");
+        }
+    }
+
+    private void validateSize(int size) {
+        if (size < 1 || size > taskProperties.getMaxPageSize()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "size must be between 1 and " + taskProperties.getMaxPageSize());
+        }
+    }
+
     private LocalDateTime parseDate(String input, String field) {
         if (input == null || input.isBlank()) {
             return null;
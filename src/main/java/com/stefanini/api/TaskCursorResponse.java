@@ -0,0 +1,26 @@
+package com.stefanini.api;
+
+import java.util.List;
+
+public class TaskCursorResponse {
+
+    private final List<TaskResponse> items;
+
+    /**
+     * Opaque cursor for the following page; null when this is the last page.
+     */
+    private final String next;
+
+    public TaskCursorResponse(List<TaskResponse> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    public List<TaskResponse> getItems() {
+        return items;
+    }
+
+    public String getNext() {
+        return next;
+    }
+}
@@ -0,0 +1,119 @@
+package com.stefanini.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.stefanini.domain.Task;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes exported tasks one at a time; nothing beyond a small write buffer is held. Field names and date
+ * format match {@link TaskResponse}.
+ */
+abstract class TaskExportWriter implements Closeable {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    static TaskExportWriter ndjson(OutputStream out) throws IOException {
+        return new Ndjson(JSON.createGenerator(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))));
+    }
+
+    static TaskExportWriter csv(OutputStream out) throws IOException {
+        return new Csv(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+    }
+
+    abstract void write(Task task) throws IOException;
+
+    /**
+     * For use from callbacks that cannot throw; a client that went away surfaces as {@link UncheckedIOException}
+     * and stops the read.
+     */
+    void writeUnchecked(Task task) {
+        try {
+            write(task);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String createdAt(Task task) {
+        return task.getCreatedAt() != null ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(task.getCreatedAt()) : null;
+    }
+
+    private static final class Ndjson extends TaskExportWriter {
+
+        private final JsonGenerator generator;
+
+        Ndjson(JsonGenerator generator) {
+            this.generator = generator;
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void write(Task task) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", task.getId());
+            generator.writeStringField("title", task.getTitle());
+            generator.writeStringField("description", task.getDescription());
+            generator.writeStringField("createdAt", createdAt(task));
+            generator.writeStringField("status", task.getStatus() != null ? task.getStatus().name() : null);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class Csv extends TaskExportWriter {
+
+        private final Writer writer;
+
+        Csv(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write("id,title,description,createdAt,status\r\n");
+        }
+
+        @Override
+        void write(Task task) throws IOException {
+            writer.write(String.valueOf(task.getId()));
+            writer.write(',');
+            field(task.getTitle());
+            writer.write(',');
+            field(task.getDescription());
+            writer.write(',');
+            field(createdAt(task));
+            writer.write(',');
+            field(task.getStatus() != null ? task.getStatus().name() : null);
+            writer.write("\r\n");
+        }
+
+        // RFC 4180: quote fields containing separators, quotes or line breaks and double embedded quotes.
+        private void field(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.stefanini.api;
+
+import java.util.List;
+
+public class TaskImportResponse {
+
+    private final long read;
+    private final long imported;
+    private final long rejected;
+
+    /**
+     * First rejected rows (up to {@code app.tasks.import.max-reported-rejections}); {@code rejected} has the total.
+     */
+    private final List<Rejection> rejections;
+
+    public TaskImportResponse(long read, long imported, long rejected, List<Rejection> rejections) {
+        this.read = read;
+        this.imported = imported;
+        this.rejected = rejected;
+        this.rejections = rejections;
+    }
+
+    public long getRead() {
+        return read;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public List<Rejection> getRejections() {
+        return rejections;
+    }
+
+    public static class Rejection {
+        private final long line;
+        private final List<String> errors;
+
+        public Rejection(long line, List<String> errors) {
+            this.line = line;
+            this.errors = errors;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public List<String> getErrors() {
+            return errors;
+        }
+    }
+}
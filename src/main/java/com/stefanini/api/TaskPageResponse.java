@@ -0,0 +1,57 @@
+package com.stefanini.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskPageResponse {
+
+    private final List<TaskResponse> content;
+    private final int page;
+    private final int size;
+    private final boolean hasNext;
+
+    /**
+     * Only present when requested with {@code count=approximate} or {@code count=exact}.
+     */
+    private final Long totalElements;
+
+    /**
+     * True when {@link #totalElements} is a cached estimate rather than an exact count.
+     */
+    private final Boolean totalApproximate;
+
+    public TaskPageResponse(List<TaskResponse> content, int page, int size, boolean hasNext,
+                            Long totalElements, Boolean totalApproximate) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.totalElements = totalElements;
+        this.totalApproximate = totalApproximate;
+    }
+
+    public List<TaskResponse> getContent() {
+        return content;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public Long getTotalElements() {
+        return totalElements;
+    }
+
+    public Boolean getTotalApproximate() {
+        return totalApproximate;
+    }
+}
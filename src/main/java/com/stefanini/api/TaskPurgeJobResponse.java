@@ -0,0 +1,77 @@
+package com.stefanini.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDateTime;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskPurgeJobResponse {
+
+    private final Long id;
+
+    /**
+     * PENDING, RUNNING, COMPLETED, CANCELLED or FAILED.
+     */
+    private final String state;
+    private final String status;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final long deleted;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final LocalDateTime finishedAt;
+    private final String error;
+
+    public TaskPurgeJobResponse(Long id, String state, String status, LocalDateTime from, LocalDateTime to, long deleted,
+                                LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime finishedAt, String error) {
+        this.id = id;
+        this.state = state;
+        this.status = status;
+        this.from = from;
+        this.to = to;
+        this.deleted = deleted;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.finishedAt = finishedAt;
+        this.error = error;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public long getDeleted() {
+        return deleted;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
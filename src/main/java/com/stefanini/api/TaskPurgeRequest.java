@@ -0,0 +1,38 @@
+package com.stefanini.api;
+
+/**
+ * Same criteria as GET /api/tasks; at least one is required.
+ */
+public class TaskPurgeRequest {
+
+    private String status;
+    private String from;
+    private String to;
+
+    public TaskPurgeRequest() {
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+}
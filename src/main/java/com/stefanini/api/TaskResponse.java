@@ -10,15 +10,22 @@ public class TaskResponse {
     private LocalDateTime createdAt;
     private String status;
 
+    /**
+     * Changes on every update; send it back quoted in {@code If-Match} to make a write conditional.
+     */
+    private Long version;
+
     public TaskResponse() {
     }
 
-    public TaskResponse(Long id, String title, String description, LocalDateTime createdAt, String status) {
+    public TaskResponse(Long id, String title, String description, LocalDateTime createdAt, String status,
+                        Long version) {
         this.id = id;
         this.title = title;
         this.description = description;
         this.createdAt = createdAt;
         this.status = status;
+        this.version = version;
     }
 
     public Long getId() {
@@ -60,4 +67,12 @@ public class TaskResponse {
     public void setStatus(String status) {
         this.status = status;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
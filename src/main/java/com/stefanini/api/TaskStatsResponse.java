@@ -0,0 +1,63 @@
+package com.stefanini.api;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public class TaskStatsResponse {
+
+    private final long total;
+    private final Map<String, Long> byStatus;
+
+    /**
+     * One entry per day of the requested window, oldest first; days without tasks have a count of zero.
+     */
+    private final List<Day> byDay;
+
+    /**
+     * Last time the in-memory counters were checked against the database.
+     */
+    private final LocalDateTime reconciledAt;
+
+    public TaskStatsResponse(long total, Map<String, Long> byStatus, List<Day> byDay, LocalDateTime reconciledAt) {
+        this.total = total;
+        this.byStatus = byStatus;
+        this.byDay = byDay;
+        this.reconciledAt = reconciledAt;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Map<String, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public List<Day> getByDay() {
+        return byDay;
+    }
+
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+
+    public static class Day {
+        private final LocalDate date;
+        private final long count;
+
+        public Day(LocalDate date, long count) {
+            this.date = date;
+            this.count = count;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.stefanini.application;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing; {@code next} is null on the last page.
+ */
+public class CursorPage<T> {
+
+    private final List<T> items;
+    private final TaskCursor next;
+
+    public CursorPage(List<T> items, TaskCursor next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public TaskCursor getNext() {
+        return next;
+    }
+}
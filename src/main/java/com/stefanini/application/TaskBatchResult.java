@@ -0,0 +1,54 @@
+package com.stefanini.application;
+
+import com.stefanini.domain.Task;
+import java.util.List;
+
+/**
+ * Outcome of a bulk create, one item per input task in the same order.
+ */
+public class TaskBatchResult {
+
+    private final List<Item> items;
+
+    public TaskBatchResult(List<Item> items) {
+        this.items = items;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public long getCreatedCount() {
+        return items.stream().filter(Item::isCreated).count();
+    }
+
+    public static class Item {
+        private final Task task;
+        private final String error;
+
+        private Item(Task task, String error) {
+            this.task = task;
+            this.error = error;
+        }
+
+        public static Item created(Task task) {
+            return new Item(task, null);
+        }
+
+        public static Item failed(String error) {
+            return new Item(null, error);
+        }
+
+        public boolean isCreated() {
+            return task != null;
+        }
+
+        public Task getTask() {
+            return task;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.stefanini.application;
+
+import com.stefanini.domain.Task;
+import java.util.List;
+
+/**
+ * Outcome of a bulk status change: the tasks that actually changed and whether the filter still matches more.
+ */
+public class TaskBulkResult {
+
+    private final List<Task> updated;
+    private final boolean hasMore;
+
+    public TaskBulkResult(List<Task> updated, boolean hasMore) {
+        this.updated = updated;
+        this.hasMore = hasMore;
+    }
+
+    public List<Task> getUpdated() {
+        return updated;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,90 @@
+package com.stefanini.application;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.stefanini.domain.TaskStatus;
+import com.stefanini.infrastructure.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Approximate task totals per filter combination. The unfiltered total comes from the table's row-count
+ * metadata; filtered totals are counted once and then recounted in the background every
+ * {@code app.tasks.count-estimate.refresh-interval}, so searches never wait on a count after the first one.
+ * Metrics are published with tag {@code cache=tasks.count.estimates}.
+ */
+@Component
+public class TaskCountEstimator {
+
+    static final String CACHE_NAME = "tasks.count.estimates";
+
+    private final TaskRepository taskRepository;
+    private final LoadingCache<Filter, Long> estimates;
+
+    @Autowired
+    public TaskCountEstimator(TaskRepository taskRepository, TaskProperties props, MeterRegistry meterRegistry) {
+        this(taskRepository, props, meterRegistry, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    // Convenience constructor for tests to control time
+    TaskCountEstimator(TaskRepository taskRepository, TaskProperties props, MeterRegistry meterRegistry,
+                       Ticker ticker, Executor executor) {
+        this.taskRepository = taskRepository;
+        TaskProperties.CountEstimate config = props.getCountEstimate();
+        this.estimates = Caffeine.newBuilder()
+                .maximumSize(config.getMaxEntries())
+                .refreshAfterWrite(config.getRefreshInterval())
+                .expireAfterAccess(config.getExpireAfterAccess())
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .build(this::count);
+        CaffeineCacheMetrics.monitor(meterRegistry, estimates, CACHE_NAME);
+    }
+
+    public long estimate(TaskStatus status, LocalDateTime from, LocalDateTime to) {
+        return estimates.get(new Filter(status, from, to));
+    }
+
+    private long count(Filter filter) {
+        if (filter.status == null && filter.from == null && filter.to == null) {
+            return taskRepository.estimateTotalRows();
+        }
+        return taskRepository.countSearch(filter.status, filter.from, filter.to);
+    }
+
+    private static final class Filter {
+        private final TaskStatus status;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+
+        private Filter(TaskStatus status, LocalDateTime from, LocalDateTime to) {
+            this.status = status;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Filter other)) {
+                return false;
+            }
+            return status == other.status && Objects.equals(from, other.from) && Objects.equals(to, other.to);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(status, from, to);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.stefanini.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads import rows one at a time from NDJSON (one object per line) or CSV with a header row, so only the
+ * current row is in memory. Recognised fields are {@code title}, {@code description}, {@code status} and
+ * {@code createdAt}; others, such as the {@code id} of an export, are ignored. Malformed rows come back with an
+ * error instead of ending the read. A record longer than {@code maxRecordLength} characters (an unterminated quote,
+ * a file without line breaks) is rejected without being buffered, and reading resumes at the next line break.
+ */
+public abstract class TaskImportReader {
+
+    public enum Format {
+        NDJSON,
+        CSV;
+
+        /**
+         * @throws IllegalArgumentException for anything but ndjson or csv
+         */
+        public static Format parse(String value) {
+            return switch (value.trim().toLowerCase(Locale.ROOT)) {
+                case "ndjson", "jsonl" -> NDJSON;
+                case "csv" -> CSV;
+                default -> throw new IllegalArgumentException("Invalid format: " + value + " (expected ndjson or csv)");
+            };
+        }
+    }
+
+    public static TaskImportReader of(Format format, Reader reader, ObjectMapper objectMapper, int maxRecordLength) {
+        BufferedReader buffered = reader instanceof BufferedReader b ? b : new BufferedReader(reader);
+        return format == Format.CSV
+                ? new Csv(buffered, maxRecordLength)
+                : new Ndjson(buffered, objectMapper, maxRecordLength);
+    }
+
+    /**
+     * Next row, or null at the end of the input.
+     */
+    public abstract Row next() throws IOException;
+
+    private static String tooLong(int maxRecordLength) {
+        return "Record longer than " + maxRecordLength + " characters";
+    }
+
+    /**
+     * Consumes the rest of the current line, up to and including its line break; false at the end of the input.
+     */
+    private static boolean skipLine(BufferedReader reader) throws IOException {
+        int c;
+        do {
+            c = reader.read();
+        } while (c >= 0 && c != '\n');
+        return c >= 0;
+    }
+
+    public static class Row {
+        private final long line;
+        private final String title;
+        private final String description;
+        private final String status;
+        private final String createdAt;
+        private final String error;
+
+        Row(long line, String title, String description, String status, String createdAt) {
+            this(line, title, description, status, createdAt, null);
+        }
+
+        private Row(long line, String title, String description, String status, String createdAt, String error) {
+            this.line = line;
+            this.title = title;
+            this.description = description;
+            this.status = status;
+            this.createdAt = createdAt;
+            this.error = error;
+        }
+
+        static Row malformed(long line, String error) {
+            return new Row(line, null, null, null, null, error);
+        }
+
+        /**
+         * Line the row starts on, counting from 1.
+         */
+        public long getLine() {
+            return line;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public String getCreatedAt() {
+            return createdAt;
+        }
+
+        /**
+         * Why the row could not be parsed at all; null for a well-formed row.
+         */
+        public String getError() {
+            return error;
+        }
+    }
+
+    private static final class Ndjson extends TaskImportReader {
+
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private final int maxLength;
+        private final StringBuilder buffer = new StringBuilder();
+        private long line;
+
+        Ndjson(BufferedReader reader, ObjectMapper objectMapper, int maxLength) {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+            this.maxLength = maxLength;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String text;
+            do {
+                line++;
+                text = readLine();
+                if (text == null) {
+                    return null;
+                }
+                if (buffer.length() > maxLength) {
+                    return Row.malformed(line, tooLong(maxLength));
+                }
+            } while (text.isBlank());
+
+            try {
+                JsonNode node = objectMapper.readTree(text);
+                if (!node.isObject()) {
+                    return Row.malformed(line, "Expected a JSON object");
+                }
+                return new Row(line, text(node, "title"), text(node, "description"), text(node, "status"),
+                        text(node, "createdAt"));
+            } catch (JsonProcessingException ex) {
+                return Row.malformed(line, "Malformed JSON: " + ex.getOriginalMessage());
+            }
+        }
+
+        /**
+         * Like {@link BufferedReader#readLine()}, but stops buffering after {@code maxLength} characters and skips
+         * the rest of the line; the buffer is then longer than the limit. Null at the end of the input.
+         */
+        private String readLine() throws IOException {
+            buffer.setLength(0);
+            int c = reader.read();
+            if (c < 0) {
+                return null;
+            }
+            while (c >= 0 && c != '\n') {
+                buffer.append((char) c);
+                if (buffer.length() > maxLength) {
+                    skipLine(reader);
+                    return "";
+                }
+                c = reader.read();
+            }
+            int end = buffer.length();
+            if (end > 0 && buffer.charAt(end - 1) == '\r') {
+                buffer.setLength(end - 1);
+            }
+            return buffer.toString();
+        }
+
+        private static String text(JsonNode node, String field) {
+            JsonNode value = node.get(field);
+            return value == null || value.isNull() ? null : value.asText();
+        }
+    }
+
+    private static final class Csv extends TaskImportReader {
+
+        private final BufferedReader reader;
+        private final int maxLength;
+        private long line = 1;
+        private int[] columns;
+        private boolean overflow;
+
+        Csv(BufferedReader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            if (columns == null) {
+                List<String> header = record();
+                if (header == null) {
+                    return null;
+                }
+                columns = new int[] {-1, -1, -1, -1};
+                // An oversized header leaves every column unknown, so each row is rejected for the missing title.
+                for (int i = 0; i < header.size(); i++) {
+                    switch (header.get(i).trim().toLowerCase(Locale.ROOT)) {
+                        case "title" -> columns[0] = i;
+                        case "description" -> columns[1] = i;
+                        case "status" -> columns[2] = i;
+                        case "createdat", "created_at" -> columns[3] = i;
+                        default -> { }
+                    }
+                }
+            }
+
+            List<String> fields;
+            long start;
+            do {
+                start = line;
+                fields = record();
+                if (fields == null) {
+                    return null;
+                }
+            } while (fields.size() == 1 && fields.get(0).isEmpty());
+            if (overflow) {
+                return Row.malformed(start, tooLong(maxLength));
+            }
+            if (columns[0] < 0) {
+                return Row.malformed(start, "CSV header has no title column");
+            }
+            return new Row(start, field(fields, 0), field(fields, 1), field(fields, 2), field(fields, 3));
+        }
+
+        private String field(List<String> fields, int column) {
+            int index = columns[column];
+            if (index < 0 || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index);
+            return value.isEmpty() ? null : value;
+        }
+
+        /**
+         * One RFC 4180 record; quoted fields may span lines. Null at the end of the input. A record over the length
+         * limit comes back empty with {@code overflow} set, after skipping to the next line break whether or not a
+         * quote is open.
+         */
+        private List<String> record() throws IOException {
+            overflow = false;
+            int c = reader.read();
+            if (c < 0) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int length = 0;
+            while (c >= 0) {
+                if (++length > maxLength) {
+                    overflow = true;
+                    if (c == '\n' || skipLine(reader)) {
+                        line++;
+                    }
+                    return List.of();
+                }
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int peek = reader.read();
+                        if (peek == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    line++;
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
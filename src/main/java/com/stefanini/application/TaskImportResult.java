@@ -0,0 +1,58 @@
+package com.stefanini.application;
+
+import java.util.List;
+
+/**
+ * Outcome of an import: counts for the whole input plus the first rejected rows with their line numbers.
+ */
+public class TaskImportResult {
+
+    private final long read;
+    private final long imported;
+    private final long rejected;
+    private final List<Rejection> rejections;
+
+    public TaskImportResult(long read, long imported, long rejected, List<Rejection> rejections) {
+        this.read = read;
+        this.imported = imported;
+        this.rejected = rejected;
+        this.rejections = rejections;
+    }
+
+    public long getRead() {
+        return read;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * At most {@code app.tasks.import.max-reported-rejections} entries; {@link #getRejected()} has the full count.
+     */
+    public List<Rejection> getRejections() {
+        return rejections;
+    }
+
+    public static class Rejection {
+        private final long line;
+        private final List<String> errors;
+
+        public Rejection(long line, List<String> errors) {
+            this.line = line;
+            this.errors = errors;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public List<String> getErrors() {
+            return errors;
+        }
+    }
+}
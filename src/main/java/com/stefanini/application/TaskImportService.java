@@ -0,0 +1,158 @@
+package com.stefanini.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stefanini.api.TaskRequest;
+import com.stefanini.domain.Task;
+import com.stefanini.domain.TaskStatus;
+import com.stefanini.infrastructure.TaskBulkLoader;
+import com.stefanini.infrastructure.messaging.TaskEventPublisher;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Imports tasks from NDJSON or CSV of any size: rows are read and validated one at a time, valid ones are
+ * bulk copied in batches of {@code app.tasks.import.batch-size}, each committed on its own, and created events
+ * go out per batch. Rejected rows are reported by line number and do not stop the import.
+ */
+@Service
+public class TaskImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportService.class);
+
+    private final TaskBulkLoader bulkLoader;
+    private final TaskEventPublisher taskEventPublisher;
+    private final TaskSearchIndex searchIndex;
+    private final TaskStatistics statistics;
+    private final TaskProperties taskProperties;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    public TaskImportService(TaskBulkLoader bulkLoader, TaskEventPublisher taskEventPublisher,
+                             TaskSearchIndex searchIndex, TaskStatistics statistics, TaskProperties taskProperties,
+                             Validator validator, ObjectMapper objectMapper) {
+        this.bulkLoader = bulkLoader;
+        this.taskEventPublisher = taskEventPublisher;
+        this.searchIndex = searchIndex;
+        this.statistics = statistics;
+        this.taskProperties = taskProperties;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+    }
+
+    public TaskImportResult importTasks(Reader input, TaskImportReader.Format format) throws IOException {
+        int batchSize = Math.max(1, taskProperties.getImport().getBatchSize());
+        Progress progress = new Progress(taskProperties.getImport().getMaxReportedRejections());
+        TaskImportReader reader = TaskImportReader.of(format, input, objectMapper,
+                taskProperties.getImport().getMaxRecordLength());
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Task> batch = new ArrayList<>(batchSize);
+        List<Long> lines = new ArrayList<>(batchSize);
+        TaskImportReader.Row row;
+        while ((row = reader.next()) != null) {
+            progress.read++;
+            List<String> errors = new ArrayList<>();
+            Task task = toTask(row, now, errors);
+            if (task == null) {
+                progress.reject(row.getLine(), errors);
+                continue;
+            }
+            batch.add(task);
+            lines.add(row.getLine());
+            if (batch.size() == batchSize) {
+                flush(batch, lines, progress);
+                // Fresh lists: the published batch must not change underneath the event publisher.
+                batch = new ArrayList<>(batchSize);
+                lines = new ArrayList<>(batchSize);
+            }
+        }
+        flush(batch, lines, progress);
+
+        log.info("Task import finished format={} read={} imported={} rejected={}",
+                format, progress.read, progress.imported, progress.rejected);
+        return new TaskImportResult(progress.read, progress.imported, progress.rejected, progress.rejections);
+    }
+
+    private void flush(List<Task> batch, List<Long> lines, Progress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<Task> loaded = bulkLoader.load(batch);
+            progress.imported += loaded.size();
+            searchIndex.add(loaded);
+            statistics.created(loaded);
+            taskEventPublisher.tasksCreated(loaded);
+            log.debug("Task import batch loaded rows={} total={}", loaded.size(), progress.imported);
+        } catch (RuntimeException ex) {
+            log.warn("Task import batch failed firstLine={} rows={}: {}", lines.get(0), batch.size(), ex.getMessage());
+            for (Long line : lines) {
+                progress.reject(line, List.of("Bulk load failed"));
+            }
+        }
+    }
+
+    /**
+     * Validates the row as the {@link TaskRequest} of a single create; returns null and fills {@code errors} when
+     * the row is invalid.
+     */
+    private Task toTask(TaskImportReader.Row row, LocalDateTime now, List<String> errors) {
+        if (row.getError() != null) {
+            errors.add(row.getError());
+            return null;
+        }
+        TaskRequest request = new TaskRequest();
+        request.setTitle(row.getTitle());
+        request.setDescription(row.getDescription());
+        request.setStatus(row.getStatus());
+        for (ConstraintViolation<TaskRequest> violation : validator.validate(request)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        TaskStatus status = TaskStatus.PENDING;
+        if (row.getStatus() != null && !row.getStatus().isBlank()) {
+            try {
+                status = TaskStatus.valueOf(row.getStatus().trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                errors.add("status: Invalid status: " + row.getStatus());
+            }
+        }
+        LocalDateTime createdAt = now;
+        if (row.getCreatedAt() != null && !row.getCreatedAt().isBlank()) {
+            try {
+                createdAt = LocalDateTime.parse(row.getCreatedAt().trim());
+            } catch (DateTimeParseException ex) {
+                errors.add("createdAt: Invalid date: " + row.getCreatedAt());
+            }
+        }
+        return errors.isEmpty() ? new Task(null, row.getTitle(), row.getDescription(), createdAt, status) : null;
+    }
+
+    private static final class Progress {
+        private final int maxReported;
+        private final List<TaskImportResult.Rejection> rejections = new ArrayList<>();
+        private long read;
+        private long imported;
+        private long rejected;
+
+        Progress(int maxReported) {
+            this.maxReported = maxReported;
+        }
+
+        void reject(long line, List<String> errors) {
+            rejected++;
+            if (rejections.size() < maxReported) {
+                rejections.add(new TaskImportResult.Rejection(line, errors));
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.stefanini.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.stefanini.domain.Task;
+import com.stefanini.infrastructure.TaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityNotFoundException;
+import java.util.Collection;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-through cache of single tasks as ready-to-write JSON, so a hit skips both the database and Jackson.
+ * Bounded by total bytes and by age; the write paths invalidate entries after their commit. A read racing a
+ * commit can still cache the old version, which then lives at most {@code expire-after-write}. Entries are always
+ * loaded from the primary: the lookups run in Spring Data's own transactions, which are not among the replica
+ * routed ones, so a lagging replica cannot put a stale row in front of every client. Missing tasks
+ * are not cached. Each entry keeps the version it was serialized from, so conditional requests can be answered
+ * without touching the JSON. Metrics are published with tag {@code cache=tasks.json}.
+ */
+@Component
+public class TaskJsonCache {
+
+    static final String CACHE_NAME = "tasks.json";
+
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Cache<Long, Entry> cache;
+
+    @Autowired
+    public TaskJsonCache(TaskRepository taskRepository, ObjectMapper objectMapper, TaskProperties props,
+                         MeterRegistry meterRegistry) {
+        this(taskRepository, objectMapper, props, meterRegistry, Ticker.systemTicker());
+    }
+
+    // Convenience constructor for tests to control time
+    TaskJsonCache(TaskRepository taskRepository, ObjectMapper objectMapper, TaskProperties props,
+                  MeterRegistry meterRegistry, Ticker ticker) {
+        this.taskRepository = taskRepository;
+        this.objectMapper = objectMapper;
+        TaskProperties.JsonCache config = props.getJsonCache();
+        this.enabled = config.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(config.getMaxSize().toBytes())
+                .weigher((Long id, Entry entry) -> entry.json.length)
+                .expireAfterWrite(config.getExpireAfterWrite())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .description("Share of lookups answered from the cache since startup")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The task serialized as {@code view.apply(task)}; callers must pass the same view every time.
+     *
+     * @throws EntityNotFoundException if the task does not exist
+     */
+    public Entry get(Long id, Function<Task, ?> view) {
+        if (!enabled) {
+            return load(id, view);
+        }
+        return cache.get(id, key -> load(key, view));
+    }
+
+    /**
+     * Version of the task, from the cache when present and otherwise from a single-column lookup.
+     *
+     * @throws EntityNotFoundException if the task does not exist
+     */
+    public long version(Long id) {
+        Entry entry = enabled ? cache.getIfPresent(id) : null;
+        if (entry != null) {
+            return entry.version;
+        }
+        return taskRepository.findVersionById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found: " + id));
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll(Collection<Long> ids) {
+        cache.invalidateAll(ids);
+    }
+
+    private Entry load(Long id, Function<Task, ?> view) {
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found: " + id));
+        try {
+            return new Entry(objectMapper.writeValueAsBytes(view.apply(task)), task.getVersion());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize task " + id, ex);
+        }
+    }
+
+    /**
+     * A task's JSON and the version it was written from.
+     */
+    public static final class Entry {
+        private final byte[] json;
+        private final long version;
+
+        public Entry(byte[] json, Long version) {
+            this.json = json;
+            this.version = version != null ? version : 0L;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+    }
+}
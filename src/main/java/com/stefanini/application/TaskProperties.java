@@ -0,0 +1,391 @@
+package com.stefanini.application;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Component
+@ConfigurationProperties(prefix = "app.tasks")
+public class TaskProperties {
+
+    /**
+     * Largest page a client may request from GET /api/tasks, in both offset and cursor mode.
+     */
+    private int maxPageSize = 100;
+
+    private final CountEstimate countEstimate = new CountEstimate();
+
+    private final Batch batch = new Batch();
+
+    private final Bulk bulk = new Bulk();
+
+    private final Purge purge = new Purge();
+
+    private final Import importing = new Import();
+
+    private final Search search = new Search();
+
+    private final Stats stats = new Stats();
+
+    private final JsonCache jsonCache = new JsonCache();
+
+    private final Export export = new Export();
+
+    /**
+     * Rows the driver fetches per round trip while streaming GET /api/tasks/export.
+     */
+    private int exportFetchSize = 1_000;
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public void setMaxPageSize(int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+
+    public int getExportFetchSize() {
+        return exportFetchSize;
+    }
+
+    public void setExportFetchSize(int exportFetchSize) {
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    public Export getExport() {
+        return export;
+    }
+
+    public CountEstimate getCountEstimate() {
+        return countEstimate;
+    }
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public Purge getPurge() {
+        return purge;
+    }
+
+    public Import getImport() {
+        return importing;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public Stats getStats() {
+        return stats;
+    }
+
+    public JsonCache getJsonCache() {
+        return jsonCache;
+    }
+
+    public static class JsonCache {
+
+        private boolean enabled = true;
+
+        /**
+         * Total size of the cached JSON; least valuable entries are evicted beyond it.
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Upper bound on how long an entry can be served, including one cached by a read racing a write.
+         */
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+
+    public static class Export {
+
+        /**
+         * Exports streamed at once. Each one holds a pooled connection until its client has downloaded everything,
+         * so this must stay well below the pool size; further exports get 503 until one finishes.
+         */
+        private int maxConcurrent = 4;
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+    }
+
+    public static class Stats {
+
+        /**
+         * Creation days kept in memory and the longest window GET /api/tasks/stats may ask for.
+         */
+        private int maxDays = 366;
+
+        public int getMaxDays() {
+            return maxDays;
+        }
+
+        public void setMaxDays(int maxDays) {
+            this.maxDays = maxDays;
+        }
+    }
+
+    public static class Search {
+
+        /**
+         * Most tasks a {@code q} may match before the status/date filters. The ids go to the database as one
+         * comma-separated parameter, about 8 bytes each, which this bounds.
+         */
+        private int maxCandidates = 100_000;
+
+        /**
+         * Shortest term allowed before a trailing {@code *}; shorter prefixes expand to most of the index.
+         */
+        private int minPrefixLength = 2;
+
+        /**
+         * Id ranges scanned in parallel, each on its own connection, when the index is built at startup.
+         */
+        private int rebuildThreads = 4;
+
+        /**
+         * Rows the driver fetches per round trip during the startup scan.
+         */
+        private int rebuildFetchSize = 5_000;
+
+        public int getMaxCandidates() {
+            return maxCandidates;
+        }
+
+        public void setMaxCandidates(int maxCandidates) {
+            this.maxCandidates = maxCandidates;
+        }
+
+        public int getMinPrefixLength() {
+            return minPrefixLength;
+        }
+
+        public void setMinPrefixLength(int minPrefixLength) {
+            this.minPrefixLength = minPrefixLength;
+        }
+
+        public int getRebuildThreads() {
+            return rebuildThreads;
+        }
+
+        public void setRebuildThreads(int rebuildThreads) {
+            this.rebuildThreads = rebuildThreads;
+        }
+
+        public int getRebuildFetchSize() {
+            return rebuildFetchSize;
+        }
+
+        public void setRebuildFetchSize(int rebuildFetchSize) {
+            this.rebuildFetchSize = rebuildFetchSize;
+        }
+    }
+
+    public static class Import {
+
+        /**
+         * Valid rows buffered and bulk copied together; bounds the memory an import uses.
+         */
+        private int batchSize = 5_000;
+
+        /**
+         * Rejected rows listed in the result; the count covers all of them.
+         */
+        private int maxReportedRejections = 1_000;
+
+        /**
+         * Characters one row may span; longer ones are rejected so a stray quote cannot pull the file into memory.
+         */
+        private int maxRecordLength = 16_384;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxReportedRejections() {
+            return maxReportedRejections;
+        }
+
+        public void setMaxReportedRejections(int maxReportedRejections) {
+            this.maxReportedRejections = maxReportedRejections;
+        }
+
+        public int getMaxRecordLength() {
+            return maxRecordLength;
+        }
+
+        public void setMaxRecordLength(int maxRecordLength) {
+            this.maxRecordLength = maxRecordLength;
+        }
+    }
+
+    public static class Purge {
+
+        /**
+         * Rows deleted and committed together; well under SQL Server's 5000-lock escalation threshold.
+         */
+        private int chunkSize = 1_000;
+
+        /**
+         * How long a job stays claimed without progress before another instance may resume it.
+         */
+        private Duration lease = Duration.ofMinutes(2);
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public Duration getLease() {
+            return lease;
+        }
+
+        public void setLease(Duration lease) {
+            this.lease = lease;
+        }
+    }
+
+    public static class Bulk {
+
+        /**
+         * Most tasks a single bulk status request may change; a filter matching more reports {@code hasMore}.
+         */
+        private int maxRows = 10_000;
+
+        /**
+         * Rows changed per UPDATE statement, kept under SQL Server's 5000-lock escalation threshold.
+         */
+        private int chunkSize = 1_000;
+
+        public int getMaxRows() {
+            return maxRows;
+        }
+
+        public void setMaxRows(int maxRows) {
+            this.maxRows = maxRows;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class Batch {
+
+        /**
+         * Largest number of tasks accepted by POST /api/tasks/batch.
+         */
+        private int maxItems = 1_000;
+
+        /**
+         * Tasks inserted and committed together; a failing chunk does not roll back the others.
+         * Capped at 500 rows per insert statement.
+         */
+        private int chunkSize = 500;
+
+        public int getMaxItems() {
+            return maxItems;
+        }
+
+        public void setMaxItems(int maxItems) {
+            this.maxItems = maxItems;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class CountEstimate {
+
+        /**
+         * Age after which an estimate is recounted in the background; callers keep getting the old value meanwhile.
+         */
+        private Duration refreshInterval = Duration.ofMinutes(5);
+
+        /**
+         * Estimates not requested for this long are dropped.
+         */
+        private Duration expireAfterAccess = Duration.ofHours(1);
+
+        /**
+         * Distinct filter combinations kept.
+         */
+        private long maxEntries = 1_000;
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+
+        public Duration getExpireAfterAccess() {
+            return expireAfterAccess;
+        }
+
+        public void setExpireAfterAccess(Duration expireAfterAccess) {
+            this.expireAfterAccess = expireAfterAccess;
+        }
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+}
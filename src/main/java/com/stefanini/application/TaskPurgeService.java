@@ -0,0 +1,179 @@
+package com.stefanini.application;
+
+import com.stefanini.domain.Task;
+import com.stefanini.domain.TaskPurgeJob;
+import com.stefanini.domain.TaskStatus;
+import com.stefanini.infrastructure.TaskBulkUpdater;
+import com.stefanini.infrastructure.TaskPurgeJobRepository;
+import com.stefanini.infrastructure.messaging.TaskEventPublisher;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs filtered bulk deletes in the background. Each chunk is a {@code DELETE TOP (n)} committed together with
+ * the job's progress, so a crash loses nothing and a restarted or different instance continues where the last
+ * chunk ended once the lease expires. Cancelling takes the job's row lock, so it never races a running chunk.
+ */
+@Service
+public class TaskPurgeService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskPurgeService.class);
+
+    private static final Set<TaskPurgeJob.State> ACTIVE = EnumSet.of(TaskPurgeJob.State.PENDING, TaskPurgeJob.State.RUNNING);
+
+    private final TaskPurgeJobRepository jobRepository;
+    private final TaskBulkUpdater bulkUpdater;
+    private final TaskEventPublisher taskEventPublisher;
+    private final TaskSearchIndex searchIndex;
+    private final TaskStatistics statistics;
+    private final TaskJsonCache jsonCache;
+    private final TaskProperties taskProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Autowired
+    public TaskPurgeService(TaskPurgeJobRepository jobRepository, TaskBulkUpdater bulkUpdater,
+                            TaskEventPublisher taskEventPublisher, TaskSearchIndex searchIndex,
+                            TaskStatistics statistics, TaskJsonCache jsonCache, TaskProperties taskProperties,
+                            PlatformTransactionManager transactionManager) {
+        this(jobRepository, bulkUpdater, taskEventPublisher, searchIndex, statistics, jsonCache, taskProperties,
+                transactionManager, Clock.systemUTC());
+    }
+
+    // Convenience constructor for tests to control time
+    TaskPurgeService(TaskPurgeJobRepository jobRepository, TaskBulkUpdater bulkUpdater,
+                     TaskEventPublisher taskEventPublisher, TaskSearchIndex searchIndex, TaskStatistics statistics,
+                     TaskJsonCache jsonCache, TaskProperties taskProperties,
+                     PlatformTransactionManager transactionManager, Clock clock) {
+        this.jobRepository = jobRepository;
+        this.bulkUpdater = bulkUpdater;
+        this.taskEventPublisher = taskEventPublisher;
+        this.searchIndex = searchIndex;
+        this.statistics = statistics;
+        this.jsonCache = jsonCache;
+        this.taskProperties = taskProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    /**
+     * Queues a purge; it starts on the next poll of any instance.
+     */
+    public TaskPurgeJob start(TaskStatus status, LocalDateTime from, LocalDateTime to, String requestedBy) {
+        TaskPurgeJob job = jobRepository.save(new TaskPurgeJob(status, from, to, requestedBy, now()));
+        log.info("Task purge queued id={} status={} from={} to={} by={}", job.getId(), status, from, to, requestedBy);
+        return job;
+    }
+
+    /**
+     * The job, if {@code requester} started it or is an admin; other callers get the same 404 as for a missing job,
+     * so sequential ids reveal nothing.
+     */
+    public TaskPurgeJob find(Long id, String requester, boolean admin) {
+        return jobRepository.findById(id)
+                .filter(job -> admin || job.getRequestedBy().equals(requester))
+                .orElseThrow(() -> new EntityNotFoundException("Purge job not found: " + id));
+    }
+
+    /**
+     * Stops the job after the chunk in progress, if any; tasks already deleted stay deleted. Same access rule as
+     * {@link #find}.
+     */
+    public TaskPurgeJob cancel(Long id, String requester, boolean admin) {
+        return transactionTemplate.execute(tx -> {
+            TaskPurgeJob job = jobRepository.lockById(id)
+                    .filter(candidate -> admin || candidate.getRequestedBy().equals(requester))
+                    .orElseThrow(() -> new EntityNotFoundException("Purge job not found: " + id));
+            if (!job.getState().isFinished()) {
+                job.finish(TaskPurgeJob.State.CANCELLED, now(), null);
+                log.info("Task purge cancelled id={} deleted={} by={}", id, job.getDeletedCount(), requester);
+            }
+            return job;
+        });
+    }
+
+    /**
+     * Claims queued jobs, and jobs whose owner stopped renewing the lease, and runs them to the end.
+     */
+    @Scheduled(fixedDelayString = "${app.tasks.purge.poll-interval:PT10S}")
+    public void runPending() {
+        for (Long id : jobRepository.findClaimable(ACTIVE, now())) {
+            Integer claimed = transactionTemplate.execute(tx -> jobRepository.claim(
+                    id, ACTIVE, TaskPurgeJob.State.RUNNING, instanceId, leaseUntil(), now()));
+            if (claimed != null && claimed == 1) {
+                run(id);
+            }
+        }
+    }
+
+    void run(Long id) {
+        int chunkSize = Math.max(1, taskProperties.getPurge().getChunkSize());
+        log.info("Task purge running id={} owner={}", id, instanceId);
+        try {
+            List<Task> deleted;
+            do {
+                deleted = transactionTemplate.execute(tx -> deleteChunk(id, chunkSize));
+                if (deleted != null) {
+                    searchIndex.remove(deleted);
+                    statistics.deleted(deleted);
+                    jsonCache.invalidateAll(deleted.stream().map(Task::getId).toList());
+                    taskEventPublisher.tasksDeleted(deleted);
+                }
+            } while (deleted != null && deleted.size() == chunkSize);
+        } catch (RuntimeException ex) {
+            log.warn("Task purge failed id={}: {}", id, ex.getMessage());
+            transactionTemplate.executeWithoutResult(tx -> jobRepository.lockById(id).ifPresent(job -> {
+                if (!job.getState().isFinished() && instanceId.equals(job.getLeaseOwner())) {
+                    job.finish(TaskPurgeJob.State.FAILED, now(), truncate(ex.getMessage()));
+                }
+            }));
+        }
+    }
+
+    /**
+     * Deletes one chunk and records it; returns null when the job was cancelled or claimed by someone else.
+     */
+    private List<Task> deleteChunk(Long id, int chunkSize) {
+        TaskPurgeJob job = jobRepository.lockById(id).orElse(null);
+        if (job == null || job.getState() != TaskPurgeJob.State.RUNNING || !instanceId.equals(job.getLeaseOwner())) {
+            log.info("Task purge stopped id={} state={}", id, job != null ? job.getState() : null);
+            return null;
+        }
+        List<Task> deleted = bulkUpdater.delete(job.getFilterStatus(), job.getFilterFrom(), job.getFilterTo(), chunkSize);
+        LocalDateTime now = now();
+        job.recordChunk(deleted.size(), now, leaseUntil());
+        if (deleted.size() < chunkSize) {
+            job.finish(TaskPurgeJob.State.COMPLETED, now, null);
+            log.info("Task purge completed id={} deleted={}", id, job.getDeletedCount());
+        }
+        return deleted;
+    }
+
+    private LocalDateTime leaseUntil() {
+        return now().plus(taskProperties.getPurge().getLease());
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return "Purge failed";
+        }
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
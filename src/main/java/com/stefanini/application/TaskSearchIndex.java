@@ -0,0 +1,409 @@
+package com.stefanini.application;
+
+import com.stefanini.domain.Task;
+import com.stefanini.infrastructure.TaskExporter;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory inverted index over task titles and descriptions for {@code GET /api/tasks?q=}. Terms are
+ * lower-cased, accent-folded runs of letters and digits, each mapped to a sorted {@code long[]} of task ids.
+ * All query terms must match; a term ending in {@code *} matches every indexed term with that prefix.
+ * <p>
+ * Built once at startup by scanning id ranges in parallel and kept current by the write paths after their
+ * transactions commit. Changes made while the scan runs are replayed onto the new index before it goes live.
+ * Writes from other instances are not seen until the next restart.
+ */
+@Component
+public class TaskSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final TaskExporter exporter;
+    private final TaskProperties taskProperties;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock.
+    private NavigableMap<String, Postings> terms = new TreeMap<>();
+    private List<Change> pending;
+    private volatile boolean ready;
+
+    public TaskSearchIndex(TaskExporter exporter, TaskProperties taskProperties) {
+        this.exporter = exporter;
+        this.taskProperties = taskProperties;
+    }
+
+    /**
+     * Ids of the tasks matching every term of {@code query}, ascending.
+     *
+     * @throws IllegalArgumentException if the query has no terms or a prefix is too short
+     * @throws IllegalStateException while the index is still being built
+     */
+    public long[] match(String query) {
+        List<Term> parsed = parse(query);
+        if (!ready) {
+            throw new IllegalStateException("Search index is still loading");
+        }
+        lock.readLock().lock();
+        try {
+            long[] result = null;
+            int size = 0;
+            for (Term term : parsed) {
+                long[] ids;
+                int length;
+                if (term.prefix) {
+                    ids = union(terms.subMap(term.text, true, term.text + Character.MAX_VALUE, false).values());
+                    length = ids.length;
+                } else {
+                    Postings postings = terms.get(term.text);
+                    if (postings == null) {
+                        return new long[0];
+                    }
+                    ids = postings.ids;
+                    length = postings.size;
+                }
+                if (result == null) {
+                    result = Arrays.copyOf(ids, length);
+                    size = length;
+                } else {
+                    size = intersect(result, size, ids, length);
+                }
+                if (size == 0) {
+                    return new long[0];
+                }
+            }
+            return Arrays.copyOf(result, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void add(Collection<Task> tasks) {
+        for (Task task : tasks) {
+            change(task.getId(), Set.of(), terms(task.getTitle(), task.getDescription()));
+        }
+    }
+
+    public void remove(Collection<Task> tasks) {
+        for (Task task : tasks) {
+            change(task.getId(), terms(task.getTitle(), task.getDescription()), Set.of());
+        }
+    }
+
+    /**
+     * Re-indexes a task whose title or description may have changed from the given old values.
+     */
+    public void replace(String oldTitle, String oldDescription, Task task) {
+        Set<String> before = terms(oldTitle, oldDescription);
+        Set<String> after = terms(task.getTitle(), task.getDescription());
+        if (before.equals(after)) {
+            return;
+        }
+        Set<String> removed = new LinkedHashSet<>(before);
+        removed.removeAll(after);
+        Set<String> added = new LinkedHashSet<>(after);
+        added.removeAll(before);
+        change(task.getId(), removed, added);
+    }
+
+    /**
+     * Scans every task into a new index and swaps it in; queries are refused until the first build completes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        NavigableMap<String, Postings> built;
+        try {
+            built = scan();
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("Task search index build failed: {}", ex.getMessage(), ex);
+            return;
+        }
+
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            replayed = pending.size();
+            for (Change change : pending) {
+                change.applyTo(built);
+            }
+            terms = built;
+            pending = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Task search index built terms={} replayed={} elapsedMs={}",
+                built.size(), replayed, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private NavigableMap<String, Postings> scan() {
+        long[] range = exporter.idRange();
+        NavigableMap<String, Postings> merged = new TreeMap<>();
+        if (range == null) {
+            return merged;
+        }
+        int threads = Math.max(1, taskProperties.getSearch().getRebuildThreads());
+        int fetchSize = taskProperties.getSearch().getRebuildFetchSize();
+        long step = Math.max(1, (range[1] - range[0]) / threads + 1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("task-index-"));
+        try {
+            List<Future<Map<String, Postings>>> parts = new ArrayList<>();
+            for (long start = range[0]; start <= range[1]; start += step) {
+                long from = start;
+                long to = Math.min(start + step, range[1] + 1);
+                parts.add(pool.submit(() -> {
+                    Map<String, Postings> part = new HashMap<>();
+                    exporter.streamRange(from, to, fetchSize, task -> {
+                        for (String term : terms(task.getTitle(), task.getDescription())) {
+                            part.computeIfAbsent(term, key -> new Postings()).add(task.getId());
+                        }
+                    });
+                    return part;
+                }));
+            }
+            // Ranges are disjoint and ascending, so each part's postings go after the previous part's.
+            for (Future<Map<String, Postings>> part : parts) {
+                for (Map.Entry<String, Postings> entry : part.get().entrySet()) {
+                    merged.computeIfAbsent(entry.getKey(), key -> new Postings()).appendAll(entry.getValue());
+                }
+            }
+            return merged;
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Task scan failed: " + ex.getCause().getMessage(), ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Task scan interrupted", ex);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void change(Long id, Set<String> removed, Set<String> added) {
+        if (id == null || (removed.isEmpty() && added.isEmpty())) {
+            return;
+        }
+        Change change = new Change(id, removed, added);
+        lock.writeLock().lock();
+        try {
+            change.applyTo(terms);
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<Term> parse(String query) {
+        int minPrefix = taskProperties.getSearch().getMinPrefixLength();
+        List<Term> parsed = new ArrayList<>();
+        for (String word : query.trim().split("\\s+")) {
+            List<String> parts = new ArrayList<>(terms(word, null));
+            for (int i = 0; i < parts.size(); i++) {
+                boolean prefix = i == parts.size() - 1 && word.endsWith("*");
+                if (prefix && parts.get(i).length() < minPrefix) {
+                    throw new IllegalArgumentException(
+                            "Prefix searches need at least " + minPrefix + " characters before *");
+                }
+                parsed.add(new Term(parts.get(i), prefix));
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("q has no searchable words");
+        }
+        return parsed;
+    }
+
+    /**
+     * Distinct terms of the given texts, in order of appearance.
+     */
+    static Set<String> terms(String title, String description) {
+        Set<String> terms = new LinkedHashSet<>();
+        collect(title, terms);
+        collect(description, terms);
+        return terms;
+    }
+
+    private static void collect(String text, Set<String> into) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String term : SEPARATORS.split(folded)) {
+            if (!term.isEmpty()) {
+                into.add(term);
+            }
+        }
+    }
+
+    private static long[] union(Collection<Postings> lists) {
+        int total = 0;
+        for (Postings postings : lists) {
+            total += postings.size;
+        }
+        long[] all = new long[total];
+        int at = 0;
+        for (Postings postings : lists) {
+            System.arraycopy(postings.ids, 0, all, at, postings.size);
+            at += postings.size;
+        }
+        Arrays.sort(all);
+        int size = 0;
+        for (int i = 0; i < all.length; i++) {
+            if (size == 0 || all[size - 1] != all[i]) {
+                all[size++] = all[i];
+            }
+        }
+        return Arrays.copyOf(all, size);
+    }
+
+    /**
+     * Keeps in {@code a} only the ids also in {@code b}; both sorted. Returns the new size of {@code a}.
+     */
+    static int intersect(long[] a, int aSize, long[] b, int bSize) {
+        int size = 0;
+        int j = 0;
+        for (int i = 0; i < aSize && j < bSize; i++) {
+            while (j < bSize && b[j] < a[i]) {
+                j++;
+            }
+            if (j < bSize && b[j] == a[i]) {
+                a[size++] = a[i];
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Sorted, duplicate-free ids of the tasks containing one term.
+     */
+    static final class Postings {
+        private long[] ids = new long[2];
+        private int size;
+
+        void add(long id) {
+            if (size == 0 || ids[size - 1] < id) {
+                grow(1);
+                ids[size++] = id;
+                return;
+            }
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                return;
+            }
+            at = -at - 1;
+            grow(1);
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+                size--;
+            }
+        }
+
+        // Callers guarantee every id in other is larger than the ones already here.
+        void appendAll(Postings other) {
+            grow(other.size);
+            System.arraycopy(other.ids, 0, ids, size, other.size);
+            size += other.size;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void grow(int extra) {
+            if (size + extra > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(size + extra, ids.length + (ids.length >> 1)));
+            }
+        }
+    }
+
+    private static final class Change {
+        private final long id;
+        private final Set<String> removed;
+        private final Set<String> added;
+
+        Change(long id, Set<String> removed, Set<String> added) {
+            this.id = id;
+            this.removed = removed;
+            this.added = added;
+        }
+
+        // Idempotent, so replaying a change the scan already saw is harmless.
+        void applyTo(NavigableMap<String, Postings> terms) {
+            for (String term : removed) {
+                Postings postings = terms.get(term);
+                if (postings != null) {
+                    postings.remove(id);
+                    if (postings.size() == 0) {
+                        terms.remove(term);
+                    }
+                }
+            }
+            for (String term : added) {
+                terms.computeIfAbsent(term, key -> new Postings()).add(id);
+            }
+        }
+    }
+
+    private static final class Term {
+        private final String text;
+        private final boolean prefix;
+
+        Term(String text, boolean prefix) {
+            this.text = text;
+            this.prefix = prefix;
+        }
+    }
+}
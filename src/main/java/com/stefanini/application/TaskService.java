@@ -3,20 +3,86 @@ package com.stefanini.application;
 import com.stefanini.domain.Task;
 import com.stefanini.domain.TaskStatus;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 public interface TaskService {
 
     Task create(Task task);
 
+    /**
+     * Creates the tasks in chunks of {@code app.tasks.batch.chunk-size}, each committed on its own; a failed
+     * chunk is reported per item and does not undo the others.
+     */
+    TaskBatchResult createBatch(List<Task> tasks);
+
+    /**
+     * Moves the given tasks to {@code target} in one transaction; tasks already there or missing are skipped.
+     */
+    TaskBulkResult updateStatus(List<Long> ids, TaskStatus target);
+
+    /**
+     * Moves tasks matching the filter to {@code target} in chunks, each committed on its own, up to
+     * {@code app.tasks.bulk.max-rows} per call.
+     */
+    TaskBulkResult updateStatus(TaskStatus status, LocalDateTime from, LocalDateTime to, TaskStatus target);
+
+    /**
+     * Page with an exact total; runs a count query with the same filters.
+     */
     Page<Task> search(TaskStatus status, LocalDateTime from, LocalDateTime to, Pageable pageable);
 
+    /**
+     * Tasks whose title or description contain every term of {@code query} (see {@link TaskSearchIndex}), narrowed
+     * by the other filters; page with an exact total.
+     *
+     * @throws IllegalArgumentException if the query has no usable terms or matches more than
+     *                                  {@code app.tasks.search.max-candidates} tasks
+     * @throws IllegalStateException    while the index is still being built
+     */
+    Page<Task> searchText(String query, TaskStatus status, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    /**
+     * Page without a total, only whether a next page exists.
+     */
+    Slice<Task> searchSlice(TaskStatus status, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    /**
+     * Cached, periodically refreshed estimate of how many tasks match the filters.
+     */
+    long estimateCount(TaskStatus status, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Keyset pagination: returns up to {@code size} tasks after {@code after} (from the start when null).
+     */
+    CursorPage<Task> searchAfter(TaskStatus status, LocalDateTime from, LocalDateTime to, TaskCursor after, int size);
+
+    /**
+     * Passes every task matching the filter, newest first, to {@code action} as it is read; nothing is collected.
+     * Returns the number of tasks.
+     */
+    long export(TaskStatus status, LocalDateTime from, LocalDateTime to, Consumer<Task> action);
+
     Task findById(Long id);
 
-    Task update(Long id, Task updated);
+    /**
+     * Replaces the task's fields. When {@code expectedVersion} is given the task must still be at that version.
+     *
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the task is at another version or
+     *                                                                   is changed concurrently
+     */
+    Task update(Long id, Task updated, Long expectedVersion);
 
-    Task patch(Long id, Task partial);
+    /**
+     * Sets the non-null fields of {@code partial}; {@code expectedVersion} works as in {@link #update}.
+     */
+    Task patch(Long id, Task partial, Long expectedVersion);
 
-    void delete(Long id);
+    /**
+     * Deletes the task; {@code expectedVersion} works as in {@link #update}.
+     */
+    void delete(Long id, Long expectedVersion);
 }
@@ -2,14 +2,31 @@ package com.stefanini.application;
 
 import com.stefanini.domain.Task;
 import com.stefanini.domain.TaskStatus;
+import com.stefanini.infrastructure.TaskBatchInserter;
+import com.stefanini.infrastructure.TaskBulkUpdater;
+import com.stefanini.infrastructure.TaskExporter;
 import com.stefanini.infrastructure.TaskRepository;
+import com.stefanini.infrastructure.TaskWriter;
 import com.stefanini.infrastructure.messaging.TaskEventPublisher;
 import jakarta.persistence.EntityNotFoundException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,11 +37,35 @@ public class TaskServiceImpl implements TaskService {
     private static final Logger log = LoggerFactory.getLogger(TaskServiceImpl.class);
 
     private final TaskRepository taskRepository;
+    private final TaskWriter taskWriter;
     private final TaskEventPublisher taskEventPublisher;
+    private final TaskCountEstimator countEstimator;
+    private final TaskBatchInserter batchInserter;
+    private final TaskBulkUpdater bulkUpdater;
+    private final TaskExporter exporter;
+    private final TaskSearchIndex searchIndex;
+    private final TaskStatistics statistics;
+    private final TaskJsonCache jsonCache;
+    private final TaskProperties taskProperties;
+    private final TransactionTemplate transactionTemplate;
 
-    public TaskServiceImpl(TaskRepository taskRepository, TaskEventPublisher taskEventPublisher) {
+    public TaskServiceImpl(TaskRepository taskRepository, TaskWriter taskWriter, TaskEventPublisher taskEventPublisher,
+                           TaskCountEstimator countEstimator, TaskBatchInserter batchInserter,
+                           TaskBulkUpdater bulkUpdater, TaskExporter exporter, TaskSearchIndex searchIndex,
+                           TaskStatistics statistics, TaskJsonCache jsonCache, TaskProperties taskProperties,
+                           PlatformTransactionManager transactionManager) {
         this.taskRepository = taskRepository;
+        this.taskWriter = taskWriter;
         this.taskEventPublisher = taskEventPublisher;
+        this.countEstimator = countEstimator;
+        this.batchInserter = batchInserter;
+        this.bulkUpdater = bulkUpdater;
+        this.exporter = exporter;
+        this.searchIndex = searchIndex;
+        this.statistics = statistics;
+        this.jsonCache = jsonCache;
+        this.taskProperties = taskProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -32,10 +73,101 @@ public class TaskServiceImpl implements TaskService {
         Task created = taskRepository.save(task);
         log.info("Task created id={} title={} status={}", created.getId(), created.getTitle(), created.getStatus());
         taskEventPublisher.taskCreated(created);
+        afterCommit(() -> {
+            searchIndex.add(List.of(created));
+            statistics.created(List.of(created));
+        });
         return created;
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // each chunk commits in its own transaction
+    public TaskBatchResult createBatch(List<Task> tasks) {
+        int chunkSize = Math.max(1, Math.min(taskProperties.getBatch().getChunkSize(),
+                TaskBatchInserter.MAX_ROWS_PER_STATEMENT));
+        LocalDateTime now = LocalDateTime.now();
+        for (Task task : tasks) {
+            if (task.getStatus() == null) {
+                task.setStatus(TaskStatus.PENDING);
+            }
+            if (task.getCreatedAt() == null) {
+                task.setCreatedAt(now);
+            }
+        }
+
+        List<TaskBatchResult.Item> items = new ArrayList<>(tasks.size());
+        for (int start = 0; start < tasks.size(); start += chunkSize) {
+            List<Task> chunk = tasks.subList(start, Math.min(start + chunkSize, tasks.size()));
+            try {
+                List<Task> created = transactionTemplate.execute(status -> batchInserter.insert(chunk));
+                created.forEach(task -> items.add(TaskBatchResult.Item.created(task)));
+                searchIndex.add(created);
+                statistics.created(created);
+                taskEventPublisher.tasksCreated(created);
+            } catch (RuntimeException ex) {
+                log.warn("Task batch chunk failed offset={} size={}: {}", start, chunk.size(), ex.getMessage());
+                chunk.forEach(task -> items.add(TaskBatchResult.Item.failed("Insert failed")));
+            }
+        }
+        TaskBatchResult result = new TaskBatchResult(items);
+        log.info("Task batch created requested={} created={}", tasks.size(), result.getCreatedCount());
+        return result;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // events go out only after the commit
+    public TaskBulkResult updateStatus(List<Long> ids, TaskStatus target) {
+        int chunkSize = Math.max(1, taskProperties.getBulk().getChunkSize());
+        List<Long> distinct = ids.stream().distinct().toList();
+        List<TaskBulkUpdater.StatusChange> changes = transactionTemplate.execute(tx -> {
+            List<TaskBulkUpdater.StatusChange> rows = new ArrayList<>();
+            for (int start = 0; start < distinct.size(); start += chunkSize) {
+                rows.addAll(bulkUpdater.updateStatus(distinct.subList(start, Math.min(start + chunkSize, distinct.size())), target));
+            }
+            return rows;
+        });
+        List<Task> updated = applyStatusChanges(changes);
+        log.info("Task status bulk update by id target={} requested={} updated={}", target, distinct.size(), updated.size());
+        taskEventPublisher.tasksPatched(updated);
+        return new TaskBulkResult(updated, false);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // each chunk commits in its own transaction
+    public TaskBulkResult updateStatus(TaskStatus status, LocalDateTime from, LocalDateTime to, TaskStatus target) {
+        int maxRows = taskProperties.getBulk().getMaxRows();
+        int chunkSize = Math.max(1, Math.min(taskProperties.getBulk().getChunkSize(), maxRows));
+        List<Task> updated = new ArrayList<>();
+        boolean hasMore = false;
+        while (updated.size() < maxRows) {
+            int limit = Math.min(chunkSize, maxRows - updated.size());
+            List<Task> chunk = applyStatusChanges(
+                    transactionTemplate.execute(tx -> bulkUpdater.updateStatus(status, from, to, target, limit)));
+            updated.addAll(chunk);
+            taskEventPublisher.tasksPatched(chunk);
+            if (chunk.size() < limit) {
+                break;
+            }
+            // A full last chunk may or may not have exhausted the filter; the caller can simply repeat.
+            hasMore = updated.size() >= maxRows;
+        }
+        log.info("Task status bulk update by filter status={} from={} to={} target={} updated={} hasMore={}",
+                status, from, to, target, updated.size(), hasMore);
+        return new TaskBulkResult(updated, hasMore);
+    }
+
+    private List<Task> applyStatusChanges(List<TaskBulkUpdater.StatusChange> changes) {
+        List<Task> tasks = new ArrayList<>(changes.size());
+        for (TaskBulkUpdater.StatusChange change : changes) {
+            statistics.statusChanged(change.getPrevious(), change.getTask().getStatus());
+            tasks.add(change.getTask());
+        }
+        jsonCache.invalidateAll(tasks.stream().map(Task::getId).toList());
+        return tasks;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Page<Task> search(TaskStatus status, LocalDateTime from, LocalDateTime to, Pageable pageable) {
         Page<Task> page = taskRepository.search(status, from, to, pageable);
         log.info("Tasks fetched status={} from={} to={} page={} size={} total={}",
@@ -43,6 +175,65 @@ public class TaskServiceImpl implements TaskService {
         return page;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Task> searchText(String query, TaskStatus status, LocalDateTime from, LocalDateTime to,
+                                 Pageable pageable) {
+        long[] ids = searchIndex.match(query);
+        int maxCandidates = taskProperties.getSearch().getMaxCandidates();
+        if (ids.length > maxCandidates) {
+            throw new IllegalArgumentException(
+                    "q matches more than " + maxCandidates + " tasks; add more words to narrow it down");
+        }
+        Page<Task> page = ids.length == 0
+                ? Page.empty(pageable)
+                : taskRepository.search(Arrays.stream(ids).boxed().toList(), status, from, to, pageable);
+        log.info("Tasks searched q={} candidates={} status={} from={} to={} page={} size={} total={}",
+                query, ids.length, status, from, to, pageable.getPageNumber(), pageable.getPageSize(),
+                page.getTotalElements());
+        return page;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Task> searchSlice(TaskStatus status, LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        Slice<Task> slice = taskRepository.searchSlice(status, from, to, pageable);
+        log.info("Tasks fetched status={} from={} to={} page={} size={} hasNext={}",
+                status, from, to, pageable.getPageNumber(), pageable.getPageSize(), slice.hasNext());
+        return slice;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // usually answered from memory; don't hold a connection
+    public long estimateCount(TaskStatus status, LocalDateTime from, LocalDateTime to) {
+        return countEstimator.estimate(status, from, to);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Task> searchAfter(TaskStatus status, LocalDateTime from, LocalDateTime to, TaskCursor after, int size) {
+        // One extra row tells whether another page exists without a count query.
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Task> rows = after == null
+                ? taskRepository.searchFirst(status, from, to, limit)
+                : taskRepository.searchAfter(status, from, to, after.getCreatedAt(), after.getId(), limit);
+
+        boolean hasNext = rows.size() > size;
+        List<Task> items = hasNext ? rows.subList(0, size) : rows;
+        Task last = hasNext ? items.get(items.size() - 1) : null;
+        log.info("Tasks fetched by cursor status={} from={} to={} size={} returned={} hasNext={}",
+                status, from, to, size, items.size(), hasNext);
+        return new CursorPage<>(items, last != null ? new TaskCursor(last.getCreatedAt(), last.getId()) : null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long export(TaskStatus status, LocalDateTime from, LocalDateTime to, Consumer<Task> action) {
+        long rows = exporter.stream(status, from, to, taskProperties.getExportFetchSize(), action);
+        log.info("Tasks exported status={} from={} to={} rows={}", status, from, to, rows);
+        return rows;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Task findById(Long id) {
@@ -54,40 +245,86 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
-    public Task update(Long id, Task updated) {
-        Task existing = findById(id);
-        existing.setTitle(updated.getTitle());
-        existing.setDescription(updated.getDescription());
-        existing.setStatus(updated.getStatus());
-        Task saved = taskRepository.save(existing);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // one auto-committed statement
+    public Task update(Long id, Task updated, Long expectedVersion) {
+        TaskWriter.Change change = taskWriter.update(id, updated, true, expectedVersion)
+                .orElseThrow(() -> missingOrStale(id, expectedVersion));
+        Task saved = change.getTask();
         log.info("Task updated id={} title={} status={}", saved.getId(), saved.getTitle(), saved.getStatus());
         taskEventPublisher.taskUpdated(saved);
+        applyChange(change);
         return saved;
     }
 
     @Override
-    public Task patch(Long id, Task partial) {
-        Task existing = findById(id);
-        if (partial.getTitle() != null) {
-            existing.setTitle(partial.getTitle());
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // one auto-committed statement
+    public Task patch(Long id, Task partial, Long expectedVersion) {
+        if (partial.getTitle() == null && partial.getDescription() == null && partial.getStatus() == null) {
+            // Nothing to write; answer like a no-op patch always has.
+            return findById(id, expectedVersion);
         }
-        if (partial.getDescription() != null) {
-            existing.setDescription(partial.getDescription());
-        }
-        if (partial.getStatus() != null) {
-            existing.setStatus(partial.getStatus());
-        }
-        Task saved = taskRepository.save(existing);
+        TaskWriter.Change change = taskWriter.update(id, partial, false, expectedVersion)
+                .orElseThrow(() -> missingOrStale(id, expectedVersion));
+        Task saved = change.getTask();
         log.info("Task patched id={} title={} status={}", saved.getId(), saved.getTitle(), saved.getStatus());
         taskEventPublisher.taskPatched(saved);
+        applyChange(change);
         return saved;
     }
 
     @Override
-    public void delete(Long id) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // one auto-committed statement
+    public void delete(Long id, Long expectedVersion) {
+        Task deleted = taskWriter.delete(id, expectedVersion)
+                .orElseThrow(() -> missingOrStale(id, expectedVersion));
+        log.info("Task deleted id={} title={}", deleted.getId(), deleted.getTitle());
+        taskEventPublisher.taskDeleted(deleted);
+        jsonCache.invalidate(id);
+        searchIndex.remove(List.of(deleted));
+        statistics.deleted(List.of(deleted));
+    }
+
+    private void applyChange(TaskWriter.Change change) {
+        Task previous = change.getPrevious();
+        jsonCache.invalidate(previous.getId());
+        searchIndex.replace(previous.getTitle(), previous.getDescription(), change.getTask());
+        statistics.statusChanged(previous.getStatus(), change.getTask().getStatus());
+    }
+
+    // The write matched no row. Only a conditional write needs a second look, to tell a stale version from a
+    // missing task.
+    private RuntimeException missingOrStale(Long id, Long expectedVersion) {
+        Optional<Long> current = expectedVersion != null ? taskRepository.findVersionById(id) : Optional.empty();
+        if (current.isPresent()) {
+            log.info("Task version mismatch id={} expected={} actual={}", id, expectedVersion, current.get());
+            return new OptimisticLockingFailureException(
+                    "Task " + id + " is at version " + current.get() + ", not " + expectedVersion);
+        }
+        log.warn("Task not found id={}", id);
+        return new EntityNotFoundException("Task not found: " + id);
+    }
+
+    private Task findById(Long id, Long expectedVersion) {
         Task existing = findById(id);
-        taskRepository.delete(existing);
-        log.info("Task deleted id={} title={}", existing.getId(), existing.getTitle());
-        taskEventPublisher.taskDeleted(existing);
+        if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+            log.info("Task version mismatch id={} expected={} actual={}", id, expectedVersion, existing.getVersion());
+            throw new OptimisticLockingFailureException(
+                    "Task " + id + " is at version " + existing.getVersion() + ", not " + expectedVersion);
+        }
+        return existing;
+    }
+
+    // A rolled-back write must never become searchable, so index changes wait for the commit.
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
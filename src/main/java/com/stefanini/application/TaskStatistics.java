@@ -0,0 +1,167 @@
+package com.stefanini.application;
+
+import com.stefanini.domain.Task;
+import com.stefanini.domain.TaskStatus;
+import com.stefanini.infrastructure.TaskRepository;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Task counts per status and per creation day, kept in memory so {@code GET /api/tasks/stats} never queries the
+ * database. The write paths adjust the counters after each commit; a periodic reconcile with two grouped
+ * counts seeds them at startup and corrects drift, such as writes made by other instances or writes racing
+ * the previous reconcile. Snapshots are reused until the next change.
+ */
+@Component
+public class TaskStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatistics.class);
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final TaskRepository taskRepository;
+    private final TaskProperties taskProperties;
+    private final Clock clock;
+
+    private final AtomicLongArray byStatus = new AtomicLongArray(STATUSES.length);
+    private final Map<LocalDate, AtomicLong> byDay = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile LocalDateTime reconciledAt;
+    private volatile Snapshot last;
+
+    @Autowired
+    public TaskStatistics(TaskRepository taskRepository, TaskProperties taskProperties) {
+        // created_at is written in the server's zone, so day boundaries must use the same one.
+        this(taskRepository, taskProperties, Clock.systemDefaultZone());
+    }
+
+    // Convenience constructor for tests to control time
+    TaskStatistics(TaskRepository taskRepository, TaskProperties taskProperties, Clock clock) {
+        this.taskRepository = taskRepository;
+        this.taskProperties = taskProperties;
+        this.clock = clock;
+    }
+
+    /**
+     * Counts with the per-day breakdown limited to the last {@code days} days, today included.
+     */
+    public TaskStats snapshot(int days) {
+        long current = version.get();
+        LocalDate firstDay = LocalDate.now(clock).minusDays(days - 1L);
+        Snapshot cached = last;
+        if (cached != null && cached.version == current && cached.firstDay.equals(firstDay) && cached.days == days) {
+            return cached.stats;
+        }
+
+        Map<TaskStatus, Long> statuses = new EnumMap<>(TaskStatus.class);
+        long total = 0;
+        for (TaskStatus status : STATUSES) {
+            long count = byStatus.get(status.ordinal());
+            statuses.put(status, count);
+            total += count;
+        }
+        Map<LocalDate, Long> perDay = new LinkedHashMap<>();
+        for (int i = 0; i < days; i++) {
+            LocalDate day = firstDay.plusDays(i);
+            AtomicLong count = byDay.get(day);
+            perDay.put(day, count != null ? count.get() : 0L);
+        }
+        TaskStats stats = new TaskStats(total, Collections.unmodifiableMap(statuses),
+                Collections.unmodifiableMap(perDay), reconciledAt);
+        last = new Snapshot(current, firstDay, days, stats);
+        return stats;
+    }
+
+    public void created(Collection<Task> tasks) {
+        for (Task task : tasks) {
+            byStatus.incrementAndGet(task.getStatus().ordinal());
+            addToDay(task, 1);
+        }
+        version.incrementAndGet();
+    }
+
+    public void deleted(Collection<Task> tasks) {
+        for (Task task : tasks) {
+            byStatus.decrementAndGet(task.getStatus().ordinal());
+            addToDay(task, -1);
+        }
+        version.incrementAndGet();
+    }
+
+    public void statusChanged(TaskStatus from, TaskStatus to) {
+        if (from == to) {
+            return;
+        }
+        byStatus.decrementAndGet(from.ordinal());
+        byStatus.incrementAndGet(to.ordinal());
+        version.incrementAndGet();
+    }
+
+    /**
+     * Replaces the counters with fresh database counts; runs once at startup and then every
+     * {@code app.tasks.stats.reconcile-interval}.
+     */
+    @Scheduled(fixedDelayString = "${app.tasks.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        LocalDate firstDay = LocalDate.now(clock).minusDays(taskProperties.getStats().getMaxDays() - 1L);
+        long[] statuses = new long[STATUSES.length];
+        for (Object[] row : taskRepository.countByStatus()) {
+            statuses[TaskStatus.valueOf((String) row[0]).ordinal()] = ((Number) row[1]).longValue();
+        }
+        Map<LocalDate, Long> days = new HashMap<>();
+        for (Object[] row : taskRepository.countByDaySince(firstDay.atStartOfDay())) {
+            days.put(LocalDate.parse(((String) row[0]).trim()), ((Number) row[1]).longValue());
+        }
+
+        long drift = 0;
+        for (int i = 0; i < statuses.length; i++) {
+            drift += Math.abs(byStatus.getAndSet(i, statuses[i]) - statuses[i]);
+        }
+        byDay.keySet().removeIf(day -> !days.containsKey(day));
+        days.forEach((day, count) -> byDay.computeIfAbsent(day, key -> new AtomicLong()).set(count));
+        reconciledAt = LocalDateTime.now(clock);
+        version.incrementAndGet();
+        log.info("Task stats reconciled days={} statusDrift={}", days.size(), drift);
+    }
+
+    // Days older than the retained window are not tracked; the reconcile would drop them anyway.
+    private void addToDay(Task task, long delta) {
+        if (task.getCreatedAt() == null) {
+            return;
+        }
+        LocalDate day = task.getCreatedAt().toLocalDate();
+        if (day.isBefore(LocalDate.now(clock).minusDays(taskProperties.getStats().getMaxDays() - 1L))) {
+            return;
+        }
+        byDay.computeIfAbsent(day, key -> new AtomicLong()).addAndGet(delta);
+    }
+
+    private static final class Snapshot {
+        private final long version;
+        private final LocalDate firstDay;
+        private final int days;
+        private final TaskStats stats;
+
+        Snapshot(long version, LocalDate firstDay, int days, TaskStats stats) {
+            this.version = version;
+            this.firstDay = firstDay;
+            this.days = days;
+            this.stats = stats;
+        }
+    }
+}
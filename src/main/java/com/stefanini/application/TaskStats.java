@@ -0,0 +1,44 @@
+package com.stefanini.application;
+
+import com.stefanini.domain.TaskStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Point-in-time task counts: per status, and per creation day for the requested window (oldest day first,
+ * days without tasks included as zero).
+ */
+public class TaskStats {
+
+    private final long total;
+    private final Map<TaskStatus, Long> byStatus;
+    private final Map<LocalDate, Long> byDay;
+    private final LocalDateTime reconciledAt;
+
+    public TaskStats(long total, Map<TaskStatus, Long> byStatus, Map<LocalDate, Long> byDay, LocalDateTime reconciledAt) {
+        this.total = total;
+        this.byStatus = byStatus;
+        this.byDay = byDay;
+        this.reconciledAt = reconciledAt;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Map<TaskStatus, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public Map<LocalDate, Long> getByDay() {
+        return byDay;
+    }
+
+    /**
+     * Last time the counters were checked against the database; null until the first check.
+     */
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+}
@@ -8,15 +8,20 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "tasks")
 public class Task {
 
+    // Pooled optimizer: one sequence call reserves 50 ids, so inserts need no key round trip and can be batched.
+    // allocationSize must match the INCREMENT BY of tasks_seq.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 255)
@@ -32,6 +37,11 @@ public class Task {
     @Column(nullable = false, length = 20)
     private TaskStatus status;
 
+    // Bumped on every update; null until the task is persisted or when read by a query that does not select it.
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public Task() {
     }
 
@@ -92,4 +102,12 @@ public class Task {
     public void setStatus(TaskStatus status) {
         this.status = status;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
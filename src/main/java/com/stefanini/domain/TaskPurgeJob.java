@@ -0,0 +1,170 @@
+package com.stefanini.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * A background delete of every task matching a filter. The instance holding the lease deletes in chunks and
+ * records progress after each one; when it dies the lease expires and another instance resumes the job.
+ */
+@Entity
+@Table(name = "task_purge_jobs")
+public class TaskPurgeJob {
+
+    public enum State {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == CANCELLED || this == FAILED;
+        }
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private State state;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "filter_status", length = 20)
+    private TaskStatus filterStatus;
+
+    @Column(name = "filter_from")
+    private LocalDateTime filterFrom;
+
+    @Column(name = "filter_to")
+    private LocalDateTime filterTo;
+
+    @Column(name = "deleted_count", nullable = false)
+    private long deletedCount;
+
+    @Column(name = "requested_by", nullable = false, length = 255)
+    private String requestedBy;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "lease_owner", length = 36)
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(length = 500)
+    private String error;
+
+    public TaskPurgeJob() {
+    }
+
+    public TaskPurgeJob(TaskStatus filterStatus, LocalDateTime filterFrom, LocalDateTime filterTo,
+                        String requestedBy, LocalDateTime createdAt) {
+        this.state = State.PENDING;
+        this.filterStatus = filterStatus;
+        this.filterFrom = filterFrom;
+        this.filterTo = filterTo;
+        this.requestedBy = requestedBy;
+        this.createdAt = createdAt;
+        this.updatedAt = createdAt;
+    }
+
+    /**
+     * Records a deleted chunk and extends the lease.
+     */
+    public void recordChunk(int deleted, LocalDateTime now, LocalDateTime leaseUntil) {
+        this.deletedCount += deleted;
+        this.updatedAt = now;
+        this.leaseUntil = leaseUntil;
+    }
+
+    public void finish(State state, LocalDateTime now, String error) {
+        this.state = state;
+        this.updatedAt = now;
+        this.finishedAt = now;
+        this.leaseOwner = null;
+        this.leaseUntil = null;
+        this.error = error;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public TaskStatus getFilterStatus() {
+        return filterStatus;
+    }
+
+    public LocalDateTime getFilterFrom() {
+        return filterFrom;
+    }
+
+    public LocalDateTime getFilterTo() {
+        return filterTo;
+    }
+
+    public long getDeletedCount() {
+        return deletedCount;
+    }
+
+    public String getRequestedBy() {
+        return requestedBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
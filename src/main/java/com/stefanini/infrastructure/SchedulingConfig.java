@@ -0,0 +1,12 @@
+package com.stefanini.infrastructure;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled housekeeping jobs (expired token cleanup and similar).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,84 @@
+package com.stefanini.infrastructure;
+
+import com.stefanini.domain.Task;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Inserts many tasks with one multi-row statement per call: all rows go in a single round trip. The batch
+ * reserves a contiguous id range from {@code tasks_seq} with {@code sp_sequence_get_range}, as
+ * {@link TaskBulkLoader} does, and gives each row the next id in input order. Runs in the caller's transaction.
+ */
+@Repository
+public class TaskBatchInserter {
+
+    /**
+     * SQL Server accepts at most 2100 parameters per statement; each row binds four, plus the range size.
+     */
+    public static final int MAX_ROWS_PER_STATEMENT = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Integer, String> statements = new ConcurrentHashMap<>();
+
+    public TaskBatchInserter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the tasks and sets their generated ids. Callers must have filled in status and createdAt.
+     */
+    public List<Task> insert(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return tasks;
+        }
+        if (tasks.size() > MAX_ROWS_PER_STATEMENT) {
+            throw new IllegalArgumentException("At most " + MAX_ROWS_PER_STATEMENT + " rows per statement");
+        }
+        String sql = statements.computeIfAbsent(tasks.size(), TaskBatchInserter::statement);
+
+        int blocks = (tasks.size() + TaskBulkLoader.SEQUENCE_INCREMENT - 1) / TaskBulkLoader.SEQUENCE_INCREMENT;
+        List<Long> firsts = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            int p = 1;
+            ps.setInt(p++, blocks);
+            for (Task task : tasks) {
+                ps.setString(p++, task.getTitle());
+                ps.setString(p++, task.getDescription());
+                ps.setString(p++, task.getStatus().name());
+                ps.setTimestamp(p++, Timestamp.valueOf(task.getCreatedAt()));
+            }
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1));
+
+        if (firsts.size() != 1) {
+            throw new IllegalStateException("Expected the first id of the reserved range but got " + firsts);
+        }
+        long id = firsts.get(0);
+        for (Task task : tasks) {
+            task.setId(id++);
+            task.setVersion(0L); // column default
+        }
+        return tasks;
+    }
+
+    // Same reservation as TaskBulkLoader.RESERVE_IDS; @base is the lowest id of the range and row i gets @base + i.
+    static String statement(int rows) {
+        StringBuilder sql = new StringBuilder("""
+                SET NOCOUNT ON;
+                DECLARE @first SQL_VARIANT;
+                EXEC sp_sequence_get_range @sequence_name = N'tasks_seq', @range_size = ?, @range_first_value = @first OUTPUT;
+                DECLARE @base BIGINT = CAST(@first AS BIGINT) - %d + 1;
+                INSERT INTO tasks (id, title, description, status, created_at)
+                SELECT @base + v.ord, v.title, v.description, v.status, v.created_at
+                FROM (VALUES\s""".formatted(TaskBulkLoader.SEQUENCE_INCREMENT));
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ").append(i).append(')');
+        }
+        return sql.append(") AS v(title, description, status, created_at, ord);\nSELECT @base;").toString();
+    }
+}
@@ -0,0 +1,145 @@
+package com.stefanini.infrastructure;
+
+import com.microsoft.sqlserver.jdbc.ISQLServerBulkData;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopy;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopyOptions;
+import com.microsoft.sqlserver.jdbc.SQLServerConnection;
+import com.stefanini.domain.Task;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Loads tasks through the TDS bulk load protocol ({@link SQLServerBulkCopy}) instead of INSERT statements.
+ * Ids are reserved up front from {@code tasks_seq} with {@code sp_sequence_get_range}, so the caller knows them
+ * without reading anything back. Runs in the caller's transaction when there is one, otherwise each call
+ * commits on its own.
+ */
+@Repository
+public class TaskBulkLoader {
+
+    // Must match the INCREMENT BY of tasks_seq and Task's allocationSize.
+    static final int SEQUENCE_INCREMENT = 50;
+
+    // Hibernate's pooled optimizer reads each sequence value V as the block (V - 49 .. V); asking for k values
+    // reserves k adjacent blocks, i.e. the contiguous ids (first - 49 .. first + 50 * (k - 1)).
+    static final String RESERVE_IDS = """
+            SET NOCOUNT ON;
+            DECLARE @first SQL_VARIANT;
+            EXEC sp_sequence_get_range @sequence_name = N'tasks_seq', @range_size = ?, @range_first_value = @first OUTPUT;
+            SELECT CAST(@first AS BIGINT);
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+
+    public TaskBulkLoader(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Assigns ids to the tasks and bulk copies them. Callers must have filled in status and createdAt.
+     */
+    public List<Task> load(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return tasks;
+        }
+        int blocks = (tasks.size() + SEQUENCE_INCREMENT - 1) / SEQUENCE_INCREMENT;
+        Long first = jdbcTemplate.queryForObject(RESERVE_IDS, Long.class, blocks);
+        long id = first - SEQUENCE_INCREMENT + 1;
+        for (Task task : tasks) {
+            task.setId(id++);
+            task.setVersion(0L); // unmapped column, takes its default
+        }
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (SQLServerBulkCopy bulkCopy = new SQLServerBulkCopy(connection.unwrap(SQLServerConnection.class))) {
+            SQLServerBulkCopyOptions options = new SQLServerBulkCopyOptions();
+            options.setBatchSize(tasks.size());
+            // Without this the server skips chk_tasks_status and marks the constraint untrusted.
+            options.setCheckConstraints(true);
+            bulkCopy.setBulkCopyOptions(options);
+            bulkCopy.setDestinationTableName("tasks");
+            for (int column = 1; column <= TaskRows.NAMES.length; column++) {
+                bulkCopy.addColumnMapping(column, TaskRows.NAMES[column - 1]);
+            }
+            bulkCopy.writeToServer(new TaskRows(tasks));
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Bulk copy into tasks failed: " + ex.getMessage(), ex);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        return tasks;
+    }
+
+    /**
+     * Feeds the list to the bulk copy one row at a time.
+     */
+    static final class TaskRows implements ISQLServerBulkData {
+
+        private static final long serialVersionUID = 1L;
+
+        static final String[] NAMES = {"id", "title", "description", "status", "created_at"};
+        private static final int[] TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP};
+        private static final int[] PRECISION = {19, 255, 1000, 20, 27};
+        private static final int[] SCALE = {0, 0, 0, 0, 7};
+        private static final Set<Integer> ORDINALS = Set.of(1, 2, 3, 4, 5);
+
+        private final transient List<Task> tasks;
+        private int next;
+
+        TaskRows(List<Task> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        public Set<Integer> getColumnOrdinals() {
+            return ORDINALS;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return NAMES[column - 1];
+        }
+
+        @Override
+        public int getColumnType(int column) {
+            return TYPES[column - 1];
+        }
+
+        @Override
+        public int getPrecision(int column) {
+            return PRECISION[column - 1];
+        }
+
+        @Override
+        public int getScale(int column) {
+            return SCALE[column - 1];
+        }
+
+        @Override
+        public boolean next() {
+            return ++next <= tasks.size();
+        }
+
+        @Override
+        public Object[] getRowData() {
+            Task task = tasks.get(next - 1);
+            return new Object[] {
+                    task.getId(),
+                    task.getTitle(),
+                    task.getDescription(),
+                    task.getStatus().name(),
+                    Timestamp.valueOf(task.getCreatedAt())
+            };
+        }
+    }
+}
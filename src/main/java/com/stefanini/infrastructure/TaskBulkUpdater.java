@@ -0,0 +1,159 @@
+package com.stefanini.infrastructure;
+
+import com.stefanini.domain.Task;
+import com.stefanini.domain.TaskStatus;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Set-based status changes and deletes: one {@code UPDATE/DELETE ... OUTPUT} per call instead of a read and a
+ * write per task. Rows already in the target status are left alone, so only real transitions come back; moved
+ * rows get their version bumped as a JPA update would. Runs in the caller's transaction.
+ */
+@Repository
+public class TaskBulkUpdater {
+
+    private static final String OUTPUT =
+            " OUTPUT INSERTED.id, INSERTED.title, INSERTED.description, INSERTED.status, INSERTED.created_at,"
+                    + " INSERTED.version, DELETED.status AS previous_status";
+
+    private static final String OUTPUT_DELETED =
+            " OUTPUT DELETED.id, DELETED.title, DELETED.description, DELETED.status, DELETED.created_at,"
+                    + " DELETED.version";
+
+    static final String UPDATE_BY_IDS = "UPDATE t SET t.status = ?, t.version = t.version + 1" + OUTPUT
+            + " FROM tasks t JOIN STRING_SPLIT(?, ',') ids ON t.id = CAST(ids.value AS BIGINT)"
+            + " WHERE t.status <> ?";
+
+    // Carries version so callers can hand out an ETag for the row as written, without reading it back.
+    static final RowMapper<Task> TASK_ROW = (rs, rowNum) -> {
+        Task task = new Task(
+                rs.getLong("id"),
+                rs.getString("title"),
+                rs.getString("description"),
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                TaskStatus.valueOf(rs.getString("status")));
+        task.setVersion(rs.getLong("version"));
+        return task;
+    };
+
+    private static final RowMapper<StatusChange> CHANGE_ROW = (rs, rowNum) ->
+            new StatusChange(TASK_ROW.mapRow(rs, rowNum), TaskStatus.valueOf(rs.getString("previous_status")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, String> statements = new ConcurrentHashMap<>();
+
+    public TaskBulkUpdater(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Moves the given tasks to {@code target}. The ids travel as one comma-separated parameter, so the
+     * statement text (and its plan) is the same for any number of ids.
+     */
+    public List<StatusChange> updateStatus(Collection<Long> ids, TaskStatus target) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String idList = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return jdbcTemplate.query(UPDATE_BY_IDS, CHANGE_ROW, target.name(), idList, target.name());
+    }
+
+    /**
+     * Moves up to {@code limit} tasks matching the filter (same semantics as {@link TaskSearchRepository}) to
+     * {@code target}. Updated rows stop matching, so repeated calls walk through the whole set.
+     */
+    public List<StatusChange> updateStatus(TaskStatus status, LocalDateTime from, LocalDateTime to, TaskStatus target,
+                                           int limit) {
+        String shape = (status != null ? "s" : "-") + (from != null ? "f" : "-") + (to != null ? "t" : "-");
+        String sql = statements.computeIfAbsent(shape, key -> statement(status != null, from != null, to != null));
+
+        List<Object> args = new ArrayList<>(6);
+        args.add(limit);
+        args.add(target.name());
+        args.add(target.name());
+        addFilterArgs(args, status, from, to);
+        return jdbcTemplate.query(sql, CHANGE_ROW, args.toArray());
+    }
+
+    /**
+     * Deletes up to {@code limit} tasks matching the filter and returns them. Small limits keep each statement
+     * under the lock escalation threshold and each transaction's log usage bounded.
+     */
+    public List<Task> delete(TaskStatus status, LocalDateTime from, LocalDateTime to, int limit) {
+        String shape = "d" + (status != null ? "s" : "-") + (from != null ? "f" : "-") + (to != null ? "t" : "-");
+        String sql = statements.computeIfAbsent(shape,
+                key -> deleteStatement(status != null, from != null, to != null));
+
+        List<Object> args = new ArrayList<>(4);
+        args.add(limit);
+        addFilterArgs(args, status, from, to);
+        return jdbcTemplate.query(sql, TASK_ROW, args.toArray());
+    }
+
+    private static void addFilterArgs(List<Object> args, TaskStatus status, LocalDateTime from, LocalDateTime to) {
+        if (status != null) {
+            args.add(status.name());
+        }
+        if (from != null) {
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            args.add(Timestamp.valueOf(to));
+        }
+    }
+
+    static String statement(boolean status, boolean from, boolean to) {
+        StringBuilder sql = new StringBuilder("UPDATE TOP (?) tasks SET status = ?, version = version + 1").append(OUTPUT)
+                .append(" WHERE status <> ?");
+        return appendFilter(sql, status, from, to).toString();
+    }
+
+    static String deleteStatement(boolean status, boolean from, boolean to) {
+        StringBuilder sql = new StringBuilder("DELETE TOP (?) FROM tasks").append(OUTPUT_DELETED).append(" WHERE 1 = 1");
+        return appendFilter(sql, status, from, to).toString();
+    }
+
+    private static StringBuilder appendFilter(StringBuilder sql, boolean status, boolean from, boolean to) {
+        if (status) {
+            sql.append(" AND status = ?");
+        }
+        if (from) {
+            sql.append(" AND created_at >= ?");
+        }
+        if (to) {
+            sql.append(" AND created_at <= ?");
+        }
+        return sql;
+    }
+
+    /**
+     * A task moved by a bulk status change, together with the status it had before.
+     */
+    public static final class StatusChange {
+        private final Task task;
+        private final TaskStatus previous;
+
+        public StatusChange(Task task, TaskStatus previous) {
+            this.task = task;
+            this.previous = previous;
+        }
+
+        public Task getTask() {
+            return task;
+        }
+
+        public TaskStatus getPrevious() {
+            return previous;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.stefanini.infrastructure;
+
+import com.stefanini.domain.Task;
+import com.stefanini.domain.TaskStatus;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads every task matching a filter through one forward-only, read-only result set and hands each row to
+ * the caller as it arrives. The driver's adaptive response buffering pulls rows from the socket only as they
+ * are consumed, so memory stays flat and a slow consumer slows the read instead of piling rows up.
+ */
+@Repository
+public class TaskExporter {
+
+    static final String RANGE =
+            "SELECT id, title, description, status, created_at, version FROM tasks WHERE id >= ? AND id < ? ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, String> statements = new ConcurrentHashMap<>();
+
+    public TaskExporter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Streams matching tasks newest first; returns the number of rows read.
+     */
+    public long stream(TaskStatus status, LocalDateTime from, LocalDateTime to, int fetchSize, Consumer<Task> action) {
+        String shape = (status != null ? "s" : "-") + (from != null ? "f" : "-") + (to != null ? "t" : "-");
+        String sql = statements.computeIfAbsent(shape, key -> statement(status != null, from != null, to != null));
+        return query(sql, fetchSize, action, ps -> {
+            int p = 1;
+            if (status != null) {
+                ps.setString(p++, status.name());
+            }
+            if (from != null) {
+                ps.setTimestamp(p++, Timestamp.valueOf(from));
+            }
+            if (to != null) {
+                ps.setTimestamp(p, Timestamp.valueOf(to));
+            }
+        });
+    }
+
+    /**
+     * Smallest and largest task id, or null when there are no tasks.
+     */
+    public long[] idRange() {
+        return jdbcTemplate.query("SELECT MIN(id), MAX(id) FROM tasks", rs -> {
+            rs.next();
+            long min = rs.getLong(1);
+            return rs.wasNull() ? null : new long[] {min, rs.getLong(2)};
+        });
+    }
+
+    /**
+     * Streams the tasks with {@code fromId <= id < toId} in id order, seeking on the primary key; returns the
+     * number of rows read. Disjoint ranges can be read in parallel on separate connections.
+     */
+    public long streamRange(long fromId, long toId, int fetchSize, Consumer<Task> action) {
+        return query(RANGE, fetchSize, action, ps -> {
+            ps.setLong(1, fromId);
+            ps.setLong(2, toId);
+        });
+    }
+
+    private long query(String sql, int fetchSize, Consumer<Task> action, PreparedStatementSetter parameters) {
+        long[] rows = new long[1];
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            parameters.setValues(ps);
+            return ps;
+        }, rs -> {
+            action.accept(TaskBulkUpdater.TASK_ROW.mapRow(rs, (int) rows[0]));
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    static String statement(boolean status, boolean from, boolean to) {
+        StringBuilder sql = new StringBuilder("SELECT id, title, description, status, created_at, version FROM tasks WHERE 1 = 1");
+        if (status) {
+            sql.append(" AND status = ?");
+        }
+        if (from) {
+            sql.append(" AND created_at >= ?");
+        }
+        if (to) {
+            sql.append(" AND created_at <= ?");
+        }
+        return sql.append(" ORDER BY created_at DESC, id DESC").toString();
+    }
+}
@@ -0,0 +1,82 @@
+package com.stefanini.infrastructure;
+
+import com.stefanini.application.TaskImportReader;
+import com.stefanini.application.TaskImportResult;
+import com.stefanini.application.TaskImportService;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Command line import from the same jar:
+ * {@code java -jar todo-api.jar --spring.main.web-application-type=none --app.tasks.import.file=tasks.ndjson}.
+ * The format comes from {@code --app.tasks.import.format} or the file extension ({@code .csv}, otherwise
+ * NDJSON); a trailing {@code .gz} is decompressed. The process exits when done: 0 when every row was
+ * imported, 2 when some were rejected, 1 on failure.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.tasks.import", name = "file")
+public class TaskImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportRunner.class);
+
+    private final TaskImportService importService;
+    private final ConfigurableApplicationContext context;
+    private final String file;
+    private final String format;
+
+    public TaskImportRunner(TaskImportService importService, ConfigurableApplicationContext context,
+                            @Value("${app.tasks.import.file}") String file,
+                            @Value("${app.tasks.import.format:}") String format) {
+        this.importService = importService;
+        this.context = context;
+        this.file = file;
+        this.format = format;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode;
+        try {
+            TaskImportResult result = importFile(Path.of(file));
+            result.getRejections().forEach(r -> log.warn("Rejected line {}: {}", r.getLine(), String.join("; ", r.getErrors())));
+            log.info("Imported {} of {} rows from {} ({} rejected)", result.getImported(), result.getRead(), file,
+                    result.getRejected());
+            exitCode = result.getRejected() > 0 ? 2 : 0;
+        } catch (Exception ex) {
+            log.error("Import from {} failed: {}", file, ex.getMessage(), ex);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+
+    TaskImportResult importFile(Path path) throws Exception {
+        String name = path.getFileName().toString().toLowerCase();
+        boolean gzip = name.endsWith(".gz");
+        if (gzip) {
+            name = name.substring(0, name.length() - 3);
+        }
+        TaskImportReader.Format parsedFormat = !format.isBlank() ? TaskImportReader.Format.parse(format)
+                : name.endsWith(".csv") ? TaskImportReader.Format.CSV : TaskImportReader.Format.NDJSON;
+
+        try (InputStream raw = Files.newInputStream(path);
+             InputStream in = gzip ? new GZIPInputStream(raw, 65536) : raw;
+             Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return importService.importTasks(reader, parsedFormat);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.stefanini.infrastructure;
+
+import com.stefanini.domain.TaskPurgeJob;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface TaskPurgeJobRepository extends JpaRepository<TaskPurgeJob, Long> {
+
+    /**
+     * Unfinished jobs nobody holds a live lease on, oldest first.
+     */
+    @Query("""
+            select j.id from TaskPurgeJob j
+            where j.state in :states and (j.leaseUntil is null or j.leaseUntil < :now)
+            order by j.id
+            """)
+    List<Long> findClaimable(Collection<TaskPurgeJob.State> states, LocalDateTime now);
+
+    /**
+     * Takes the lease on a job; returns 0 when another instance claimed it first or it finished meanwhile.
+     */
+    @Modifying
+    @Query("""
+            update TaskPurgeJob j set j.state = :running, j.leaseOwner = :owner, j.leaseUntil = :until, j.updatedAt = :now
+            where j.id = :id and j.state in :states and (j.leaseUntil is null or j.leaseUntil < :now)
+            """)
+    int claim(Long id, Collection<TaskPurgeJob.State> states, TaskPurgeJob.State running, String owner,
+              LocalDateTime until, LocalDateTime now);
+
+    /**
+     * Row-locks the job for the rest of the transaction, so a cancel waits for a running chunk and vice versa.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select j from TaskPurgeJob j where j.id = :id")
+    Optional<TaskPurgeJob> lockById(Long id);
+}
@@ -1,20 +1,44 @@
 package com.stefanini.infrastructure;
 
 import com.stefanini.domain.Task;
-import com.stefanini.domain.TaskStatus;
 import java.time.LocalDateTime;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskSearchRepository {
 
-    @Query("""
-            select t from Task t
-            where (:status is null or t.status = :status)
-              and (:from is null or t.createdAt >= :from)
-              and (:to is null or t.createdAt <= :to)
-            """)
-    Page<Task> search(TaskStatus status, LocalDateTime from, LocalDateTime to, Pageable pageable);
+    /**
+     * Row count from SQL Server's partition metadata; no table scan, may lag in-flight transactions.
+     */
+    @Query(value = """
+            SELECT COALESCE(SUM(p.rows), 0) FROM sys.partitions p
+            WHERE p.object_id = OBJECT_ID('tasks') AND p.index_id IN (0, 1)
+            """, nativeQuery = true)
+    long estimateTotalRows();
+
+    /**
+     * {@code [status, count]} pairs. {@code idx_tasks_status_created_at_id} is the only index leading with status,
+     * so it can be aggregated in order without a sort; its leaf level carries the included columns, so the scan
+     * reads about as many pages as the clustered index would.
+     */
+    @Query(value = "SELECT status, COUNT_BIG(*) FROM tasks GROUP BY status", nativeQuery = true)
+    List<Object[]> countByStatus();
+
+    /**
+     * {@code [yyyy-MM-dd, count]} pairs for the days from {@code since} on; seeks {@code idx_tasks_created_at_id},
+     * which holds every column the query reads.
+     */
+    @Query(value = """
+            SELECT CONVERT(CHAR(10), created_at, 23), COUNT_BIG(*) FROM tasks
+            WHERE created_at >= :since GROUP BY CONVERT(CHAR(10), created_at, 23)
+            """, nativeQuery = true)
+    List<Object[]> countByDaySince(LocalDateTime since);
+
+    /**
+     * Current version of a task, read without loading the entity; empty if the task does not exist.
+     */
+    @Query("SELECT t.version FROM Task t WHERE t.id = :id")
+    Optional<Long> findVersionById(Long id);
 }
@@ -0,0 +1,42 @@
+package com.stefanini.infrastructure;
+
+import com.stefanini.domain.Task;
+import com.stefanini.domain.TaskStatus;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Task searches with optional filters. Null arguments are left out of the generated query entirely, so every
+ * filter shape gets its own statement text and therefore its own cached plan.
+ */
+public interface TaskSearchRepository {
+
+    Page<Task> search(TaskStatus status, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    /**
+     * {@link #search} restricted to the given ids, which are sent as a single comma-separated parameter.
+     */
+    Page<Task> search(Collection<Long> ids, TaskStatus status, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    /**
+     * Same filters as {@link #search}, returned as a slice: fetches one extra row instead of running a count.
+     */
+    Slice<Task> searchSlice(TaskStatus status, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    long countSearch(TaskStatus status, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * First page of the keyset listing ({@code created_at DESC, id DESC}); only the page size of {@code limit} is used.
+     */
+    List<Task> searchFirst(TaskStatus status, LocalDateTime from, LocalDateTime to, Pageable limit);
+
+    /**
+     * Rows strictly after {@code (afterCreatedAt, afterId)} in {@code created_at DESC, id DESC} order.
+     */
+    List<Task> searchAfter(TaskStatus status, LocalDateTime from, LocalDateTime to,
+                           LocalDateTime afterCreatedAt, Long afterId, Pageable limit);
+}
@@ -0,0 +1,235 @@
+package com.stefanini.infrastructure;
+
+import com.stefanini.domain.Task;
+import com.stefanini.domain.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+/**
+ * Builds each search from only the predicates that are in use instead of {@code (:p is null or ...)} catch-alls,
+ * which SQL Server compiles into a single plan for all shapes. Query strings are cached per shape and sort, so
+ * a given shape always sends identical text and reuses both Hibernate's and SQL Server's cached plans.
+ * Searches within a list of ids are native SQL: the ids travel as one comma-separated parameter that
+ * {@code STRING_SPLIT} unpacks, as in {@link TaskBulkUpdater}, so their number is not bound by SQL Server's
+ * 2100-parameter limit and every list length shares one plan.
+ */
+class TaskSearchRepositoryImpl implements TaskSearchRepository {
+
+    // Sortable attributes and their columns.
+    private static final Map<String, String> SORTABLE = Map.of(
+            "id", "id", "title", "title", "status", "status", "createdAt", "created_at");
+    private static final String KEYSET_ORDER = " order by t.createdAt desc, t.id desc";
+    private static final String SQL_KEYSET_ORDER = " order by t.created_at desc, t.id desc";
+
+    private final EntityManager entityManager;
+    private final Map<String, String> queries = new ConcurrentHashMap<>();
+
+    TaskSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<Task> search(TaskStatus status, LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        Filter filter = new Filter(status, from, to, null, null);
+        List<Task> content = page(filter, pageable, pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> countSearch(status, from, to));
+    }
+
+    @Override
+    public Page<Task> search(Collection<Long> ids, TaskStatus status, LocalDateTime from, LocalDateTime to,
+                             Pageable pageable) {
+        Filter filter = new Filter(ids, status, from, to, null, null);
+        String orderBy = sqlOrderBy(pageable.getSort());
+        String sql = queries.computeIfAbsent("sql-page:" + filter.shape() + orderBy,
+                key -> "select t.* from tasks t" + filter.sqlWhere() + orderBy);
+        Query query = filter.bindSql(entityManager.createNativeQuery(sql, Task.class));
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+        @SuppressWarnings("unchecked")
+        List<Task> content = query.getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            String count = queries.computeIfAbsent("sql-count:" + filter.shape(),
+                    key -> "select count_big(*) from tasks t" + filter.sqlWhere());
+            return ((Number) filter.bindSql(entityManager.createNativeQuery(count)).getSingleResult()).longValue();
+        });
+    }
+
+    @Override
+    public Slice<Task> searchSlice(TaskStatus status, LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        List<Task> rows = page(new Filter(status, from, to, null, null), pageable, pageable.getPageSize() + 1);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public long countSearch(TaskStatus status, LocalDateTime from, LocalDateTime to) {
+        return count(new Filter(status, from, to, null, null));
+    }
+
+    private long count(Filter filter) {
+        String jpql = queries.computeIfAbsent("count:" + filter.shape(),
+                key -> "select count(t) from Task t" + filter.where());
+        return filter.bind(entityManager.createQuery(jpql, Long.class)).getSingleResult();
+    }
+
+    @Override
+    public List<Task> searchFirst(TaskStatus status, LocalDateTime from, LocalDateTime to, Pageable limit) {
+        return keyset(new Filter(status, from, to, null, null), limit.getPageSize());
+    }
+
+    @Override
+    public List<Task> searchAfter(TaskStatus status, LocalDateTime from, LocalDateTime to,
+                                  LocalDateTime afterCreatedAt, Long afterId, Pageable limit) {
+        return keyset(new Filter(status, from, to, afterCreatedAt, afterId), limit.getPageSize());
+    }
+
+    private List<Task> page(Filter filter, Pageable pageable, int maxResults) {
+        String orderBy = orderBy(pageable.getSort());
+        String jpql = queries.computeIfAbsent("page:" + filter.shape() + orderBy,
+                key -> "select t from Task t" + filter.where() + orderBy);
+        TypedQuery<Task> query = filter.bind(entityManager.createQuery(jpql, Task.class));
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(maxResults);
+        return query.getResultList();
+    }
+
+    private List<Task> keyset(Filter filter, int maxResults) {
+        String jpql = queries.computeIfAbsent("keyset:" + filter.shape(),
+                key -> "select t from Task t" + filter.where() + KEYSET_ORDER);
+        return filter.bind(entityManager.createQuery(jpql, Task.class))
+                .setMaxResults(maxResults)
+                .getResultList();
+    }
+
+    // Property names come from the client, so only whitelisted ones reach the query text.
+    static String orderBy(Sort sort) {
+        return sort.isUnsorted() ? KEYSET_ORDER : orderBy(sort, false);
+    }
+
+    static String sqlOrderBy(Sort sort) {
+        return sort.isUnsorted() ? SQL_KEYSET_ORDER : orderBy(sort, true);
+    }
+
+    private static String orderBy(Sort sort, boolean sql) {
+        String orders = sort.stream()
+                .map(order -> {
+                    String column = SORTABLE.get(order.getProperty());
+                    if (column == null) {
+                        throw new IllegalArgumentException("Cannot sort tasks by " + order.getProperty());
+                    }
+                    return "t." + (sql ? column : order.getProperty()) + (order.isAscending() ? " asc" : " desc");
+                })
+                .collect(Collectors.joining(", "));
+        return " order by " + orders;
+    }
+
+    static final class Filter {
+        private final Collection<Long> ids;
+        private final TaskStatus status;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final LocalDateTime afterCreatedAt;
+        private final Long afterId;
+
+        Filter(TaskStatus status, LocalDateTime from, LocalDateTime to, LocalDateTime afterCreatedAt, Long afterId) {
+            this(null, status, from, to, afterCreatedAt, afterId);
+        }
+
+        Filter(Collection<Long> ids, TaskStatus status, LocalDateTime from, LocalDateTime to,
+               LocalDateTime afterCreatedAt, Long afterId) {
+            this.ids = ids;
+            this.status = status;
+            this.from = from;
+            this.to = to;
+            this.afterCreatedAt = afterCreatedAt;
+            this.afterId = afterId;
+        }
+
+        String shape() {
+            return (ids != null ? "i" : "-") + (status != null ? "s" : "-") + (from != null ? "f" : "-") + (to != null ? "t" : "-")
+                    + (afterCreatedAt != null ? "a" : "-");
+        }
+
+        /**
+         * JPQL predicates; filters with ids only exist in SQL form, see {@link #sqlWhere()}.
+         */
+        String where() {
+            return where(false);
+        }
+
+        /**
+         * The same predicates over the table's columns, for native queries.
+         */
+        String sqlWhere() {
+            return where(true);
+        }
+
+        private String where(boolean sql) {
+            String createdAt = sql ? "t.created_at" : "t.createdAt";
+            StringBuilder where = new StringBuilder();
+            if (ids != null && sql) {
+                where.append(" and t.id in (select cast(value as bigint) from string_split(:ids, ','))");
+            }
+            if (status != null) {
+                where.append(" and t.status = :status");
+            }
+            if (from != null) {
+                where.append(" and ").append(createdAt).append(" >= :from");
+            }
+            if (to != null) {
+                where.append(" and ").append(createdAt).append(" <= :to");
+            }
+            if (afterCreatedAt != null) {
+                // The redundant upper bound is the sargable part that lets the database seek into the index.
+                where.append(" and ").append(createdAt).append(" <= :afterCreatedAt and (")
+                        .append(createdAt).append(" < :afterCreatedAt or t.id < :afterId)");
+            }
+            return where.length() == 0 ? "" : " where" + where.substring(4);
+        }
+
+        Query bindSql(Query query) {
+            if (ids != null) {
+                query.setParameter("ids", ids.stream().map(String::valueOf).collect(Collectors.joining(",")));
+            }
+            if (status != null) {
+                query.setParameter("status", status.name());
+            }
+            bindRange(query);
+            return query;
+        }
+
+        <T> TypedQuery<T> bind(TypedQuery<T> query) {
+            if (status != null) {
+                query.setParameter("status", status);
+            }
+            bindRange(query);
+            return query;
+        }
+
+        private void bindRange(Query query) {
+            if (from != null) {
+                query.setParameter("from", from);
+            }
+            if (to != null) {
+                query.setParameter("to", to);
+            }
+            if (afterCreatedAt != null) {
+                query.setParameter("afterCreatedAt", afterCreatedAt);
+                query.setParameter("afterId", afterId);
+            }
+        }
+    }
+}
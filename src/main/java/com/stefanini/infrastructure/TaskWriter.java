@@ -0,0 +1,138 @@
+package com.stefanini.infrastructure;
+
+import com.stefanini.domain.Task;
+import com.stefanini.domain.TaskStatus;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Single-task updates and deletes as one {@code UPDATE/DELETE ... OUTPUT} statement each, instead of a SELECT
+ * followed by a write. The OUTPUT row carries both the new and the previous values, so callers need no read of
+ * their own. An expected version, when given, is part of the WHERE clause. Runs in the caller's transaction, or
+ * auto-committed when there is none.
+ */
+@Repository
+public class TaskWriter {
+
+    private static final String OUTPUT = " OUTPUT INSERTED.id, INSERTED.title, INSERTED.description,"
+            + " INSERTED.status, INSERTED.created_at, INSERTED.version, DELETED.title AS previous_title,"
+            + " DELETED.description AS previous_description, DELETED.status AS previous_status,"
+            + " DELETED.version AS previous_version";
+
+    static final String DELETE = "DELETE FROM tasks OUTPUT DELETED.id, DELETED.title, DELETED.description,"
+            + " DELETED.status, DELETED.created_at, DELETED.version WHERE id = ?";
+
+    private static final RowMapper<Task> DELETED_ROW = (rs, rowNum) -> task(
+            rs.getLong("id"), rs.getString("title"), rs.getString("description"),
+            rs.getTimestamp("created_at"), rs.getString("status"), rs.getLong("version"));
+
+    private static final RowMapper<Change> CHANGE_ROW = (rs, rowNum) -> new Change(
+            task(rs.getLong("id"), rs.getString("title"), rs.getString("description"),
+                    rs.getTimestamp("created_at"), rs.getString("status"), rs.getLong("version")),
+            task(rs.getLong("id"), rs.getString("previous_title"), rs.getString("previous_description"),
+                    rs.getTimestamp("created_at"), rs.getString("previous_status"), rs.getLong("previous_version")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, String> statements = new ConcurrentHashMap<>();
+
+    public TaskWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Writes {@code values} to the task and bumps its version. With {@code replace} every field is written, a null
+     * description included; otherwise only the non-null fields are, and at least one must be. Empty when no task
+     * has that id (and version, if given).
+     */
+    public Optional<Change> update(Long id, Task values, boolean replace, Long expectedVersion) {
+        boolean title = replace || values.getTitle() != null;
+        boolean description = replace || values.getDescription() != null;
+        boolean status = replace || values.getStatus() != null;
+        if (!title && !description && !status) {
+            throw new IllegalArgumentException("Nothing to update");
+        }
+        String shape = (title ? "t" : "-") + (description ? "d" : "-") + (status ? "s" : "-")
+                + (expectedVersion != null ? "v" : "-");
+        String sql = statements.computeIfAbsent(shape,
+                key -> statement(title, description, status, expectedVersion != null));
+
+        List<Object> args = new ArrayList<>(5);
+        if (title) {
+            args.add(values.getTitle());
+        }
+        if (description) {
+            args.add(values.getDescription());
+        }
+        if (status) {
+            args.add(values.getStatus().name());
+        }
+        args.add(id);
+        if (expectedVersion != null) {
+            args.add(expectedVersion);
+        }
+        return jdbcTemplate.query(sql, CHANGE_ROW, args.toArray()).stream().findFirst();
+    }
+
+    /**
+     * Deletes the task and returns it as it was; empty when no task has that id (and version, if given).
+     */
+    public Optional<Task> delete(Long id, Long expectedVersion) {
+        List<Task> rows = expectedVersion != null
+                ? jdbcTemplate.query(DELETE + " AND version = ?", DELETED_ROW, id, expectedVersion)
+                : jdbcTemplate.query(DELETE, DELETED_ROW, id);
+        return rows.stream().findFirst();
+    }
+
+    static String statement(boolean title, boolean description, boolean status, boolean version) {
+        StringBuilder sql = new StringBuilder("UPDATE tasks SET ");
+        if (title) {
+            sql.append("title = ?, ");
+        }
+        if (description) {
+            sql.append("description = ?, ");
+        }
+        if (status) {
+            sql.append("status = ?, ");
+        }
+        sql.append("version = version + 1").append(OUTPUT).append(" WHERE id = ?");
+        if (version) {
+            sql.append(" AND version = ?");
+        }
+        return sql.toString();
+    }
+
+    private static Task task(long id, String title, String description, Timestamp createdAt, String status,
+                             long version) {
+        Task task = new Task(id, title, description, createdAt.toLocalDateTime(), TaskStatus.valueOf(status));
+        task.setVersion(version);
+        return task;
+    }
+
+    /**
+     * A task after a single-row update, together with how it looked before.
+     */
+    public static final class Change {
+        private final Task task;
+        private final Task previous;
+
+        public Change(Task task, Task previous) {
+            this.task = task;
+            this.previous = previous;
+        }
+
+        public Task getTask() {
+            return task;
+        }
+
+        public Task getPrevious() {
+            return previous;
+        }
+    }
+}
@@ -2,28 +2,33 @@ package com.stefanini.infrastructure.aws;
 
 import java.net.URI;
 
-import javax.sql.DataSource;
+import com.zaxxer.hikari.HikariDataSource;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
 
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.ssm.SsmClient;
 import software.amazon.awssdk.services.ssm.SsmClientBuilder;
-import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
-import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
 
 /**
- * Optional DataSource builder that pulls DB connection info from AWS SSM (or LocalStack).
+ * Optional DataSource builder that pulls DB connection info from AWS SSM (or LocalStack) through
+ * {@link SsmDbParameters}, which also rotates the pool's credentials when they change in SSM.
  * Falls back to the existing env/application.yml values when parameters are missing or SSM is unavailable.
+ * The pool is the same Hikari pool as on the default path, configured by the same {@code spring.datasource.hikari.*}
+ * properties and instrumented the same way ({@code hikaricp.connections.*} metrics).
  */
 @Configuration
 @EnableConfigurationProperties(SsmProperties.class)
@@ -32,6 +37,11 @@ public class SsmDataSourceConfig {
 
     private static final Logger log = LoggerFactory.getLogger(SsmDataSourceConfig.class);
 
+    // Keep in sync with spring.datasource.url: VARCHAR parameters (otherwise NVARCHAR forces a scan) and
+    // per-connection prepared statement reuse.
+    static final String JDBC_OPTIONS =
+            "encrypt=false;sendStringParametersAsUnicode=false;disableStatementPooling=false;statementPoolingCacheSize=100";
+
     @Value("${DB_HOST:localhost}")
     private String defaultHost;
 
@@ -48,7 +58,9 @@ public class SsmDataSourceConfig {
     SsmClient ssmClient(SsmProperties props) {
         SsmClientBuilder builder = SsmClient.builder()
             .credentialsProvider(DefaultCredentialsProvider.create())
-            .region(Region.of(props.getRegion()));
+            .region(Region.of(props.getRegion()))
+            // Caps each call including retries, so an unreachable SSM cannot stall startup.
+            .overrideConfiguration(ClientOverrideConfiguration.builder().apiCallTimeout(props.getTimeout()).build());
 
         if (props.getEndpoint() != null && !props.getEndpoint().isBlank()) {
             builder = builder.endpointOverride(URI.create(props.getEndpoint()));
@@ -57,39 +69,39 @@ public class SsmDataSourceConfig {
         return builder.build();
     }
 
+    @Bean
+    SsmDbParameters ssmDbParameters(SsmClient ssmClient, SsmProperties props) {
+        return new SsmDbParameters(ssmClient, props, defaultHost, defaultDb, defaultUser, defaultPassword);
+    }
+
+    // Driven by the bound SsmProperties rather than a placeholder, so there is one source for the interval.
+    @Bean
+    SchedulingConfigurer ssmRefreshScheduling(SsmDbParameters parameters, SsmProperties props) {
+        return registrar -> registrar.addFixedDelayTask(
+            new FixedDelayTask(parameters::refresh, props.getRefreshInterval(), props.getRefreshInterval()));
+    }
+
     @Bean
     @Primary
-    DataSource dataSource(SsmClient ssmClient, SsmProperties props) {
-        String host = resolveOrFallback(ssmClient, props.getDbHostParam(), false, defaultHost);
-        String dbName = resolveOrFallback(ssmClient, props.getDbNameParam(), false, defaultDb);
-        String user = resolveOrFallback(ssmClient, props.getDbUserParam(), false, defaultUser);
-        String password = resolveOrFallback(ssmClient, props.getDbPasswordParam(), true, defaultPassword);
-
-        String url = String.format("jdbc:sqlserver://%s:1433;databaseName=%s;encrypt=false", host, dbName);
-        log.info("Initializing DataSource using SSM parameters (host={}, db={})", host, dbName);
-
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName("com.microsoft.sqlserver.jdbc.SQLServerDriver");
-        dataSource.setUrl(url);
-        dataSource.setUsername(user);
-        dataSource.setPassword(password);
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    HikariDataSource dataSource(SsmDbParameters parameters) {
+        String url = String.format("jdbc:sqlserver://%s:1433;databaseName=%s;%s", parameters.host(), parameters.dbName(),
+            JDBC_OPTIONS);
+        log.info("Initializing DataSource using SSM parameters (host={}, db={})", parameters.host(), parameters.dbName());
+
+        HikariDataSource dataSource = pooled(url, parameters.user(), parameters.password());
+        parameters.attach(dataSource);
         return dataSource;
     }
 
-    private String resolveOrFallback(SsmClient client, String paramName, boolean decrypt, String fallback) {
-        try {
-            GetParameterRequest request = GetParameterRequest.builder()
-                .name(paramName)
-                .withDecryption(decrypt)
-                .build();
-
-            GetParameterResponse response = client.getParameter(request);
-            String value = response.parameter().value();
-            log.debug("Fetched parameter {} from SSM", paramName);
-            return value;
-        } catch (Exception ex) {
-            log.warn("Could not fetch SSM parameter {}. Using fallback value. Cause: {}", paramName, ex.getMessage());
-            return fallback;
-        }
+    // Pool settings are bound onto the returned bean afterwards; the pool itself starts on first use.
+    static HikariDataSource pooled(String url, String user, String password) {
+        return DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName("com.microsoft.sqlserver.jdbc.SQLServerDriver")
+            .url(url)
+            .username(user)
+            .password(password)
+            .build();
     }
 }
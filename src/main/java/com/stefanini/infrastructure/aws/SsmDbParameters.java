@@ -0,0 +1,122 @@
+package com.stefanini.infrastructure.aws;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+
+/**
+ * Database connection parameters from SSM, fetched with a single {@code GetParameters} call (bounded by the SSM
+ * client's {@code app.aws.ssm.timeout}) and kept in memory. A background refresh fetches them again; when the user
+ * or password changed, the attached pool gets the new credentials and soft-evicts its connections, so they are
+ * replaced as they are returned instead of the application being restarted. Parameters that are missing, or a
+ * failed call, fall back to the values last known (initially the env/application.yml defaults).
+ */
+public class SsmDbParameters {
+
+    private static final Logger log = LoggerFactory.getLogger(SsmDbParameters.class);
+
+    private final SsmClient ssmClient;
+    private final SsmProperties props;
+    private volatile Map<String, String> values;
+    private volatile HikariDataSource pool;
+
+    public SsmDbParameters(SsmClient ssmClient, SsmProperties props, String host, String dbName, String user,
+                           String password) {
+        this.ssmClient = ssmClient;
+        this.props = props;
+        this.values = Map.of(props.getDbHostParam(), host, props.getDbNameParam(), dbName,
+            props.getDbUserParam(), user, props.getDbPasswordParam(), password);
+        this.values = fetch();
+    }
+
+    public String host() {
+        return values.get(props.getDbHostParam());
+    }
+
+    public String dbName() {
+        return values.get(props.getDbNameParam());
+    }
+
+    public String user() {
+        return values.get(props.getDbUserParam());
+    }
+
+    public String password() {
+        return values.get(props.getDbPasswordParam());
+    }
+
+    /**
+     * The pool that receives rotated credentials.
+     */
+    public void attach(HikariDataSource pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Fetches the parameters again; scheduled every {@code app.aws.ssm.refresh-interval} by
+     * {@link SsmDataSourceConfig}.
+     */
+    public void refresh() {
+        Map<String, String> previous = values;
+        Map<String, String> current = fetch();
+        values = current;
+
+        String userParam = props.getDbUserParam();
+        String passwordParam = props.getDbPasswordParam();
+        if (!Objects.equals(previous.get(props.getDbHostParam()), current.get(props.getDbHostParam()))
+            || !Objects.equals(previous.get(props.getDbNameParam()), current.get(props.getDbNameParam()))) {
+            log.warn("SSM database host or name changed; the pool keeps its URL until the application restarts");
+        }
+        if (Objects.equals(previous.get(userParam), current.get(userParam))
+            && Objects.equals(previous.get(passwordParam), current.get(passwordParam))) {
+            return;
+        }
+        HikariDataSource target = pool;
+        if (target == null) {
+            return;
+        }
+        HikariConfigMXBean config = target.getHikariConfigMXBean();
+        config.setUsername(current.get(userParam));
+        config.setPassword(current.get(passwordParam));
+        // Null until the pool's first connection; it then starts with the new credentials anyway.
+        HikariPoolMXBean running = target.getHikariPoolMXBean();
+        if (running != null) {
+            running.softEvictConnections();
+        }
+        log.info("SSM database credentials rotated; pool {} connections are being replaced", target.getPoolName());
+    }
+
+    private Map<String, String> fetch() {
+        Map<String, String> fetched = new HashMap<>(values);
+        List<String> names = List.copyOf(values.keySet());
+        try {
+            GetParametersResponse response = ssmClient.getParameters(GetParametersRequest.builder()
+                .names(names)
+                .withDecryption(true)
+                .build());
+            for (Parameter parameter : response.parameters()) {
+                fetched.put(parameter.name(), parameter.value());
+            }
+            if (response.hasInvalidParameters() && !response.invalidParameters().isEmpty()) {
+                log.warn("SSM parameters not found {}. Keeping fallback values.", response.invalidParameters());
+            }
+            log.debug("Fetched {} parameters from SSM", response.parameters().size());
+        } catch (Exception ex) {
+            log.warn("Could not fetch SSM parameters {}. Keeping fallback values. Cause: {}", names, ex.getMessage());
+        }
+        return Map.copyOf(fetched);
+    }
+}
@@ -1,5 +1,7 @@
 package com.stefanini.infrastructure.aws;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties(prefix = "app.aws.ssm")
@@ -20,6 +22,16 @@ public class SsmProperties {
      */
     private String endpoint;
 
+    /**
+     * Upper bound for one SSM call including retries; bounds how long startup waits for SSM.
+     */
+    private Duration timeout = Duration.ofSeconds(5);
+
+    /**
+     * How often the parameters are fetched again to pick up rotated credentials.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
     private String dbHostParam = "/todo/db/host";
     private String dbNameParam = "/todo/db/name";
     private String dbUserParam = "/todo/db/user";
@@ -49,6 +61,22 @@ public class SsmProperties {
         this.endpoint = endpoint;
     }
 
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
     public String getDbHostParam() {
         return dbHostParam;
     }
@@ -1,14 +1,36 @@
 package com.stefanini.infrastructure.messaging;
 
 import com.stefanini.domain.Task;
+import java.util.List;
 
 public interface TaskEventPublisher {
 
     void taskCreated(Task task);
 
+    /**
+     * Publishes created events for a whole batch; implementations should group them into as few calls as possible.
+     */
+    default void tasksCreated(List<Task> tasks) {
+        tasks.forEach(this::taskCreated);
+    }
+
     void taskUpdated(Task task);
 
     void taskPatched(Task task);
 
+    /**
+     * Publishes patched events for a set of tasks changed together; grouped like {@link #tasksCreated(List)}.
+     */
+    default void tasksPatched(List<Task> tasks) {
+        tasks.forEach(this::taskPatched);
+    }
+
     void taskDeleted(Task task);
+
+    /**
+     * Publishes deleted events for tasks removed together; grouped like {@link #tasksCreated(List)}.
+     */
+    default void tasksDeleted(List<Task> tasks) {
+        tasks.forEach(this::taskDeleted);
+    }
 }
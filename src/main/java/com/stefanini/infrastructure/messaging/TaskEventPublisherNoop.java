@@ -6,6 +6,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.stereotype.Component;
 
 import com.stefanini.domain.Task;
+import java.util.List;
 
 /**
  * Default publisher that does nothing. It is replaced when SQS is enabled.
@@ -21,6 +22,11 @@ public class TaskEventPublisherNoop implements TaskEventPublisher {
         log.debug("Noop publisher - taskCreated id={}", task.getId());
     }
 
+    @Override
+    public void tasksCreated(List<Task> tasks) {
+        log.debug("Noop publisher - tasksCreated count={}", tasks.size());
+    }
+
     @Override
     public void taskUpdated(Task task) {
         log.debug("Noop publisher - taskUpdated id={}", task.getId());
@@ -31,8 +37,18 @@ public class TaskEventPublisherNoop implements TaskEventPublisher {
         log.debug("Noop publisher - taskPatched id={}", task.getId());
     }
 
+    @Override
+    public void tasksPatched(List<Task> tasks) {
+        log.debug("Noop publisher - tasksPatched count={}", tasks.size());
+    }
+
     @Override
     public void taskDeleted(Task task) {
         log.debug("Noop publisher - taskDeleted id={}", task.getId());
     }
+
+    @Override
+    public void tasksDeleted(List<Task> tasks) {
+        log.debug("Noop publisher - tasksDeleted count={}", tasks.size());
+    }
 }
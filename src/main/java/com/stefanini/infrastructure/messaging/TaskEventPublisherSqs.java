@@ -4,10 +4,15 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.stefanini.domain.Task;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 
 /**
@@ -17,6 +22,9 @@ public class TaskEventPublisherSqs implements TaskEventPublisher {
 
     private static final Logger log = LoggerFactory.getLogger(TaskEventPublisherSqs.class);
 
+    // SendMessageBatch accepts at most 10 entries per call.
+    private static final int MAX_BATCH_ENTRIES = 10;
+
     private final SqsClient sqsClient;
     private final String queueUrl;
     private final ObjectMapper objectMapper;
@@ -33,6 +41,11 @@ public class TaskEventPublisherSqs implements TaskEventPublisher {
         publish("TASK_CREATED", task);
     }
 
+    @Override
+    public void tasksCreated(List<Task> tasks) {
+        publishAll("TASK_CREATED", tasks);
+    }
+
     @Override
     public void taskUpdated(Task task) {
         publish("TASK_UPDATED", task);
@@ -43,19 +56,59 @@ public class TaskEventPublisherSqs implements TaskEventPublisher {
         publish("TASK_PATCHED", task);
     }
 
+    @Override
+    public void tasksPatched(List<Task> tasks) {
+        publishAll("TASK_PATCHED", tasks);
+    }
+
     @Override
     public void taskDeleted(Task task) {
         publish("TASK_DELETED", task);
     }
 
+    @Override
+    public void tasksDeleted(List<Task> tasks) {
+        publishAll("TASK_DELETED", tasks);
+    }
+
+    private void publishAll(String eventType, List<Task> tasks) {
+        for (int start = 0; start < tasks.size(); start += MAX_BATCH_ENTRIES) {
+            publishBatch(eventType, tasks.subList(start, Math.min(start + MAX_BATCH_ENTRIES, tasks.size())));
+        }
+    }
+
+    private void publishBatch(String eventType, List<Task> tasks) {
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            try {
+                entries.add(SendMessageBatchRequestEntry.builder()
+                        .id(String.valueOf(i))
+                        .messageBody(objectMapper.writeValueAsString(toEvent(eventType, task)))
+                        .build());
+            } catch (JsonProcessingException e) {
+                log.warn("Failed to serialize event {} for task id={}: {}", eventType, task.getId(), e.getMessage());
+            }
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        try {
+            SendMessageBatchResponse response = sqsClient.sendMessageBatch(SendMessageBatchRequest.builder()
+                    .queueUrl(queueUrl)
+                    .entries(entries)
+                    .build());
+            response.failed().forEach(failure -> log.warn("Failed to publish event {} for task id={} to SQS: {}",
+                    eventType, tasks.get(Integer.parseInt(failure.id())).getId(), failure.message()));
+            log.info("Published {} {} events to SQS", response.successful().size(), eventType);
+        } catch (Exception e) {
+            log.warn("Failed to publish {} {} events to SQS: {}", entries.size(), eventType, e.getMessage());
+        }
+    }
+
     private void publish(String eventType, Task task) {
-        TaskEvent event = new TaskEvent(
-                eventType,
-                task.getId(),
-                task.getTitle(),
-                task.getDescription(),
-                task.getStatus(),
-                Instant.now());
+        TaskEvent event = toEvent(eventType, task);
 
         try {
             String payload = objectMapper.writeValueAsString(event);
@@ -71,4 +124,14 @@ public class TaskEventPublisherSqs implements TaskEventPublisher {
             log.warn("Failed to publish event {} for task id={} to SQS: {}", eventType, task.getId(), e.getMessage());
         }
     }
+
+    private static TaskEvent toEvent(String eventType, Task task) {
+        return new TaskEvent(
+                eventType,
+                task.getId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getStatus(),
+                Instant.now());
+    }
 }
@@ -0,0 +1,106 @@
+package com.stefanini.infrastructure.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Read replicas behind the application's DataSource. The primary pool (the default one or the SSM-configured one,
+ * always the bean named {@code dataSource}) is wrapped in a {@link LazyConnectionDataSourceProxy} that takes the
+ * physical connection only at the first statement, by which time a {@code readOnly} transaction has marked it
+ * read-only; those connections come from {@link ReadReplicaRouter}, which only sends the transactions listed in
+ * {@code routed-transactions} to a replica. Everything else uses the primary.
+ * Replica pools use the primary's credentials unless set here; they do not follow SSM credential rotation.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaConfig.class);
+
+    @Bean
+    ReadReplicaRouter readReplicaRouter(ReplicaProperties props, DataSourceProperties dataSourceProperties,
+                                        MeterRegistry meterRegistry) {
+        String username = props.getUsername() != null ? props.getUsername() : dataSourceProperties.getUsername();
+        String password = props.getPassword() != null ? props.getPassword() : dataSourceProperties.getPassword();
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<String> urls = props.getUrls();
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            HikariDataSource pool = pooled(urls.get(i), username, password, props);
+            pool.setPoolName("todo-db-" + name);
+            pool.setMetricRegistry(meterRegistry);
+            replicas.put(name, pool);
+        }
+        log.info("Routing read-only transactions {}* to {} read replica(s)", props.getRoutedTransactions(),
+                replicas.size());
+        return new ReadReplicaRouter(replicas, routed(props.getRoutedTransactions()), props.getHealthCheckTimeout(),
+                meterRegistry);
+    }
+
+    // Static: post-processors are created before regular beans; the router is looked up when dataSource is ready.
+    @Bean
+    static BeanPostProcessor readReplicaDataSourcePostProcessor(ObjectProvider<ReadReplicaRouter> router) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource primary) {
+                    return routing(primary, router.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    ReadYourWritesFilter readYourWritesFilter(ReadReplicaRouter router, ReplicaProperties props) {
+        return new ReadYourWritesFilter(router, props.getReadYourWritesWindow());
+    }
+
+    static Predicate<String> routed(List<String> prefixes) {
+        List<String> copy = List.copyOf(prefixes);
+        return name -> name != null && copy.stream().anyMatch(name::startsWith);
+    }
+
+    static LazyConnectionDataSourceProxy routing(DataSource primary, ReadReplicaRouter router) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(router.readOnly(primary));
+        // SQL Server defaults; stated so the proxy need not read them from a first physical connection.
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+
+    // The pool starts even while the replica is unreachable; the router keeps reads off it until it answers.
+    static HikariDataSource pooled(String url, String username, String password, ReplicaProperties props) {
+        HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName("com.microsoft.sqlserver.jdbc.SQLServerDriver")
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        pool.setMaximumPoolSize(props.getMaximumPoolSize());
+        pool.setConnectionTimeout(props.getConnectionTimeout().toMillis());
+        pool.setInitializationFailTimeout(-1);
+        pool.setReadOnly(true);
+        return pool;
+    }
+}
@@ -0,0 +1,185 @@
+package com.stefanini.infrastructure.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Chooses where read-only connections come from: the healthy replicas in turn, or the primary when none is
+ * healthy, when a replica refuses a connection, while the current thread is pinned to the primary (see
+ * {@link ReadYourWritesFilter}), or when the current transaction is not one of the routed ones. Spring names a
+ * {@code @Transactional} transaction after the class and method that declared it, so routing can be limited to
+ * the service reads that tolerate replica lag; everything else, Spring Data's own read-only calls included,
+ * reads the primary. A replica that fails is taken out of rotation at once; the scheduled
+ * {@code SELECT 1} check puts it back when it answers again. Reads are counted in {@code db.reads} by route.
+ */
+public class ReadReplicaRouter implements HealthIndicator, AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaRouter.class);
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Predicate<String> routedTransactions;
+    private final int healthCheckTimeoutSeconds;
+    private final Counter primaryReads;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param routedTransactions tested against the current transaction name (null outside a transaction); only
+     *                           read-only connections of matching transactions go to a replica
+     */
+    public ReadReplicaRouter(Map<String, DataSource> replicas, Predicate<String> routedTransactions,
+                             Duration healthCheckTimeout, MeterRegistry registry) {
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource, reads(registry, name))));
+        this.routedTransactions = routedTransactions;
+        this.healthCheckTimeoutSeconds = (int) Math.max(1, healthCheckTimeout.toSeconds());
+        this.primaryReads = reads(registry, PRIMARY);
+    }
+
+    /**
+     * The DataSource for read-only connections, with {@code primary} as the fallback.
+     */
+    public DataSource readOnly(DataSource primary) {
+        return new Routed(primary);
+    }
+
+    /**
+     * Sends the current thread's read-only connections to the primary until {@link #unpin()}.
+     */
+    public void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public void unpin() {
+        PINNED.remove();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.health-check-interval:PT10S}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy = probe(replica);
+            if (healthy && !replica.healthy) {
+                log.info("Read replica {} is healthy again; back in rotation", replica.name);
+            } else if (!healthy && replica.healthy) {
+                log.warn("Read replica {} failed its health check; reads fall back", replica.name);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    @Override
+    public Health health() {
+        // Reads still work through the primary, so a replica being down does not make the application unhealthy.
+        Health.Builder builder = Health.up();
+        for (Replica replica : replicas) {
+            builder.withDetail(replica.name, replica.healthy ? "UP" : "DOWN");
+        }
+        return builder.build();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Connection connect(DataSource primary, Connector connector) throws SQLException {
+        if (PINNED.get() == null
+                && routedTransactions.test(TransactionSynchronizationManager.getCurrentTransactionName())) {
+            for (int attempt = 0; attempt < replicas.size(); attempt++) {
+                Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    Connection connection = connector.connect(replica.dataSource);
+                    replica.reads.increment();
+                    return connection;
+                } catch (SQLException ex) {
+                    replica.healthy = false;
+                    log.warn("Read replica {} refused a connection; reads fall back until it passes a health check."
+                            + " Cause: {}", replica.name, ex.getMessage());
+                }
+            }
+        }
+        primaryReads.increment();
+        return connector.connect(primary);
+    }
+
+    private boolean probe(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(healthCheckTimeoutSeconds);
+            statement.execute("SELECT 1");
+            return true;
+        } catch (SQLException ex) {
+            log.debug("Health check of read replica {} failed: {}", replica.name, ex.getMessage());
+            return false;
+        }
+    }
+
+    private static Counter reads(MeterRegistry registry, String route) {
+        return Counter.builder("db.reads")
+                .tag("route", route)
+                .description("Read-only connections handed out, by database")
+                .register(registry);
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter reads;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource, Counter reads) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.reads = reads;
+        }
+    }
+
+    private final class Routed extends AbstractDataSource {
+        private final DataSource primary;
+
+        private Routed(DataSource primary) {
+            this.primary = primary;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return connect(primary, DataSource::getConnection);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return connect(primary, dataSource -> dataSource.getConnection(username, password));
+        }
+    }
+}
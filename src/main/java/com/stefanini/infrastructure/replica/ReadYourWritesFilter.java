@@ -0,0 +1,85 @@
+package com.stefanini.infrastructure.replica;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Keeps a client that just wrote on the primary for {@code app.datasource.replicas.read-your-writes-window}, so it
+ * does not read its own change back from a replica that has not applied it yet. Runs in the servlet chain after
+ * Spring Security, so clients are keyed by token subject (or remote address when anonymous), like the rate limiter.
+ * Write requests are pinned themselves. The memory is per instance: behind a load balancer without stickiness a
+ * client's next request can still land on another instance and read from a replica.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final long MAX_CLIENTS = 100_000;
+
+    private final ReadReplicaRouter router;
+    private final Duration window;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(ReadReplicaRouter router, Duration window) {
+        this(router, window, Ticker.systemTicker());
+    }
+
+    // Convenience constructor for tests to control time
+    ReadYourWritesFilter(ReadReplicaRouter router, Duration window, Ticker ticker) {
+        this.router = router;
+        this.window = window;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(MAX_CLIENTS)
+                .ticker(ticker)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return window.isZero() || window.isNegative();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String client = clientKey(request);
+        // Recorded before the write runs, so a response that reaches the client first cannot outrun it.
+        if (isWrite(request)) {
+            recentWriters.put(client, Boolean.TRUE);
+        } else if (recentWriters.getIfPresent(client) == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        router.pinToPrimary();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            router.unpin();
+        }
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        return switch (request.getMethod()) {
+            case "GET", "HEAD", "OPTIONS" -> false;
+            default -> true;
+        };
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+            return "sub:" + auth.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
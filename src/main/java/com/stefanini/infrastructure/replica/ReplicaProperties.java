@@ -0,0 +1,127 @@
+package com.stefanini.infrastructure.replica;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.datasource.replicas")
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * JDBC URLs of the read replicas; each gets its own pool.
+     */
+    private List<String> urls = new ArrayList<>();
+
+    /**
+     * Defaults to spring.datasource.username / password.
+     */
+    private String username;
+
+    private String password;
+
+    private int maximumPoolSize = 10;
+
+    /**
+     * Short, so a replica that stopped answering costs one request this long before reads move to the primary.
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    private Duration healthCheckInterval = Duration.ofSeconds(10);
+
+    private Duration healthCheckTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Name prefixes of the read-only transactions sent to replicas; a {@code @Transactional} method's transaction is
+     * named {@code package.Class.method}. Other reads, such as the token revocation and API key lookups, must see
+     * the latest writes and stay on the primary.
+     */
+    private List<String> routedTransactions = new ArrayList<>(List.of("com.stefanini.application.TaskServiceImpl."));
+
+    /**
+     * How long after a write the same client's reads go to the primary; zero turns it off.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getUrls() {
+        return urls;
+    }
+
+    public void setUrls(List<String> urls) {
+        this.urls = urls;
+    }
+
+    public List<String> getRoutedTransactions() {
+        return routedTransactions;
+    }
+
+    public void setRoutedTransactions(List<String> routedTransactions) {
+        this.routedTransactions = routedTransactions;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+
+    public Duration getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public void setConnectionTimeout(Duration connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+    }
+
+    public Duration getHealthCheckInterval() {
+        return healthCheckInterval;
+    }
+
+    public void setHealthCheckInterval(Duration healthCheckInterval) {
+        this.healthCheckInterval = healthCheckInterval;
+    }
+
+    public Duration getHealthCheckTimeout() {
+        return healthCheckTimeout;
+    }
+
+    public void setHealthCheckTimeout(Duration healthCheckTimeout) {
+        this.healthCheckTimeout = healthCheckTimeout;
+    }
+
+    public Duration getReadYourWritesWindow() {
+        return readYourWritesWindow;
+    }
+
+    public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+}
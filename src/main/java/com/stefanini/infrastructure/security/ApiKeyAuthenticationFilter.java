@@ -0,0 +1,73 @@
+package com.stefanini.infrastructure.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Optional;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Authenticates machine clients by API key. A key only grants the task endpoints its scopes cover
+ * ({@code tasks:read} for safe methods, {@code tasks:write} otherwise); everything else, including managing
+ * keys, still requires a JWT login.
+ */
+@Component
+public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
+
+    private final ApiKeyService apiKeyService;
+    private final ApiKeyProperties props;
+
+    public ApiKeyAuthenticationFilter(ApiKeyService apiKeyService, ApiKeyProperties props) {
+        this.apiKeyService = apiKeyService;
+        this.props = props;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !props.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String rawKey = request.getHeader(props.getHeader());
+        if (!StringUtils.hasText(rawKey)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Optional<ApiKeyService.Principal> principal = apiKeyService.authenticate(rawKey.trim());
+        if (principal.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        String required = requiredScope(request);
+        if (required == null || principal.get().getAuthorities().stream()
+                .noneMatch(a -> a.getAuthority().equals("SCOPE_" + required))) {
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                principal.get().getOwner(), principal.get(), principal.get().getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+        filterChain.doFilter(request, response);
+    }
+
+    private static String requiredScope(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.equals("/api/tasks") && !path.startsWith("/api/tasks/")) {
+            return null;
+        }
+        return switch (request.getMethod()) {
+            case "GET", "HEAD", "OPTIONS" -> "tasks:read";
+            default -> "tasks:write";
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package com.stefanini.infrastructure.security;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.security.api-keys")
+public class ApiKeyProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Request header carrying the key.
+     */
+    private String header = "X-API-Key";
+
+    /**
+     * Server-side secret mixed into the key hash, so a leaked api_keys table cannot be checked offline.
+     */
+    private String pepper;
+
+    /**
+     * How often the in-memory key index is reloaded; also the delay before a key revoked on another
+     * instance stops working here.
+     */
+    private Duration refreshInterval = Duration.ofSeconds(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getHeader() {
+        return header;
+    }
+
+    public void setHeader(String header) {
+        this.header = header;
+    }
+
+    public String getPepper() {
+        return pepper;
+    }
+
+    public void setPepper(String pepper) {
+        this.pepper = pepper;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+}
@@ -0,0 +1,14 @@
+package com.stefanini.infrastructure.security;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface ApiKeyRepository extends JpaRepository<ApiKey, Long> {
+
+    @Query("select k from ApiKey k where k.revokedAt is null and (k.expiresAt is null or k.expiresAt > :now)")
+    List<ApiKey> findAllActive(LocalDateTime now);
+
+    List<ApiKey> findByOwnerOrderByCreatedAtDesc(String owner);
+}
@@ -0,0 +1,230 @@
+package com.stefanini.infrastructure.security;
+
+import jakarta.persistence.EntityNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Issues and checks API keys. Keys are stored as HMAC-SHA256 with a server-side pepper, which is safe for
+ * 256-bit random secrets and costs microseconds instead of a BCrypt round. Active keys are held in an in-memory
+ * index keyed by hash, so authenticating a request is one HMAC plus one map lookup; the index is reloaded
+ * from the store on a schedule.
+ */
+@Service
+public class ApiKeyService {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiKeyService.class);
+
+    public static final Set<String> SCOPES = Set.of("tasks:read", "tasks:write");
+
+    private static final String KEY_PREFIX = "sk_";
+    private static final int DISPLAY_PREFIX_LENGTH = 11;
+
+    private final ApiKeyRepository repository;
+    private final ApiKeyProperties props;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadLocal<Mac> mac;
+
+    private volatile Map<String, Principal> index = new ConcurrentHashMap<>();
+
+    // Local changes carried into the next rebuilds in case the reload query ran before they committed.
+    private final Map<String, Principal> recentlyCreated = new ConcurrentHashMap<>();
+    private final Map<String, LocalDateTime> recentlyRevoked = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ApiKeyService(ApiKeyRepository repository, ApiKeyProperties props) {
+        this(repository, props, Clock.systemUTC());
+    }
+
+    // Convenience constructor for tests to control time
+    ApiKeyService(ApiKeyRepository repository, ApiKeyProperties props, Clock clock) {
+        if (props.getPepper() == null || props.getPepper().isBlank()) {
+            throw new IllegalStateException("app.security.api-keys.pepper must be set");
+        }
+        this.repository = repository;
+        this.props = props;
+        this.clock = clock;
+        SecretKeySpec pepper = new SecretKeySpec(props.getPepper().getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance("HmacSHA256");
+                instance.init(pepper);
+                return instance;
+            } catch (GeneralSecurityException ex) {
+                throw new IllegalStateException("HmacSHA256 not available", ex);
+            }
+        });
+    }
+
+    /**
+     * Creates a key and returns it together with the raw secret, which is not stored and cannot be shown again.
+     *
+     * @throws IllegalArgumentException if a scope is unknown or none is given
+     */
+    @Transactional
+    public CreatedApiKey create(String owner, String name, Collection<String> scopes, LocalDateTime expiresAt) {
+        if (scopes == null || scopes.isEmpty() || !SCOPES.containsAll(scopes)) {
+            throw new IllegalArgumentException("Scopes must be a non-empty subset of " + SCOPES);
+        }
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String rawKey = KEY_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        String hash = hash(rawKey);
+
+        ApiKey saved = repository.save(new ApiKey(hash, rawKey.substring(0, DISPLAY_PREFIX_LENGTH), name, owner,
+                String.join(" ", scopes.stream().distinct().sorted().toList()), LocalDateTime.now(clock), expiresAt));
+        Principal principal = toPrincipal(saved);
+        recentlyCreated.put(hash, principal);
+        index.put(hash, principal);
+        log.info("API key created id={} owner={} scopes={}", saved.getId(), owner, saved.getScopes());
+        return new CreatedApiKey(saved, rawKey);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ApiKey> listFor(String owner) {
+        return repository.findByOwnerOrderByCreatedAtDesc(owner);
+    }
+
+    /**
+     * Revokes a key owned by {@code requester}, or any key when {@code admin}. Takes effect on this instance
+     * immediately and on others at their next index refresh.
+     *
+     * @throws EntityNotFoundException if the key does not exist or belongs to someone else
+     */
+    @Transactional
+    public void revoke(Long id, String requester, boolean admin) {
+        ApiKey key = repository.findById(id)
+                .filter(k -> admin || k.getOwner().equals(requester))
+                .orElseThrow(() -> new EntityNotFoundException("API key not found: " + id));
+        if (key.getRevokedAt() == null) {
+            key.setRevokedAt(LocalDateTime.now(clock));
+            repository.save(key);
+        }
+        recentlyCreated.remove(key.getKeyHash());
+        recentlyRevoked.put(key.getKeyHash(), LocalDateTime.now(clock));
+        index.remove(key.getKeyHash());
+        log.info("API key revoked id={} owner={} by={}", id, key.getOwner(), requester);
+    }
+
+    public Optional<Principal> authenticate(String rawKey) {
+        if (rawKey == null || !rawKey.startsWith(KEY_PREFIX)) {
+            return Optional.empty();
+        }
+        Principal principal = index.get(hash(rawKey));
+        if (principal == null
+                || (principal.getExpiresAt() != null && !principal.getExpiresAt().isAfter(LocalDateTime.now(clock)))) {
+            return Optional.empty();
+        }
+        return Optional.of(principal);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.api-keys.refresh-interval:PT30S}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Map<String, Principal> rebuilt = repository.findAllActive(now).stream()
+                .collect(Collectors.toConcurrentMap(ApiKey::getKeyHash, this::toPrincipal));
+
+        LocalDateTime horizon = now.minus(props.getRefreshInterval().multipliedBy(2));
+        recentlyRevoked.values().removeIf(revokedAt -> revokedAt.isBefore(horizon));
+        recentlyCreated.values().removeIf(p -> p.getCreatedAt().isBefore(horizon));
+        recentlyCreated.forEach(rebuilt::putIfAbsent);
+        recentlyRevoked.keySet().forEach(rebuilt::remove);
+        index = rebuilt;
+        log.debug("API key index reloaded keys={}", rebuilt.size());
+    }
+
+    String hash(String rawKey) {
+        return HexFormat.of().formatHex(mac.get().doFinal(rawKey.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Principal toPrincipal(ApiKey key) {
+        List<GrantedAuthority> authorities = Arrays.stream(key.getScopes().split(" "))
+                .filter(scope -> !scope.isBlank())
+                .<GrantedAuthority>map(scope -> new SimpleGrantedAuthority("SCOPE_" + scope))
+                .toList();
+        return new Principal(key.getId(), key.getOwner(), authorities, key.getCreatedAt(), key.getExpiresAt());
+    }
+
+    /**
+     * What an authenticated key resolves to; requests act as {@link #getOwner()} limited to the key's scopes.
+     */
+    public static class Principal {
+        private final Long keyId;
+        private final String owner;
+        private final List<GrantedAuthority> authorities;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime expiresAt;
+
+        public Principal(Long keyId, String owner, List<GrantedAuthority> authorities,
+                         LocalDateTime createdAt, LocalDateTime expiresAt) {
+            this.keyId = keyId;
+            this.owner = owner;
+            this.authorities = authorities;
+            this.createdAt = createdAt;
+            this.expiresAt = expiresAt;
+        }
+
+        public Long getKeyId() {
+            return keyId;
+        }
+
+        public String getOwner() {
+            return owner;
+        }
+
+        public List<GrantedAuthority> getAuthorities() {
+            return authorities;
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        public LocalDateTime getExpiresAt() {
+            return expiresAt;
+        }
+    }
+
+    public static class CreatedApiKey {
+        private final ApiKey key;
+        private final String rawKey;
+
+        public CreatedApiKey(ApiKey key, String rawKey) {
+            this.key = key;
+            this.rawKey = rawKey;
+        }
+
+        public ApiKey getKey() {
+            return key;
+        }
+
+        public String getRawKey() {
+            return rawKey;
+        }
+    }
+}
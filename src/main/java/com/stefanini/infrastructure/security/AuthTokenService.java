@@ -0,0 +1,82 @@
+package com.stefanini.infrastructure.security;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Issues the access/refresh token pair after a login or a refresh. A refresh only costs a hash lookup and a
+ * user-store read (for current authorities), never a password verification.
+ */
+@Service
+public class AuthTokenService {
+
+    private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
+    private final UserVersionService userVersionService;
+    private final UserDetailsService userDetailsService;
+
+    public AuthTokenService(JwtService jwtService, RefreshTokenService refreshTokenService,
+                            UserVersionService userVersionService, @Lazy UserDetailsService userDetailsService) {
+        this.jwtService = jwtService;
+        this.refreshTokenService = refreshTokenService;
+        this.userVersionService = userVersionService;
+        this.userDetailsService = userDetailsService;
+    }
+
+    public IssuedTokens issue(Authentication auth) {
+        String version = userVersionService.currentVersion(auth.getName());
+        String accessToken = jwtService.generateToken(auth.getName(), auth.getAuthorities(), version);
+        return new IssuedTokens(accessToken, refreshTokenService.issue(auth.getName()), jwtService.getExpirationMillis());
+    }
+
+    /**
+     * @throws InvalidRefreshTokenException if the refresh token cannot be used or the user is no longer active or
+     *                                      no longer exists
+     */
+    public IssuedTokens refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        // The rotation has already committed, so the new token must not outlive a user that is gone.
+        UserDetails user;
+        try {
+            user = userDetailsService.loadUserByUsername(rotation.getUsername());
+        } catch (UsernameNotFoundException ex) {
+            refreshTokenService.revokeAllForUser(rotation.getUsername());
+            throw new InvalidRefreshTokenException("User no longer exists");
+        }
+        if (!user.isEnabled() || !user.isAccountNonLocked()) {
+            refreshTokenService.revokeAllForUser(user.getUsername());
+            throw new InvalidRefreshTokenException("User is disabled or locked");
+        }
+        String accessToken = jwtService.generateToken(
+                user.getUsername(), user.getAuthorities(), UserVersionService.versionOf(user));
+        return new IssuedTokens(accessToken, rotation.getRefreshToken(), jwtService.getExpirationMillis());
+    }
+
+    public static class IssuedTokens {
+        private final String accessToken;
+        private final String refreshToken;
+        private final long expiresInMillis;
+
+        public IssuedTokens(String accessToken, String refreshToken, long expiresInMillis) {
+            this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+            this.expiresInMillis = expiresInMillis;
+        }
+
+        public String getAccessToken() {
+            return accessToken;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+
+        public long getExpiresInMillis() {
+            return expiresInMillis;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.stefanini.infrastructure.security;
+
+/**
+ * Refresh token is unknown, expired, revoked or was already used.
+ */
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,36 @@
+package com.stefanini.infrastructure.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.security.jwt.cache")
+public class JwtCacheProperties {
+
+    /**
+     * Cache already-verified tokens so repeat requests skip the HMAC check.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Hard cap on cached tokens. Each entry holds a 32-byte digest key plus the parsed claims (~0.5 KB),
+     * so the default bounds the cache to roughly 5 MB no matter how many distinct tokens are presented.
+     */
+    private long maxEntries = 10_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+}
@@ -1,76 +1,132 @@
 package com.stefanini.infrastructure.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import java.security.Key;
 import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 import java.nio.charset.StandardCharsets;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
 @Service
 public class JwtService {
 
-    private final String secret;
+    static final String AUTHORITIES_CLAIM = "auth";
+    static final String USER_VERSION_CLAIM = "uver";
+
     private final long expirationMillis;
     private final Clock clock;
+    private final Key signKey;
+    private final JwtParser parser;
 
+    @Autowired
     public JwtService(
             @Value("${app.security.jwt.secret}") String secret,
             @Value("${app.security.jwt.expiration}") long expirationMillis) {
-        this.secret = secret;
-        this.expirationMillis = expirationMillis;
-        this.clock = Clock.systemUTC();
+        this(secret, expirationMillis, Clock.systemUTC());
     }
 
     // Convenience constructor for tests to control time
     JwtService(String secret, long expirationMillis, Clock clock) {
-        this.secret = secret;
         this.expirationMillis = expirationMillis;
         this.clock = clock;
+        // Secret is provided in plain text; use its UTF-8 bytes directly as the HMAC key.
+        // Key and parser are immutable and thread-safe, so they are built once instead of per token.
+        this.signKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signKey)
+                .setClock(() -> new Date(clock.millis()))
+                .build();
     }
 
     public String generateToken(String username) {
+        return generateToken(username, List.of(), null);
+    }
+
+    /**
+     * Issues a token that embeds the user's authorities and version so requests can be authenticated
+     * from the claims alone.
+     */
+    public String generateToken(String username, Collection<? extends GrantedAuthority> authorities, String userVersion) {
         Date now = new Date(clock.millis());
         Date exp = new Date(now.getTime() + expirationMillis);
+        List<String> authorityNames = authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(username)
+                .claim(AUTHORITIES_CLAIM, authorityNames)
+                .claim(USER_VERSION_CLAIM, userVersion)
                 .setIssuedAt(now)
                 .setExpiration(exp)
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .signWith(signKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    public long getExpirationMillis() {
+        return expirationMillis;
+    }
+
+    /**
+     * Parses the token once, checking signature and expiry, and returns its claims.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     * @throws IllegalArgumentException if the token is empty
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (claims.getExpiration() == null) {
+            throw new MalformedJwtException("Token has no expiration");
+        }
+        return new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration()),
+                toAuthorities(claims.get(AUTHORITIES_CLAIM)),
+                claims.get(USER_VERSION_CLAIM, String.class));
+    }
+
     public boolean isValid(String token, String username) {
         try {
-            String subject = extractUsername(token);
-            return subject.equals(username) && !isExpired(token);
+            String subject = verify(token).getSubject();
+            return subject != null && subject.equals(username);
         } catch (Exception ex) {
             return false;
         }
     }
 
     public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
-    }
-
-    private boolean isExpired(String token) {
-        return extractAllClaims(token).getExpiration().before(new Date(clock.millis()));
+        return verify(token).getSubject();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static List<GrantedAuthority> toAuthorities(Object claim) {
+        if (!(claim instanceof Collection<?> names)) {
+            return List.of();
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>(names.size());
+        for (Object name : names) {
+            authorities.add(new SimpleGrantedAuthority(String.valueOf(name)));
+        }
+        return List.copyOf(authorities);
     }
 
-    private Key getSignKey() {
-        // Secret is provided in plain text; use its UTF-8 bytes directly as the HMAC key.
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
     }
 }
@@ -0,0 +1,20 @@
+package com.stefanini.infrastructure.security;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the password-verification queue is full; mapped to 429 with a Retry-After header.
+ */
+public class LoginCapacityExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public LoginCapacityExceededException(Duration retryAfter) {
+        super("Too many concurrent logins, retry later");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,80 @@
+package com.stefanini.infrastructure.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs password verification (BCrypt) on a small dedicated pool with a bounded queue, so a burst of logins
+ * cannot occupy the request threads serving the rest of the API. When the queue is full the login is
+ * rejected immediately with {@link LoginCapacityExceededException}.
+ * Metrics: {@code auth.login.queue.depth}, {@code auth.login.verification} (latency) and {@code auth.login.rejected}.
+ */
+@Component
+public class LoginExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginExecutor.class);
+
+    private final AuthenticationManager authenticationManager;
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+    private final Timer verificationTimer;
+    private final Counter rejectedCounter;
+
+    public LoginExecutor(AuthenticationManager authenticationManager, LoginProperties props, MeterRegistry meterRegistry) {
+        this.authenticationManager = authenticationManager;
+        this.retryAfter = props.getRetryAfter();
+        this.executor = new ThreadPoolExecutor(
+                props.getThreads(), props.getThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(props.getQueueCapacity()),
+                new CustomizableThreadFactory("login-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.login.queue.depth", executor, e -> e.getQueue().size())
+                .description("Logins waiting for a password-verification worker")
+                .register(meterRegistry);
+        this.verificationTimer = Timer.builder("auth.login.verification")
+                .description("Time spent verifying credentials")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.login.rejected")
+                .description("Logins rejected because the verification queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Schedules the authentication on the login pool.
+     *
+     * @throws LoginCapacityExceededException if the queue is full
+     */
+    public CompletableFuture<Authentication> authenticate(Authentication request) {
+        try {
+            return CompletableFuture.supplyAsync(
+                    () -> verificationTimer.record(() -> authenticationManager.authenticate(request)), executor);
+        } catch (RejectedExecutionException ex) {
+            rejectedCounter.increment();
+            log.warn("Login rejected, verification queue full (depth={})", executor.getQueue().size());
+            throw new LoginCapacityExceededException(retryAfter);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,49 @@
+package com.stefanini.infrastructure.security;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.security.login")
+public class LoginProperties {
+
+    /**
+     * Worker threads dedicated to password verification (BCrypt is CPU bound, so keep this near the core count).
+     */
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * Logins allowed to wait for a worker; beyond this the endpoint answers 429.
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * Value of the Retry-After header sent with 429 responses.
+     */
+    private Duration retryAfter = Duration.ofSeconds(2);
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+}
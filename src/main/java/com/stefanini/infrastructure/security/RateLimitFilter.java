@@ -0,0 +1,159 @@
+package com.stefanini.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Per-client rate limiting for /api. Runs after {@link JwtAuthenticationFilter}, so authenticated requests are
+ * keyed by the token subject and anonymous ones by remote address (server.forward-headers-strategy is native, so
+ * behind the load balancer that is the client from X-Forwarded-For). Login and refresh are always keyed by
+ * address, since the caller is not known yet.
+ * {@link #addressFilter()} runs ahead of the credential filters and limits every request by address, since
+ * requests whose token or API key fails verification are rejected before reaching this filter.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    enum RouteClass { READ, WRITE, LOGIN, ADDRESS }
+
+    private final RateLimitProperties props;
+    private final TokenBucketRateLimiter limiter;
+    private final Map<RouteClass, Counter> rejected = new EnumMap<>(RouteClass.class);
+    private final OncePerRequestFilter addressFilter = new AddressFilter();
+
+    @Autowired
+    public RateLimitFilter(RateLimitProperties props, MeterRegistry registry) {
+        this(props, registry, Ticker.systemTicker());
+    }
+
+    // Convenience constructor for tests to control time
+    RateLimitFilter(RateLimitProperties props, MeterRegistry registry, Ticker ticker) {
+        this.props = props;
+        this.limiter = new TokenBucketRateLimiter(ticker);
+        for (RouteClass routeClass : RouteClass.values()) {
+            rejected.put(routeClass, Counter.builder("http.ratelimit.rejected")
+                    .tag("class", routeClass.name().toLowerCase())
+                    .register(registry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !props.isEnabled() || !path(request).startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RouteClass routeClass = classify(request);
+        RateLimitProperties.Limit limit = switch (routeClass) {
+            case READ -> props.getRead();
+            case WRITE -> props.getWrite();
+            case LOGIN -> props.getLogin();
+            case ADDRESS -> props.getAddress();
+        };
+        if (acquire(routeClass, clientKey(request, routeClass), limit, response)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    /**
+     * The per-address limit, to be placed before the authentication filters. Not a bean, so it is never
+     * registered with the servlet container.
+     */
+    public OncePerRequestFilter addressFilter() {
+        return addressFilter;
+    }
+
+    private boolean acquire(RouteClass routeClass, String clientKey, RateLimitProperties.Limit limit,
+                            HttpServletResponse response) {
+        TokenBucketRateLimiter.Decision decision = limiter.tryAcquire(routeClass.name() + '|' + clientKey, limit);
+
+        response.setHeader("X-RateLimit-Limit", String.valueOf(decision.getLimit()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.getRemaining()));
+        response.setHeader("X-RateLimit-Reset", String.valueOf(toSeconds(decision.getResetNanos())));
+        if (!decision.isAllowed()) {
+            rejected.get(routeClass).increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(toSeconds(decision.getRetryAfterNanos())));
+            response.setStatus(429);
+            return false;
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.rate-limit.eviction-interval:PT1M}")
+    public void evictIdleBuckets() {
+        int evicted = limiter.evictIdle();
+        log.debug("Rate limit buckets evicted={} remaining={}", evicted, limiter.size());
+    }
+
+    int bucketCount() {
+        return limiter.size();
+    }
+
+    static RouteClass classify(HttpServletRequest request) {
+        String path = path(request);
+        if (path.equals("/api/auth/login") || path.equals("/api/auth/refresh")) {
+            return RouteClass.LOGIN;
+        }
+        return switch (request.getMethod()) {
+            case "GET", "HEAD", "OPTIONS" -> RouteClass.READ;
+            default -> RouteClass.WRITE;
+        };
+    }
+
+    private static String clientKey(HttpServletRequest request, RouteClass routeClass) {
+        if (routeClass != RouteClass.LOGIN) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+                return "sub:" + auth.getName();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.max(1, (nanos + 999_999_999) / 1_000_000_000);
+    }
+
+    // Headers set here are overwritten by the per-client check further down the chain.
+    private final class AddressFilter extends OncePerRequestFilter {
+
+        @Override
+        protected boolean shouldNotFilter(HttpServletRequest request) {
+            return RateLimitFilter.this.shouldNotFilter(request);
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            if (acquire(RouteClass.ADDRESS, "ip:" + request.getRemoteAddr(), props.getAddress(), response)) {
+                filterChain.doFilter(request, response);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.stefanini.infrastructure.security;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.security.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How often buckets that have refilled completely are dropped; a full bucket is indistinguishable from a new one.
+     */
+    private Duration evictionInterval = Duration.ofMinutes(1);
+
+    /**
+     * Every request under /api, keyed by client IP and checked before any credential is verified, so requests
+     * with forged or revoked tokens are limited too. Set above the per-subject limits.
+     */
+    @Valid
+    private Limit address = new Limit(200, 100);
+
+    /**
+     * GET, HEAD and OPTIONS requests under /api.
+     */
+    @Valid
+    private Limit read = new Limit(100, 50);
+
+    /**
+     * Every other method under /api.
+     */
+    @Valid
+    private Limit write = new Limit(20, 10);
+
+    /**
+     * /api/auth/login and /api/auth/refresh, always keyed by client IP.
+     */
+    @Valid
+    private Limit login = new Limit(5, 0.2);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getEvictionInterval() {
+        return evictionInterval;
+    }
+
+    public void setEvictionInterval(Duration evictionInterval) {
+        this.evictionInterval = evictionInterval;
+    }
+
+    public Limit getAddress() {
+        return address;
+    }
+
+    public void setAddress(Limit address) {
+        this.address = address;
+    }
+
+    public Limit getRead() {
+        return read;
+    }
+
+    public void setRead(Limit read) {
+        this.read = read;
+    }
+
+    public Limit getWrite() {
+        return write;
+    }
+
+    public void setWrite(Limit write) {
+        this.write = write;
+    }
+
+    public Limit getLogin() {
+        return login;
+    }
+
+    public void setLogin(Limit login) {
+        this.login = login;
+    }
+
+    public static class Limit {
+
+        /**
+         * Burst size: requests a client may send at once after being idle.
+         */
+        @Min(1)
+        private int capacity;
+
+        /**
+         * Sustained rate at which the bucket refills.
+         */
+        @Positive
+        private double refillPerSecond;
+
+        public Limit() {
+        }
+
+        public Limit(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        long emissionIntervalNanos() {
+            return (long) Math.ceil(1_000_000_000d / refillPerSecond);
+        }
+    }
+}
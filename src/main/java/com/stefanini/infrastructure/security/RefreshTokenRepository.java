@@ -0,0 +1,34 @@
+package com.stefanini.infrastructure.security;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Atomically consumes a token; returns 0 when it was already used or revoked (e.g. by a concurrent refresh).
+     */
+    @Modifying
+    @Query("""
+            update RefreshToken t set t.usedAt = :now
+            where t.id = :id and t.usedAt is null and t.revokedAt is null
+            """)
+    int markUsed(Long id, LocalDateTime now);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :now where t.familyId = :familyId and t.revokedAt is null")
+    int revokeFamily(String familyId, LocalDateTime now);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :now where t.username = :username and t.revokedAt is null")
+    int revokeAllForUser(String username, LocalDateTime now);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiresAt < :cutoff")
+    int deleteExpired(LocalDateTime cutoff);
+}
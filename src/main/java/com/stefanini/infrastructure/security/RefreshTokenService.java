@@ -0,0 +1,130 @@
+package com.stefanini.infrastructure.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Issues opaque refresh tokens and rotates them on every use. Validation is a SHA-256 hash plus an indexed
+ * lookup, so refreshing never pays the BCrypt cost of a login. Presenting a token that was already used
+ * revokes its whole family (the legitimate client and whoever copied the token both have to log in again).
+ */
+@Service
+@Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final RefreshTokenRepository repository;
+    private final Duration refreshExpiration;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    public RefreshTokenService(
+            RefreshTokenRepository repository,
+            @Value("${app.security.jwt.refresh-expiration}") Duration refreshExpiration) {
+        this(repository, refreshExpiration, Clock.systemUTC());
+    }
+
+    // Convenience constructor for tests to control time
+    RefreshTokenService(RefreshTokenRepository repository, Duration refreshExpiration, Clock clock) {
+        this.repository = repository;
+        this.refreshExpiration = refreshExpiration;
+        this.clock = clock;
+    }
+
+    /**
+     * Starts a new token family for a fresh login and returns the raw token (only ever seen by the client).
+     */
+    public String issue(String username) {
+        return issue(username, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Consumes the presented token and returns its username together with the replacement token.
+     *
+     * @throws InvalidRefreshTokenException if the token is unknown, expired, revoked or reused
+     */
+    public Rotation rotate(String rawToken) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        RefreshToken current = repository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Unknown refresh token"));
+
+        if (current.getRevokedAt() != null || !current.getExpiresAt().isAfter(now)) {
+            throw new InvalidRefreshTokenException("Refresh token expired or revoked");
+        }
+        if (current.getUsedAt() != null || repository.markUsed(current.getId(), now) == 0) {
+            int revoked = repository.revokeFamily(current.getFamilyId(), now);
+            log.warn("Refresh token reuse detected user={} family={}; revoked {} tokens",
+                    current.getUsername(), current.getFamilyId(), revoked);
+            throw new InvalidRefreshTokenException("Refresh token already used");
+        }
+
+        String replacement = issue(current.getUsername(), current.getFamilyId());
+        return new Rotation(current.getUsername(), replacement);
+    }
+
+    public int revokeAllForUser(String username) {
+        return repository.revokeAllForUser(username, LocalDateTime.now(clock));
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.jwt.refresh-cleanup-interval:PT1H}")
+    public void deleteExpired() {
+        int deleted = repository.deleteExpired(LocalDateTime.now(clock));
+        if (deleted > 0) {
+            log.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    private String issue(String username, String familyId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        repository.save(new RefreshToken(hash(rawToken), familyId, username, now, now.plus(refreshExpiration)));
+        return rawToken;
+    }
+
+    static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    public static class Rotation {
+        private final String username;
+        private final String refreshToken;
+
+        public Rotation(String username, String refreshToken) {
+            this.username = username;
+            this.refreshToken = refreshToken;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+    }
+}
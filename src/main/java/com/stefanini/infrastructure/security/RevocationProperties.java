@@ -0,0 +1,50 @@
+package com.stefanini.infrastructure.security;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.security.revocation")
+public class RevocationProperties {
+
+    /**
+     * Revocations the Bloom filter is sized for; it grows automatically on rebuild if the table gets larger.
+     */
+    private long expectedRevocations = 100_000;
+
+    /**
+     * Probability that a non-revoked token still triggers a store lookup.
+     */
+    private double falsePositiveRate = 0.001;
+
+    /**
+     * How often expired revocations are purged and the filter rebuilt from the table. This is also the
+     * longest delay before a revocation made on another instance takes effect here.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(1);
+
+    public long getExpectedRevocations() {
+        return expectedRevocations;
+    }
+
+    public void setExpectedRevocations(long expectedRevocations) {
+        this.expectedRevocations = expectedRevocations;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public void setFalsePositiveRate(double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+}
@@ -1,5 +1,6 @@
 package com.stefanini.infrastructure.security;
 
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -25,10 +26,15 @@ public class SecurityConfig {
 
     private final AppUserProperties userProps;
     private final JwtAuthenticationFilter jwtFilter;
+    private final ApiKeyAuthenticationFilter apiKeyFilter;
+    private final RateLimitFilter rateLimitFilter;
 
-    public SecurityConfig(AppUserProperties userProps, JwtAuthenticationFilter jwtFilter) {
+    public SecurityConfig(AppUserProperties userProps, JwtAuthenticationFilter jwtFilter,
+                          ApiKeyAuthenticationFilter apiKeyFilter, RateLimitFilter rateLimitFilter) {
         this.userProps = userProps;
         this.jwtFilter = jwtFilter;
+        this.apiKeyFilter = apiKeyFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     @Bean
@@ -40,6 +46,7 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(
                                 "/api/auth/login",
+                                "/api/auth/refresh",
                                 "/actuator/health/**",
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
@@ -47,10 +54,29 @@ public class SecurityConfig {
                         .permitAll()
                         .anyRequest().authenticated())
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(apiKeyFilter, JwtAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter.addressFilter(), ApiKeyAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
         return http.build();
     }
 
+    // Only run inside the security chain; as a container filter it would authenticate outside the security context.
+    @Bean
+    public FilterRegistrationBean<ApiKeyAuthenticationFilter> apiKeyFilterRegistration() {
+        FilterRegistrationBean<ApiKeyAuthenticationFilter> registration = new FilterRegistrationBean<>(apiKeyFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    // Keep the rate limiter out of the servlet container chain; it must run after authentication to see the subject.
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration() {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public UserDetailsService userDetailsService() {
         return new InMemoryUserDetailsManager(
@@ -0,0 +1,95 @@
+package com.stefanini.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token buckets in GCRA form: each bucket is a single {@link AtomicLong} holding the theoretical
+ * arrival time of the next request, so acquiring a token is one CAS and refill needs no background work.
+ */
+final class TokenBucketRateLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Ticker ticker;
+
+    TokenBucketRateLimiter(Ticker ticker) {
+        this.ticker = ticker;
+    }
+
+    Decision tryAcquire(String key, RateLimitProperties.Limit limit) {
+        long now = ticker.read();
+        long interval = limit.emissionIntervalNanos();
+        long burst = interval * limit.getCapacity();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long tat = bucket.get();
+            long next = Math.max(tat, now) + interval;
+            long wait = next - now - burst;
+            if (wait > 0) {
+                return new Decision(false, limit.getCapacity(), 0, tat - now, wait);
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                return new Decision(true, limit.getCapacity(), (burst - (next - now)) / interval, next - now, 0);
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled completely. A request racing with the removal may consume from the
+     * dropped bucket, which at worst grants the client one extra token.
+     */
+    int evictIdle() {
+        long now = ticker.read();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() <= now);
+        return before - buckets.size();
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    static final class Decision {
+
+        private final boolean allowed;
+        private final long limit;
+        private final long remaining;
+        private final long resetNanos;
+        private final long retryAfterNanos;
+
+        Decision(boolean allowed, long limit, long remaining, long resetNanos, long retryAfterNanos) {
+            this.allowed = allowed;
+            this.limit = limit;
+            this.remaining = remaining;
+            this.resetNanos = resetNanos;
+            this.retryAfterNanos = retryAfterNanos;
+        }
+
+        boolean isAllowed() {
+            return allowed;
+        }
+
+        long getLimit() {
+            return limit;
+        }
+
+        long getRemaining() {
+            return remaining;
+        }
+
+        /**
+         * Time until the bucket is full again.
+         */
+        long getResetNanos() {
+            return resetNanos;
+        }
+
+        long getRetryAfterNanos() {
+            return retryAfterNanos;
+        }
+    }
+}
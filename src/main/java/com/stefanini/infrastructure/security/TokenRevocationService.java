@@ -0,0 +1,163 @@
+package com.stefanini.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Revokes access tokens by {@code jti} or per user (everything issued before a timestamp). Revocations are
+ * persisted; the per-request check runs against an in-memory Bloom filter and only reaches the database when
+ * the filter reports a possible hit. Rows are purged once the revoked tokens would have expired, and the
+ * filter is rebuilt from the remaining rows, so it never accumulates stale entries.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final String JTI_KEY = "jti:";
+    private static final String USER_KEY = "user:";
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final UserTokenRevocationRepository userRevocationRepository;
+    private final RefreshTokenService refreshTokenService;
+    private final RevocationProperties props;
+    private final Duration accessTokenLifetime;
+    private final Clock clock;
+    private final LoadingCache<String, Optional<LocalDateTime>> userCutoffs;
+
+    // Keys revoked locally, carried into the next rebuilds in case the rebuild query ran before their commit.
+    private final Map<String, LocalDateTime> recentKeys = new ConcurrentHashMap<>();
+
+    // Null until the first load; until then every check goes to the store.
+    private volatile BloomFilter filter;
+
+    @Autowired
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  UserTokenRevocationRepository userRevocationRepository,
+                                  RefreshTokenService refreshTokenService,
+                                  RevocationProperties props,
+                                  JwtService jwtService) {
+        this(revokedTokenRepository, userRevocationRepository, refreshTokenService, props,
+                Duration.ofMillis(jwtService.getExpirationMillis()), Clock.systemUTC());
+    }
+
+    // Convenience constructor for tests to control time
+    TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                           UserTokenRevocationRepository userRevocationRepository,
+                           RefreshTokenService refreshTokenService,
+                           RevocationProperties props,
+                           Duration accessTokenLifetime,
+                           Clock clock) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.userRevocationRepository = userRevocationRepository;
+        this.refreshTokenService = refreshTokenService;
+        this.props = props;
+        this.accessTokenLifetime = accessTokenLifetime;
+        this.clock = clock;
+        // Users with a revocation would otherwise hit the store on every request until it ages out.
+        this.userCutoffs = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(props.getRefreshInterval())
+                .build(username -> userRevocationRepository.findById(username)
+                        .map(UserTokenRevocation::getRevokedBefore));
+    }
+
+    @Transactional
+    public void revokeToken(String jti, String username, Instant expiresAt) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime expiry = expiresAt != null
+                ? LocalDateTime.ofInstant(expiresAt, ZoneOffset.UTC)
+                : now.plus(accessTokenLifetime);
+        revokedTokenRepository.save(new RevokedToken(jti, username, now, expiry));
+        mark(JTI_KEY + jti);
+        log.info("Token revoked jti={} user={}", jti, username);
+    }
+
+    /**
+     * Revokes every access token of the user issued before {@code before}, and all of their refresh tokens. Tokens
+     * carry their issue time in whole seconds, so the cutoff is truncated to the second and tokens issued within
+     * that second stay valid; a login right after the revocation keeps working.
+     *
+     * @throws IllegalArgumentException if {@code before} is in the future, which would lock the user out
+     */
+    @Transactional
+    public void revokeAllIssuedBefore(String username, Instant before) {
+        if (before.isAfter(clock.instant())) {
+            throw new IllegalArgumentException("issuedBefore must not be in the future");
+        }
+        LocalDateTime cutoff = LocalDateTime.ofInstant(before.truncatedTo(ChronoUnit.SECONDS), ZoneOffset.UTC);
+        LocalDateTime expiry = cutoff.plus(accessTokenLifetime);
+        UserTokenRevocation revocation = userRevocationRepository.findById(username)
+                .orElseGet(() -> new UserTokenRevocation(username, cutoff, expiry));
+        if (revocation.getRevokedBefore().isBefore(cutoff)) {
+            revocation.setRevokedBefore(cutoff);
+            revocation.setExpiresAt(expiry);
+        }
+        userRevocationRepository.save(revocation);
+        refreshTokenService.revokeAllForUser(username);
+        userCutoffs.invalidate(username);
+        mark(USER_KEY + username);
+        log.info("All tokens revoked user={} issuedBefore={}", username, cutoff);
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        BloomFilter current = filter;
+        String jti = token.getId();
+        if (jti != null && (current == null || current.mightContain(JTI_KEY + jti))
+                && revokedTokenRepository.existsById(jti)) {
+            return true;
+        }
+        String username = token.getSubject();
+        if (username == null || token.getIssuedAt() == null
+                || (current != null && !current.mightContain(USER_KEY + username))) {
+            return false;
+        }
+        LocalDateTime issuedAt = LocalDateTime.ofInstant(token.getIssuedAt(), ZoneOffset.UTC);
+        return userCutoffs.get(username)
+                .map(issuedAt::isBefore)
+                .orElse(false);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.revocation.refresh-interval:PT1M}")
+    @Transactional
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        int purged = revokedTokenRepository.deleteExpired(now) + userRevocationRepository.deleteExpired(now);
+
+        List<String> jtis = revokedTokenRepository.findAllJtis();
+        List<String> usernames = userRevocationRepository.findAllUsernames();
+        long entries = jtis.size() + usernames.size();
+        BloomFilter rebuilt = BloomFilter.create(Math.max(props.getExpectedRevocations(), entries * 2),
+                props.getFalsePositiveRate());
+        jtis.forEach(jti -> rebuilt.put(JTI_KEY + jti));
+        usernames.forEach(username -> rebuilt.put(USER_KEY + username));
+        recentKeys.values().removeIf(markedAt -> markedAt.isBefore(now.minus(props.getRefreshInterval().multipliedBy(2))));
+        recentKeys.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+        log.debug("Revocation filter rebuilt entries={} purged={}", entries, purged);
+    }
+
+    private void mark(String key) {
+        recentKeys.put(key, LocalDateTime.now(clock));
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(key);
+        }
+    }
+}
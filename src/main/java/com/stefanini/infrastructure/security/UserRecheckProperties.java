@@ -0,0 +1,50 @@
+package com.stefanini.infrastructure.security;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.security.jwt.user-recheck")
+public class UserRecheckProperties {
+
+    /**
+     * Periodically compare the token's user version with the user store, so password, role or
+     * account-status changes invalidate outstanding tokens before they expire.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How long a user-store lookup is trusted before the next request for that user reloads it.
+     */
+    private Duration interval = Duration.ofMinutes(5);
+
+    /**
+     * Upper bound on users whose last lookup is remembered.
+     */
+    private long maxUsers = 10_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public long getMaxUsers() {
+        return maxUsers;
+    }
+
+    public void setMaxUsers(long maxUsers) {
+        this.maxUsers = maxUsers;
+    }
+}
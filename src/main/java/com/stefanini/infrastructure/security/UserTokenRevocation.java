@@ -0,0 +1,55 @@
+package com.stefanini.infrastructure.security;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Revokes every token of a user issued before {@code revokedBefore}. Kept until the last such token
+ * would have expired.
+ */
+@Entity
+@Table(name = "user_token_revocations")
+public class UserTokenRevocation {
+
+    @Id
+    @Column(length = 255)
+    private String username;
+
+    @Column(name = "revoked_before", nullable = false)
+    private LocalDateTime revokedBefore;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public UserTokenRevocation() {
+    }
+
+    public UserTokenRevocation(String username, LocalDateTime revokedBefore, LocalDateTime expiresAt) {
+        this.username = username;
+        this.revokedBefore = revokedBefore;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public LocalDateTime getRevokedBefore() {
+        return revokedBefore;
+    }
+
+    public void setRevokedBefore(LocalDateTime revokedBefore) {
+        this.revokedBefore = revokedBefore;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
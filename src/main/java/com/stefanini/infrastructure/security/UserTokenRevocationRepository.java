@@ -0,0 +1,17 @@
+package com.stefanini.infrastructure.security;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface UserTokenRevocationRepository extends JpaRepository<UserTokenRevocation, String> {
+
+    @Query("select r.username from UserTokenRevocation r")
+    List<String> findAllUsernames();
+
+    @Modifying
+    @Query("delete from UserTokenRevocation r where r.expiresAt < :cutoff")
+    int deleteExpired(LocalDateTime cutoff);
+}
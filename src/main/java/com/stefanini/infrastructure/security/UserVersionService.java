@@ -0,0 +1,88 @@
+package com.stefanini.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Derives a "user version" from the stored user record: a fingerprint of its password hash, authorities and
+ * account flags. It is embedded in tokens at login; when rechecking is enabled, each user's record is reloaded
+ * at most once per configured interval and tokens carrying an outdated version are rejected.
+ */
+@Service
+public class UserVersionService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserVersionService.class);
+
+    private final UserDetailsService userDetailsService;
+    private final boolean recheckEnabled;
+    private final LoadingCache<String, Optional<String>> currentVersions;
+
+    public UserVersionService(@Lazy UserDetailsService userDetailsService, UserRecheckProperties props) {
+        this.userDetailsService = userDetailsService;
+        this.recheckEnabled = props.isEnabled();
+        this.currentVersions = Caffeine.newBuilder()
+                .maximumSize(props.getMaxUsers())
+                .expireAfterWrite(props.getInterval())
+                .build(this::loadVersion);
+    }
+
+    /**
+     * Reads the user store and returns the current version for the given user.
+     */
+    public String currentVersion(String username) {
+        Optional<String> version = loadVersion(username);
+        currentVersions.put(username, version);
+        return version.orElse(null);
+    }
+
+    /**
+     * Returns true when rechecking is disabled, or when the version matches the user store as of the
+     * last lookup (made at most one interval ago).
+     */
+    public boolean isCurrent(String username, String version) {
+        if (!recheckEnabled) {
+            return true;
+        }
+        return version != null && version.equals(currentVersions.get(username).orElse(null));
+    }
+
+    public static String versionOf(UserDetails user) {
+        StringBuilder source = new StringBuilder()
+                .append(user.getUsername()).append('\0')
+                .append(user.getPassword() != null ? user.getPassword() : "").append('\0')
+                .append(user.isEnabled()).append(user.isAccountNonLocked())
+                .append(user.isAccountNonExpired()).append(user.isCredentialsNonExpired());
+        user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .forEach(authority -> source.append('\0').append(authority));
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(source.toString().getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private Optional<String> loadVersion(String username) {
+        try {
+            return Optional.of(versionOf(userDetailsService.loadUserByUsername(username)));
+        } catch (UsernameNotFoundException ex) {
+            log.warn("User {} no longer exists in the user store", username);
+            return Optional.empty();
+        }
+    }
+}
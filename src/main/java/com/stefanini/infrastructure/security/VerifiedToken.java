@@ -0,0 +1,63 @@
+package com.stefanini.infrastructure.security;
+
+import java.time.Instant;
+import java.util.List;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Claims of a JWT whose signature and expiry have already been checked by {@link JwtService#verify(String)}.
+ * Carries everything needed to build the request's Authentication without going back to the user store.
+ */
+public class VerifiedToken {
+
+    private final String id;
+    private final String subject;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+    private final List<GrantedAuthority> authorities;
+    private final String userVersion;
+
+    public VerifiedToken(String subject, Instant issuedAt, Instant expiresAt) {
+        this(null, subject, issuedAt, expiresAt, List.of(), null);
+    }
+
+    public VerifiedToken(String id, String subject, Instant issuedAt, Instant expiresAt,
+                         List<GrantedAuthority> authorities, String userVersion) {
+        this.id = id;
+        this.subject = subject;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+        this.authorities = authorities;
+        this.userVersion = userVersion;
+    }
+
+    /**
+     * The {@code jti} claim, used to revoke this specific token.
+     */
+    public String getId() {
+        return id;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    /**
+     * Fingerprint of the user record at login time, see {@link UserVersionService}.
+     */
+    public String getUserVersion() {
+        return userVersion;
+    }
+}
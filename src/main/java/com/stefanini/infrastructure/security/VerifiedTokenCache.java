@@ -0,0 +1,105 @@
+package com.stefanini.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of tokens that already passed {@link JwtService#verify(String)}, keyed by their SHA-256 digest
+ * so raw tokens are never held in memory. Each entry expires exactly when the token's {@code exp} passes.
+ * Metrics are published as {@code cache.gets}, {@code cache.evictions} and {@code cache.size} with tag
+ * {@code cache=jwt.tokens}.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    static final String CACHE_NAME = "jwt.tokens";
+
+    private final boolean enabled;
+    private final Clock clock;
+    private final Cache<String, VerifiedToken> cache;
+
+    @Autowired
+    public VerifiedTokenCache(JwtCacheProperties props, MeterRegistry meterRegistry) {
+        this(props, meterRegistry, Clock.systemUTC(), Ticker.systemTicker());
+    }
+
+    // Convenience constructor for tests to control time
+    VerifiedTokenCache(JwtCacheProperties props, MeterRegistry meterRegistry, Clock clock, Ticker ticker) {
+        this.enabled = props.isEnabled();
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(props.getMaxEntries())
+                .expireAfter(new UntilTokenExpiry())
+                .scheduler(Scheduler.systemScheduler())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the claims from this token's earlier verification, or null on a miss.
+     */
+    public VerifiedToken get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        VerifiedToken verified = cache.getIfPresent(digest(token));
+        if (verified == null || !verified.getExpiresAt().isAfter(clock.instant())) {
+            return null;
+        }
+        return verified;
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        if (!enabled || !verified.getExpiresAt().isAfter(clock.instant())) {
+            return;
+        }
+        cache.put(digest(token), verified);
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            return Math.max(0, Duration.between(clock.instant(), value.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+-- Optimistic locking counter, bumped by every write to a task; exposed to clients as the task's ETag.
+-- A BIGINT rather than ROWVERSION so JPA can manage it and set-based updates can bump it themselves.
+-- Adding a NOT NULL column with a constant default is a metadata-only change; existing rows read as 0.
+ALTER TABLE tasks ADD version BIGINT NOT NULL CONSTRAINT df_tasks_version DEFAULT 0;
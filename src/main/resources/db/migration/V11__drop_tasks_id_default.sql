@@ -0,0 +1,4 @@
+-- tasks_seq hands out blocks of 50 (Hibernate's pooled optimizer), so a DEFAULT (NEXT VALUE FOR tasks_seq)
+-- spends a whole block on every row inserted without an id. Ids are always assigned by the application
+-- (JPA, TaskBatchInserter, TaskBulkLoader); ad-hoc inserts reserve a range with sp_sequence_get_range.
+ALTER TABLE tasks DROP CONSTRAINT df_tasks_id;
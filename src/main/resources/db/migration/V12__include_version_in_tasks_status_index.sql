@@ -0,0 +1,4 @@
+-- V10 added version after V7 built the covering status index, so every task read through it needed a key lookup
+-- into the clustered index just for that column. Rebuild it in place with version among the included columns.
+CREATE INDEX idx_tasks_status_created_at_id ON tasks(status, created_at DESC, id DESC)
+  INCLUDE (title, description, version) WITH (DROP_EXISTING = ON);
@@ -0,0 +1,14 @@
+CREATE TABLE refresh_tokens (
+  id BIGINT IDENTITY(1,1) PRIMARY KEY,
+  token_hash VARCHAR(64) NOT NULL,
+  family_id VARCHAR(36) NOT NULL,
+  username VARCHAR(255) NOT NULL,
+  issued_at DATETIME2 NOT NULL,
+  expires_at DATETIME2 NOT NULL,
+  used_at DATETIME2 NULL,
+  revoked_at DATETIME2 NULL
+);
+CREATE UNIQUE INDEX ux_refresh_tokens_token_hash ON refresh_tokens(token_hash);
+CREATE INDEX idx_refresh_tokens_family_id ON refresh_tokens(family_id);
+CREATE INDEX idx_refresh_tokens_username ON refresh_tokens(username);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens(expires_at);
@@ -0,0 +1,14 @@
+CREATE TABLE revoked_tokens (
+  jti VARCHAR(36) NOT NULL PRIMARY KEY,
+  username VARCHAR(255) NOT NULL,
+  revoked_at DATETIME2 NOT NULL,
+  expires_at DATETIME2 NOT NULL
+);
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
+
+CREATE TABLE user_token_revocations (
+  username VARCHAR(255) NOT NULL PRIMARY KEY,
+  revoked_before DATETIME2 NOT NULL,
+  expires_at DATETIME2 NOT NULL
+);
+CREATE INDEX idx_user_token_revocations_expires_at ON user_token_revocations(expires_at);
@@ -0,0 +1,13 @@
+CREATE TABLE api_keys (
+  id BIGINT IDENTITY(1,1) PRIMARY KEY,
+  key_hash VARCHAR(64) NOT NULL,
+  key_prefix VARCHAR(12) NOT NULL,
+  name VARCHAR(100) NOT NULL,
+  owner VARCHAR(255) NOT NULL,
+  scopes VARCHAR(255) NOT NULL,
+  created_at DATETIME2 NOT NULL,
+  expires_at DATETIME2 NULL,
+  revoked_at DATETIME2 NULL,
+  CONSTRAINT uk_api_keys_key_hash UNIQUE (key_hash)
+);
+CREATE INDEX idx_api_keys_owner ON api_keys(owner);
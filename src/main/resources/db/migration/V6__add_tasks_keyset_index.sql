@@ -0,0 +1,4 @@
+-- Supports keyset pagination (ORDER BY created_at DESC, id DESC with a range seek on both columns).
+-- The single-column created_at index is a prefix of this one and becomes redundant.
+CREATE INDEX idx_tasks_created_at_id ON tasks(created_at DESC, id DESC);
+DROP INDEX idx_tasks_created_at ON tasks;
@@ -0,0 +1,4 @@
+-- Covers status-filtered searches: seek on status, rows already in created_at DESC, id DESC order,
+-- and every selected column available without key lookups. Replaces the single-column status index.
+CREATE INDEX idx_tasks_status_created_at_id ON tasks(status, created_at DESC, id DESC) INCLUDE (title, description);
+DROP INDEX idx_tasks_status ON tasks;
@@ -0,0 +1,27 @@
+-- Replace the IDENTITY column on tasks with a sequence so ids can be allocated ahead of the insert
+-- (Hibernate pooled optimizer, 50 ids per round trip) and inserts can be batched.
+-- IDENTITY cannot be dropped from a column, so rows move to an identical table without it via
+-- ALTER TABLE ... SWITCH, a metadata-only operation that keeps every existing id.
+
+-- Hibernate's pooled optimizer treats each value as the top of a block of 50, so start one block above MAX(id).
+DECLARE @start BIGINT = (SELECT ISNULL(MAX(id), 0) + 50 FROM tasks);
+EXEC ('CREATE SEQUENCE tasks_seq AS BIGINT START WITH ' + @start + ' INCREMENT BY 50 NO CYCLE CACHE 10');
+
+CREATE TABLE tasks_switch (
+  id BIGINT NOT NULL CONSTRAINT df_tasks_id DEFAULT (NEXT VALUE FOR tasks_seq),
+  title VARCHAR(255) NOT NULL,
+  description VARCHAR(1000),
+  status VARCHAR(20) NOT NULL,
+  created_at DATETIME2 NOT NULL CONSTRAINT df_tasks_created_at DEFAULT SYSDATETIME(),
+  CONSTRAINT pk_tasks_switch PRIMARY KEY CLUSTERED (id),
+  CONSTRAINT chk_tasks_switch_status CHECK (status IN ('PENDING','IN_PROGRESS','DONE'))
+);
+CREATE INDEX idx_tasks_created_at_id ON tasks_switch(created_at DESC, id DESC);
+CREATE INDEX idx_tasks_status_created_at_id ON tasks_switch(status, created_at DESC, id DESC) INCLUDE (title, description);
+
+ALTER TABLE tasks SWITCH TO tasks_switch;
+DROP TABLE tasks;
+
+EXEC sp_rename 'tasks_switch', 'tasks';
+EXEC sp_rename 'pk_tasks_switch', 'pk_tasks', 'OBJECT';
+EXEC sp_rename 'chk_tasks_switch_status', 'chk_tasks_status', 'OBJECT';
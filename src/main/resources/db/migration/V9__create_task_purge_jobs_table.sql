@@ -0,0 +1,19 @@
+-- Background bulk deletes of tasks by filter. Progress is stored after every chunk so a job can be
+-- cancelled, and picked up by another instance once the lease of a crashed one expires.
+CREATE TABLE task_purge_jobs (
+  id BIGINT IDENTITY(1,1) PRIMARY KEY,
+  state VARCHAR(20) NOT NULL,
+  filter_status VARCHAR(20) NULL,
+  filter_from DATETIME2 NULL,
+  filter_to DATETIME2 NULL,
+  deleted_count BIGINT NOT NULL DEFAULT 0,
+  requested_by VARCHAR(255) NOT NULL,
+  created_at DATETIME2 NOT NULL,
+  updated_at DATETIME2 NOT NULL,
+  finished_at DATETIME2 NULL,
+  lease_owner VARCHAR(36) NULL,
+  lease_until DATETIME2 NULL,
+  error VARCHAR(500) NULL,
+  CONSTRAINT chk_task_purge_jobs_state CHECK (state IN ('PENDING','RUNNING','COMPLETED','CANCELLED','FAILED'))
+);
+CREATE INDEX idx_task_purge_jobs_state ON task_purge_jobs(state, lease_until);
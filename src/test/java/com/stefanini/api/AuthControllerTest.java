@@ -1,28 +1,46 @@
 package com.stefanini.api;
 
-import com.stefanini.infrastructure.security.JwtService;
+import com.stefanini.infrastructure.security.AuthTokenService;
+import com.stefanini.infrastructure.security.InvalidRefreshTokenException;
+import com.stefanini.infrastructure.security.LoginCapacityExceededException;
+import com.stefanini.infrastructure.security.LoginExecutor;
+import com.stefanini.infrastructure.security.TokenRevocationService;
+import com.stefanini.infrastructure.security.VerifiedToken;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.web.server.ResponseStatusException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class AuthControllerTest {
 
     @Mock
-    private AuthenticationManager authenticationManager;
+    private LoginExecutor loginExecutor;
 
     @Mock
-    private JwtService jwtService;
+    private AuthTokenService authTokenService;
+
+    @Mock
+    private TokenRevocationService revocationService;
 
     @InjectMocks
     private AuthController controller;
@@ -33,14 +51,141 @@ class AuthControllerTest {
         req.setUsername("user");
         req.setPassword("pass");
 
-        Authentication auth = new UsernamePasswordAuthenticationToken("user", "pass");
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(auth);
-        when(jwtService.generateToken("user")).thenReturn("token123");
+        Authentication auth = new UsernamePasswordAuthenticationToken("user", "pass",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        when(loginExecutor.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenReturn(CompletableFuture.completedFuture(auth));
+        when(authTokenService.issue(auth)).thenReturn(new AuthTokenService.IssuedTokens("token123", "refresh123", 900_000));
 
-        ResponseEntity<AuthResponse> response = controller.login(req);
+        ResponseEntity<AuthResponse> response = controller.login(req).join();
 
         assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getToken()).isEqualTo("token123");
+        assertThat(response.getBody().getRefreshToken()).isEqualTo("refresh123");
+        assertThat(response.getBody().getExpiresIn()).isEqualTo(900);
+    }
+
+    @Test
+    void loginShouldPropagateCapacityRejection() {
+        LoginRequest req = new LoginRequest();
+        req.setUsername("user");
+        req.setPassword("pass");
+
+        when(loginExecutor.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new LoginCapacityExceededException(Duration.ofSeconds(2)));
+
+        assertThatThrownBy(() -> controller.login(req)).isInstanceOf(LoginCapacityExceededException.class);
+    }
+
+    @Test
+    void refreshShouldReturnRotatedTokens() {
+        RefreshRequest req = new RefreshRequest();
+        req.setRefreshToken("refresh123");
+        when(authTokenService.refresh("refresh123"))
+                .thenReturn(new AuthTokenService.IssuedTokens("token456", "refresh456", 900_000));
+
+        ResponseEntity<AuthResponse> response = controller.refresh(req);
+
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getToken()).isEqualTo("token456");
+        assertThat(response.getBody().getRefreshToken()).isEqualTo("refresh456");
+    }
+
+    @Test
+    void refreshShouldAnswer401ForInvalidToken() {
+        RefreshRequest req = new RefreshRequest();
+        req.setRefreshToken("reused");
+        when(authTokenService.refresh("reused")).thenThrow(new InvalidRefreshTokenException("Refresh token already used"));
+
+        assertThatThrownBy(() -> controller.refresh(req))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(ex -> ((ResponseStatusException) ex).getStatusCode().value())
+                .isEqualTo(401);
+    }
+
+    @Test
+    void logoutShouldRevokeCurrentToken() {
+        Instant exp = Instant.parse("2024-01-01T00:15:00Z");
+        Authentication auth = authenticated("user", "ROLE_USER", exp);
+
+        ResponseEntity<Void> response = controller.logout(auth);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(204);
+        verify(revocationService).revokeToken("jti-1", "user", exp);
+    }
+
+    @Test
+    void revokeShouldDefaultToCallerAndNow() {
+        Authentication auth = authenticated("user", "ROLE_USER", Instant.now());
+
+        controller.revoke(new RevokeRequest(), auth);
+
+        verify(revocationService).revokeAllIssuedBefore(eq("user"), any(Instant.class));
+    }
+
+    @Test
+    void revokeOfAnotherUserShouldRequireAdmin() {
+        RevokeRequest req = new RevokeRequest();
+        req.setUsername("other");
+
+        assertThatThrownBy(() -> controller.revoke(req, authenticated("user", "ROLE_USER", Instant.now())))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(ex -> ((ResponseStatusException) ex).getStatusCode().value())
+                .isEqualTo(403);
+        verifyNoInteractions(revocationService);
+
+        Instant before = Instant.parse("2024-01-01T00:00:00Z");
+        req.setIssuedBefore(before);
+        controller.revoke(req, authenticated("admin", "ROLE_ADMIN", Instant.now()));
+        verify(revocationService).revokeAllIssuedBefore("other", before);
+    }
+
+    @Test
+    void revokeOfForeignJtiShouldRequireAdmin() {
+        RevokeRequest req = new RevokeRequest();
+        req.setJti("someone-elses");
+
+        assertThatThrownBy(() -> controller.revoke(req, authenticated("user", "ROLE_USER", Instant.now())))
+                .isInstanceOf(ResponseStatusException.class);
+
+        assertThatThrownBy(() -> controller.revoke(req, authenticated("admin", "ROLE_ADMIN", Instant.now())))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(ex -> ((ResponseStatusException) ex).getStatusCode().value())
+                .isEqualTo(400);
+        verifyNoInteractions(revocationService);
+
+        req.setUsername("other");
+        controller.revoke(req, authenticated("admin", "ROLE_ADMIN", Instant.now()));
+        verify(revocationService).revokeToken("someone-elses", "other", null);
+    }
+
+    @Test
+    void revokeOfOwnJtiShouldRecordTokenSubject() {
+        RevokeRequest req = new RevokeRequest();
+        req.setJti("jti-1");
+
+        controller.revoke(req, authenticated("user", "ROLE_USER", Instant.now()));
+
+        verify(revocationService).revokeToken("jti-1", "user", null);
+    }
+
+    @Test
+    void revokeShouldRejectFutureCutoff() {
+        RevokeRequest req = new RevokeRequest();
+        req.setIssuedBefore(Instant.now().plusSeconds(3600));
+        doThrow(new IllegalArgumentException("issuedBefore must not be in the future"))
+                .when(revocationService).revokeAllIssuedBefore(eq("user"), any(Instant.class));
+
+        assertThatThrownBy(() -> controller.revoke(req, authenticated("user", "ROLE_USER", Instant.now())))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(ex -> ((ResponseStatusException) ex).getStatusCode().value())
+                .isEqualTo(400);
+    }
+
+    private Authentication authenticated(String username, String role, Instant expiresAt) {
+        VerifiedToken token = new VerifiedToken("jti-1", username, expiresAt.minusSeconds(900), expiresAt,
+                List.of(new SimpleGrantedAuthority(role)), "v1");
+        return new UsernamePasswordAuthenticationToken(username, token, token.getAuthorities());
     }
 }
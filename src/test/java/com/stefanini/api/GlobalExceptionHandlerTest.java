@@ -1,16 +1,20 @@
 package com.stefanini.api;
 
+import com.stefanini.infrastructure.security.LoginCapacityExceededException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Set;
 
@@ -18,6 +22,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
 
 class GlobalExceptionHandlerTest {
 
@@ -63,6 +69,16 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().getMessage()).contains("missing");
     }
 
+    @Test
+    void shouldHandleVersionMismatchAsPreconditionFailed() {
+        ResponseEntity<ApiError> response = handler.handleVersionMismatch(
+                new OptimisticLockingFailureException("Task 1 is at version 3, not 2"));
+
+        assertThat(response.getStatusCode()).isEqualTo(PRECONDITION_FAILED);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getMessage()).contains("version 3");
+    }
+
     @Test
     void shouldHandleResponseStatusException() {
         ResponseStatusException ex = new ResponseStatusException(BAD_REQUEST, "bad");
@@ -74,6 +90,16 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().getMessage()).contains("bad");
     }
 
+    @Test
+    void shouldHandleLoginCapacityWithRetryAfter() {
+        LoginCapacityExceededException ex = new LoginCapacityExceededException(Duration.ofSeconds(3));
+
+        ResponseEntity<ApiError> response = handler.handleLoginCapacity(ex);
+
+        assertThat(response.getStatusCode()).isEqualTo(TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+    }
+
     @Test
     void shouldHandleGeneric() {
         Exception ex = new RuntimeException("boom");
@@ -1,28 +1,72 @@
 package com.stefanini.api;
 
+import com.stefanini.application.CursorPage;
+import com.stefanini.application.TaskBatchResult;
+import com.stefanini.application.TaskBulkResult;
+import com.stefanini.application.TaskImportReader;
+import com.stefanini.application.TaskImportResult;
+import com.stefanini.application.TaskImportService;
+import com.stefanini.application.TaskJsonCache;
+import com.stefanini.application.TaskCursor;
+import com.stefanini.application.TaskProperties;
+import com.stefanini.application.TaskPurgeService;
 import com.stefanini.application.TaskService;
+import com.stefanini.application.TaskStatistics;
+import com.stefanini.application.TaskStats;
 import com.stefanini.domain.Task;
+import com.stefanini.domain.TaskPurgeJob;
 import com.stefanini.domain.TaskStatus;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,6 +76,24 @@ class TaskControllerTest {
     @Mock
     private TaskService taskService;
 
+    @Mock
+    private TaskPurgeService purgeService;
+
+    @Mock
+    private TaskImportService importService;
+
+    @Mock
+    private TaskStatistics statistics;
+
+    @Mock
+    private TaskJsonCache jsonCache;
+
+    @Spy
+    private TaskProperties taskProperties = new TaskProperties();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private TaskController controller;
 
@@ -63,27 +125,434 @@ class TaskControllerTest {
         assertThat(captor.getValue().getStatus()).isEqualTo(TaskStatus.DONE);
     }
 
+    @Test
+    void createBatchShouldReportEachItem() {
+        TaskRequest ok = new TaskRequest();
+        ok.setTitle("A");
+        TaskRequest blank = new TaskRequest();
+        blank.setTitle(" ");
+        TaskRequest badStatus = new TaskRequest();
+        badStatus.setTitle("C");
+        badStatus.setStatus("later");
+        TaskRequest lost = new TaskRequest();
+        lost.setTitle("D");
+
+        when(taskService.createBatch(any())).thenReturn(new TaskBatchResult(List.of(
+                TaskBatchResult.Item.created(new Task(10L, "A", null, now, TaskStatus.PENDING)),
+                TaskBatchResult.Item.failed("Insert failed"))));
+
+        TaskBatchResponse response = controller.createBatch(List.of(ok, blank, badStatus, lost));
+
+        assertThat(response.getRequested()).isEqualTo(4);
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(TaskBatchResponse.Item::getStatus)
+                .containsExactly("CREATED", "INVALID", "INVALID", "FAILED");
+        assertThat(response.getResults().get(0).getTask().getId()).isEqualTo(10L);
+        assertThat(response.getResults().get(1).getErrors()).anyMatch(e -> e.startsWith("title"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Task>> captor = ArgumentCaptor.forClass(List.class);
+        verify(taskService).createBatch(captor.capture());
+        assertThat(captor.getValue()).extracting(Task::getTitle).containsExactly("A", "D");
+    }
+
+    @Test
+    void createBatchShouldRejectOversizedBatch() {
+        taskProperties.getBatch().setMaxItems(1);
+        TaskRequest req = new TaskRequest();
+        req.setTitle("A");
+
+        assertThatThrownBy(() -> controller.createBatch(List.of(req, req)))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void updateStatusShouldUseIdsWhenGiven() {
+        TaskBulkStatusRequest request = new TaskBulkStatusRequest();
+        request.setIds(List.of(1L, 2L));
+        request.setStatus("done");
+        when(taskService.updateStatus(List.of(1L, 2L), TaskStatus.DONE)).thenReturn(
+                new TaskBulkResult(List.of(new Task(2L, "B", null, now, TaskStatus.DONE)), false));
+
+        TaskBulkStatusResponse response = controller.updateStatus(request);
+
+        assertThat(response.getStatus()).isEqualTo("DONE");
+        assertThat(response.getUpdated()).isEqualTo(1);
+        assertThat(response.getIds()).containsExactly(2L);
+    }
+
+    @Test
+    void updateStatusShouldParseFilter() {
+        TaskBulkStatusRequest.Filter filter = new TaskBulkStatusRequest.Filter();
+        filter.setStatus("in_progress");
+        filter.setTo("2024-01-31T00:00:00");
+        TaskBulkStatusRequest request = new TaskBulkStatusRequest();
+        request.setFilter(filter);
+        request.setStatus("DONE");
+        when(taskService.updateStatus(TaskStatus.IN_PROGRESS, null, LocalDateTime.of(2024, 1, 31, 0, 0), TaskStatus.DONE))
+                .thenReturn(new TaskBulkResult(List.of(), true));
+
+        assertThat(controller.updateStatus(request).isHasMore()).isTrue();
+    }
+
+    @Test
+    void updateStatusShouldRejectAmbiguousOrEmptySelection() {
+        TaskBulkStatusRequest both = new TaskBulkStatusRequest();
+        both.setIds(List.of(1L));
+        both.setFilter(new TaskBulkStatusRequest.Filter());
+        both.setStatus("DONE");
+        TaskBulkStatusRequest emptyFilter = new TaskBulkStatusRequest();
+        emptyFilter.setFilter(new TaskBulkStatusRequest.Filter());
+        emptyFilter.setStatus("DONE");
+
+        assertThatThrownBy(() -> controller.updateStatus(both)).isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> controller.updateStatus(emptyFilter)).isInstanceOf(ResponseStatusException.class);
+        verify(taskService, never()).updateStatus(any(), any());
+    }
+
+    @Test
+    void startPurgeShouldQueueJobForCaller() {
+        TaskPurgeRequest request = new TaskPurgeRequest();
+        request.setStatus("DONE");
+        request.setTo("2024-01-01T00:00:00");
+        TaskPurgeJob job = new TaskPurgeJob(TaskStatus.DONE, null, LocalDateTime.of(2024, 1, 1, 0, 0), "alice", now);
+        job.setId(7L);
+        when(purgeService.start(TaskStatus.DONE, null, LocalDateTime.of(2024, 1, 1, 0, 0), "alice")).thenReturn(job);
+
+        ResponseEntity<TaskPurgeJobResponse> response = controller.startPurge(request,
+                new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+
+        assertThat(response.getStatusCode().value()).isEqualTo(202);
+        assertThat(response.getBody().getId()).isEqualTo(7L);
+        assertThat(response.getBody().getState()).isEqualTo("PENDING");
+    }
+
+    @Test
+    void purgeJobLookupsShouldPassCallerAndAdminFlag() {
+        TaskPurgeJob job = new TaskPurgeJob(TaskStatus.DONE, null, null, "alice", now);
+        job.setId(7L);
+        when(purgeService.find(7L, "alice", false)).thenReturn(job);
+        when(purgeService.cancel(7L, "root", true)).thenReturn(job);
+
+        assertThat(controller.findPurge(7L, new UsernamePasswordAuthenticationToken("alice", null, List.of())).getId())
+                .isEqualTo(7L);
+        assertThat(controller.cancelPurge(7L, new UsernamePasswordAuthenticationToken("root", null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")))).getId()).isEqualTo(7L);
+    }
+
+    @Test
+    void startPurgeShouldRequireACriterion() {
+        assertThatThrownBy(() -> controller.startPurge(new TaskPurgeRequest(),
+                new UsernamePasswordAuthenticationToken("alice", null, List.of())))
+                .isInstanceOf(ResponseStatusException.class);
+        verify(purgeService, never()).start(any(), any(), any(), any());
+    }
+
+    @Test
+    void exportShouldStreamNdjsonLines() throws Exception {
+        stubExport(new Task(1L, "A", null, LocalDateTime.of(2024, 1, 1, 0, 0), TaskStatus.DONE),
+                new Task(2L, "B", "x", LocalDateTime.of(2024, 1, 2, 3, 4, 5), TaskStatus.PENDING));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.export("done", null, null, "ndjson", null, response);
+
+        assertThat(response.getContentType()).startsWith("application/x-ndjson");
+        assertThat(response.getContentAsString()).isEqualTo(
+                "{\"id\":1,\"title\":\"A\",\"description\":null,\"createdAt\":\"2024-01-01T00:00:00\",\"status\":\"DONE\"}\n"
+                        + "{\"id\":2,\"title\":\"B\",\"description\":\"x\",\"createdAt\":\"2024-01-02T03:04:05\",\"status\":\"PENDING\"}\n");
+        verify(taskService).export(eq(TaskStatus.DONE), eq(null), eq(null), any());
+    }
+
+    @Test
+    void exportShouldQuoteCsvAndGzipWhenAccepted() throws Exception {
+        stubExport(new Task(1L, "say \"hi\", world", "line1\nline2", LocalDateTime.of(2024, 1, 1, 0, 0), TaskStatus.DONE));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.export(null, null, null, "csv", "gzip, deflate", response);
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        String body = new String(new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))
+                .readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(body).isEqualTo("id,title,description,createdAt,status\r\n"
+                + "1,\"say \"\"hi\"\", world\",\"line1\nline2\",2024-01-01T00:00:00,DONE\r\n");
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "gzip;q=0|false",
+        "deflate, gzip; q=0.0|false",
+        "*|true",
+        "*;q=0.5|true",
+        "gzip;q=0, *|false",
+        "GZIP;Q=0.8, identity|true",
+        "identity, *;q=0|false",
+        "br|false",
+        "gzip;q=oops|false"
+    })
+    void exportShouldHonourAcceptEncodingWeights(String acceptEncoding, boolean gzip) throws Exception {
+        stubExport();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.export(null, null, null, "ndjson", acceptEncoding, response);
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo(gzip ? "gzip" : null);
+    }
+
+    @Test
+    void exportShouldRejectUnknownFormat() {
+        assertThatThrownBy(() -> controller.export(null, null, null, "xml", null, new MockHttpServletResponse()))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    // A second export while the only permit is streaming is refused before it touches the database.
+    @Test
+    void exportShouldRefuseMoreThanMaxConcurrent() throws Exception {
+        TaskProperties properties = new TaskProperties();
+        properties.getExport().setMaxConcurrent(1);
+        TaskController bounded = new TaskController(taskService, properties, validator, purgeService, importService,
+                statistics, jsonCache);
+        when(taskService.export(any(), any(), any(), any())).thenAnswer(inv -> {
+            assertThatThrownBy(() -> bounded.export(null, null, null, "ndjson", null, new MockHttpServletResponse()))
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+            return 0L;
+        });
+
+        bounded.export(null, null, null, "ndjson", null, new MockHttpServletResponse());
+        bounded.export(null, null, null, "csv", null, new MockHttpServletResponse());
+
+        verify(taskService, times(2)).export(any(), any(), any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubExport(Task... tasks) {
+        when(taskService.export(any(), any(), any(), any())).thenAnswer(inv -> {
+            Consumer<Task> action = inv.getArgument(3);
+            for (Task task : tasks) {
+                action.accept(task);
+            }
+            return (long) tasks.length;
+        });
+    }
+
+    @Test
+    void importShouldDecompressGzipBodyAndMapResult() throws Exception {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write("{\"title\":\"A\"}\n".getBytes(StandardCharsets.UTF_8));
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/tasks/import");
+        request.setContent(compressed.toByteArray());
+        when(importService.importTasks(any(), eq(TaskImportReader.Format.NDJSON))).thenAnswer(inv -> {
+            assertThat(new BufferedReader(inv.<Reader>getArgument(0)).readLine()).isEqualTo("{\"title\":\"A\"}");
+            return new TaskImportResult(2, 1, 1, List.of(new TaskImportResult.Rejection(2, List.of("title: blank"))));
+        });
+
+        TaskImportResponse response = controller.importTasks("ndjson", "gzip", request);
+
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(response.getRejections()).singleElement().extracting(TaskImportResponse.Rejection::getLine).isEqualTo(2L);
+    }
+
     @Test
     void findAllShouldParseFiltersAndMapContent() {
         Task t1 = new Task(1L, "A", "desc", now, TaskStatus.DONE);
         Page<Task> page = new PageImpl<>(List.of(t1));
         when(taskService.search(eq(TaskStatus.DONE), any(), any(), any(Pageable.class))).thenReturn(page);
 
-        Page<TaskResponse> result = controller.findAll("done", "2024-01-01T00:00", null, 0, 10);
+        TaskPageResponse result = controller.findAll(null, "done", "2024-01-01T00:00", null, 0, 10, "exact", web());
 
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getStatus()).isEqualTo("DONE");
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        assertThat(result.getTotalApproximate()).isFalse();
+    }
+
+    @Test
+    void findAllShouldNotCountByDefault() {
+        Task t1 = new Task(1L, "A", "desc", now, TaskStatus.DONE);
+        when(taskService.searchSlice(any(), any(), any(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(t1), PageRequest.of(0, 1), true));
+
+        TaskPageResponse result = controller.findAll(null, null, null, null, 0, 1, "none", web());
+
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getTotalElements()).isNull();
+        verify(taskService, never()).search(any(), any(), any(), any(Pageable.class));
+        verify(taskService, never()).estimateCount(any(), any(), any());
+    }
+
+    @Test
+    void findAllShouldLabelApproximateTotal() {
+        when(taskService.searchSlice(eq(TaskStatus.DONE), any(), any(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 10), false));
+        when(taskService.estimateCount(TaskStatus.DONE, null, null)).thenReturn(12_345L);
+
+        TaskPageResponse result = controller.findAll(null, "done", null, null, 0, 10, "approximate", web());
+
+        assertThat(result.getTotalElements()).isEqualTo(12_345L);
+        assertThat(result.getTotalApproximate()).isTrue();
+        verify(taskService, never()).search(any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void findAllWithQueryShouldSearchTextWithinFilters() {
+        Task t1 = new Task(1L, "Release notes", "desc", now, TaskStatus.DONE);
+        when(taskService.searchText(eq("release"), eq(TaskStatus.DONE), any(), any(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(t1), PageRequest.of(0, 10), 1));
+
+        TaskPageResponse result = controller.findAll("release", "done", null, null, 0, 10, "approximate", web());
+
+        assertThat(result.getContent()).extracting(TaskResponse::getId).containsExactly(1L);
+        assertThat(result.getTotalElements()).isEqualTo(1L);
+        assertThat(result.getTotalApproximate()).isFalse();
+        verify(taskService, never()).searchSlice(any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void findAllWithQueryShouldMapIndexErrors() {
+        when(taskService.searchText(eq("a*"), any(), any(), any(), any(Pageable.class)))
+                .thenThrow(new IllegalArgumentException("too short"));
+        when(taskService.searchText(eq("loading"), any(), any(), any(), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("Search index is still loading"));
+
+        assertThatThrownBy(() -> controller.findAll("a*", null, null, null, 0, 10, "none", web()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode().value()).isEqualTo(400));
+        assertThatThrownBy(() -> controller.findAll("loading", null, null, null, 0, 10, "none", web()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode().value()).isEqualTo(503));
+        assertThatThrownBy(() -> controller.findAllByCursor("x", null, null, null, "", 10, web()))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findByIdShouldWriteCachedJson() {
+        byte[] json = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        when(jsonCache.get(eq(1L), any(Function.class))).thenAnswer(inv -> {
+            Function<Task, Object> view = inv.getArgument(1);
+            assertThat(view.apply(new Task(1L, "A", null, now, TaskStatus.DONE)))
+                    .isInstanceOfSatisfying(TaskResponse.class, r -> assertThat(r.getStatus()).isEqualTo("DONE"));
+            return new TaskJsonCache.Entry(json, 4L);
+        });
+
+        ResponseEntity<byte[]> response = controller.findById(1L, web());
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"4\"");
+        assertThat(response.getBody()).isSameAs(json);
+        verify(jsonCache, never()).version(1L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findByIdShouldAnswerMatchingIfNoneMatchFromTheVersionAlone() {
+        when(jsonCache.version(1L)).thenReturn(4L);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"4\"");
+
+        ResponseEntity<byte[]> response = controller.findById(1L, web(request));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+        verify(jsonCache, never()).get(eq(1L), any(Function.class));
+    }
+
+    @Test
+    void pagesShouldCarryAWeakEtagThatChangesWithVersions() {
+        Task task = new Task(1L, "A", null, now, TaskStatus.DONE);
+        task.setVersion(1L);
+        when(taskService.searchSlice(any(), any(), any(), any(Pageable.class)))
+                .thenAnswer(inv -> new SliceImpl<>(List.of(task), inv.getArgument(3), false));
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        controller.findAll(null, null, null, null, 0, 10, "none",
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/tasks"), first));
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest revalidate = new MockHttpServletRequest("GET", "/api/tasks");
+        revalidate.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        TaskPageResponse unchanged = controller.findAll(null, null, null, null, 0, 10, "none",
+                new ServletWebRequest(revalidate, second));
+
+        task.setVersion(2L);
+        TaskPageResponse changed = controller.findAll(null, null, null, null, 0, 10, "none", web(revalidate));
+
+        assertThat(etag).startsWith("W/\"");
+        assertThat(unchanged).isNull();
+        assertThat(second.getStatus()).isEqualTo(304);
+        assertThat(changed.getContent()).extracting(TaskResponse::getVersion).containsExactly(2L);
+    }
+
+    @Test
+    void statsShouldMapSnapshotAndValidateWindow() {
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        byStatus.put(TaskStatus.PENDING, 2L);
+        byStatus.put(TaskStatus.DONE, 1L);
+        Map<LocalDate, Long> byDay = new LinkedHashMap<>();
+        byDay.put(LocalDate.of(2024, 1, 1), 0L);
+        byDay.put(LocalDate.of(2024, 1, 2), 3L);
+        when(statistics.snapshot(2)).thenReturn(new TaskStats(3, byStatus, byDay, now));
+
+        TaskStatsResponse result = controller.stats(2);
+
+        assertThat(result.getTotal()).isEqualTo(3);
+        assertThat(result.getByStatus()).containsEntry("PENDING", 2L).containsEntry("DONE", 1L);
+        assertThat(result.getByDay()).extracting(TaskStatsResponse.Day::getCount).containsExactly(0L, 3L);
+        assertThatThrownBy(() -> controller.stats(0)).isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> controller.stats(367)).isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void findAllShouldRejectUnknownCountMode() {
+        assertThatThrownBy(() -> controller.findAll(null, null, null, null, 0, 10, "sometimes", web()))
+                .isInstanceOf(ResponseStatusException.class);
     }
 
     @Test
     void findAllShouldRejectInvalidDate() {
-        assertThatThrownBy(() -> controller.findAll(null, "not-a-date", null, 0, 10))
+        assertThatThrownBy(() -> controller.findAll(null, null, "not-a-date", null, 0, 10, "none", web()))
                 .isInstanceOf(ResponseStatusException.class);
     }
 
     @Test
     void findAllShouldRejectInvalidStatus() {
-        assertThatThrownBy(() -> controller.findAll("bad", null, null, 0, 10))
+        assertThatThrownBy(() -> controller.findAll(null, "bad", null, null, 0, 10, "none", web()))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void findAllShouldRejectPageSizeAboveMaximum() {
+        assertThatThrownBy(() -> controller.findAll(null, null, null, null, 0, 101, "none", web()))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> controller.findAllByCursor(null, null, null, null, "", 0, web()))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void findAllByCursorShouldRoundTripOpaqueCursor() {
+        Task t1 = new Task(7L, "A", "desc", now, TaskStatus.DONE);
+        TaskCursor next = new TaskCursor(now, 7L);
+        when(taskService.searchAfter(null, null, null, null, 1)).thenReturn(new CursorPage<>(List.of(t1), next));
+
+        TaskCursorResponse first = controller.findAllByCursor(null, null, null, null, "", 1, web());
+
+        assertThat(first.getItems()).extracting(TaskResponse::getId).containsExactly(7L);
+        assertThat(first.getNext()).isEqualTo(next.encode());
+
+        ArgumentCaptor<TaskCursor> captor = ArgumentCaptor.forClass(TaskCursor.class);
+        when(taskService.searchAfter(any(), any(), any(), captor.capture(), eq(1))).thenReturn(new CursorPage<>(List.of(), null));
+        TaskCursorResponse last = controller.findAllByCursor(null, null, null, null, first.getNext(), 1, web());
+
+        assertThat(captor.getValue().getCreatedAt()).isEqualTo(now);
+        assertThat(captor.getValue().getId()).isEqualTo(7L);
+        assertThat(last.getNext()).isNull();
+    }
+
+    @Test
+    void findAllByCursorShouldRejectTamperedCursor() {
+        assertThatThrownBy(() -> controller.findAllByCursor(null, null, null, null, "not-a-cursor", 10, web()))
                 .isInstanceOf(ResponseStatusException.class);
     }
 
@@ -92,7 +561,7 @@ class TaskControllerTest {
         TaskPatchRequest req = new TaskPatchRequest();
         req.setStatus(" ");
 
-        assertThatThrownBy(() -> controller.patch(1L, req))
+        assertThatThrownBy(() -> controller.patch(1L, null, req))
                 .isInstanceOf(ResponseStatusException.class);
     }
 
@@ -100,20 +569,38 @@ class TaskControllerTest {
     void patchWithNullStatusAllowsPartialUpdate() {
         TaskPatchRequest req = new TaskPatchRequest();
         req.setTitle("New");
-        when(taskService.patch(eq(5L), any(Task.class)))
-                .thenReturn(new Task(5L, "New", null, now, TaskStatus.PENDING));
+        Task patched = new Task(5L, "New", null, now, TaskStatus.PENDING);
+        patched.setVersion(8L);
+        when(taskService.patch(eq(5L), any(Task.class), eq(7L))).thenReturn(patched);
 
-        TaskResponse resp = controller.patch(5L, req);
+        ResponseEntity<TaskResponse> resp = controller.patch(5L, "\"7\"", req);
 
-        assertThat(resp.getTitle()).isEqualTo("New");
-        verify(taskService).patch(eq(5L), any(Task.class));
+        assertThat(resp.getBody().getTitle()).isEqualTo("New");
+        assertThat(resp.getHeaders().getETag()).isEqualTo("\"8\"");
+        verify(taskService).patch(eq(5L), any(Task.class), eq(7L));
     }
 
     @Test
     void deleteShouldReturnNoContent() {
-        ResponseEntity<Void> resp = controller.delete(3L);
+        ResponseEntity<Void> resp = controller.delete(3L, null);
 
         assertThat(resp.getStatusCode().is2xxSuccessful()).isTrue();
-        verify(taskService).delete(3L);
+        verify(taskService).delete(3L, null);
+    }
+
+    @Test
+    void ifMatchThatCannotMatchShouldFailThePrecondition() {
+        assertThatThrownBy(() -> controller.delete(3L, "W/\"7\""))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED));
+        verify(taskService, never()).delete(eq(3L), any());
+    }
+
+    private static WebRequest web() {
+        return web(new MockHttpServletRequest());
+    }
+
+    private static WebRequest web(MockHttpServletRequest request) {
+        return new ServletWebRequest(request, new MockHttpServletResponse());
     }
 }
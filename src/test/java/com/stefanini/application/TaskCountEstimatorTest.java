@@ -0,0 +1,60 @@
+package com.stefanini.application;
+
+import com.stefanini.domain.TaskStatus;
+import com.stefanini.infrastructure.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskCountEstimatorTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private TaskCountEstimator estimator;
+
+    @BeforeEach
+    void setup() {
+        TaskProperties props = new TaskProperties();
+        props.getCountEstimate().setRefreshInterval(Duration.ofMinutes(5));
+        estimator = new TaskCountEstimator(taskRepository, props, new SimpleMeterRegistry(), nanos::get, Runnable::run);
+    }
+
+    @Test
+    void unfilteredTotalShouldComeFromMetadata() {
+        when(taskRepository.estimateTotalRows()).thenReturn(50_000_000L);
+
+        assertThat(estimator.estimate(null, null, null)).isEqualTo(50_000_000L);
+        verify(taskRepository, never()).countSearch(any(), any(), any());
+    }
+
+    @Test
+    void filteredTotalShouldBeCachedUntilRefreshInterval() {
+        when(taskRepository.countSearch(TaskStatus.DONE, null, null)).thenReturn(10L, 11L);
+
+        assertThat(estimator.estimate(TaskStatus.DONE, null, null)).isEqualTo(10L);
+        assertThat(estimator.estimate(TaskStatus.DONE, null, null)).isEqualTo(10L);
+        verify(taskRepository, times(1)).countSearch(TaskStatus.DONE, null, null);
+
+        // Past the interval a read triggers a recount (run inline here by the direct executor).
+        nanos.addAndGet(Duration.ofMinutes(6).toNanos());
+        estimator.estimate(TaskStatus.DONE, null, null);
+
+        assertThat(estimator.estimate(TaskStatus.DONE, null, null)).isEqualTo(11L);
+        verify(taskRepository, times(2)).countSearch(TaskStatus.DONE, null, null);
+    }
+}
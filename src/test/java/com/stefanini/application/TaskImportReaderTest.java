@@ -0,0 +1,120 @@
+package com.stefanini.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void ndjsonShouldKeepLineNumbersAndReportMalformedLines() throws IOException {
+        List<TaskImportReader.Row> rows = readAll(TaskImportReader.Format.NDJSON, """
+                {"title":"A","status":"DONE","createdAt":"2024-01-01T00:00:00","id":9}
+
+                {"title":
+                [1]
+                {"title":"B","description":null}
+                """);
+
+        assertThat(rows).extracting(TaskImportReader.Row::getLine).containsExactly(1L, 3L, 4L, 5L);
+        assertThat(rows.get(0).getTitle()).isEqualTo("A");
+        assertThat(rows.get(0).getStatus()).isEqualTo("DONE");
+        assertThat(rows.get(0).getCreatedAt()).isEqualTo("2024-01-01T00:00:00");
+        assertThat(rows.get(1).getError()).startsWith("Malformed JSON");
+        assertThat(rows.get(2).getError()).isEqualTo("Expected a JSON object");
+        assertThat(rows.get(3).getDescription()).isNull();
+    }
+
+    @Test
+    void csvShouldMatchHeaderNamesAndHandleQuotedLineBreaks() throws IOException {
+        List<TaskImportReader.Row> rows = readAll(TaskImportReader.Format.CSV,
+                "id,title,description,createdAt,status\r\n"
+                        + "1,\"say \"\"hi\"\", world\",\"line1\nline2\",2024-01-01T00:00:00,DONE\r\n"
+                        + "\r\n"
+                        + "2,B,,,\r\n");
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).getLine()).isEqualTo(2);
+        assertThat(rows.get(0).getTitle()).isEqualTo("say \"hi\", world");
+        assertThat(rows.get(0).getDescription()).isEqualTo("line1\nline2");
+        assertThat(rows.get(0).getStatus()).isEqualTo("DONE");
+        assertThat(rows.get(1).getLine()).isEqualTo(5);
+        assertThat(rows.get(1).getTitle()).isEqualTo("B");
+        assertThat(rows.get(1).getDescription()).isNull();
+    }
+
+    @Test
+    void csvWithoutTitleColumnShouldRejectRows() throws IOException {
+        List<TaskImportReader.Row> rows = readAll(TaskImportReader.Format.CSV, "name\nA\n");
+
+        assertThat(rows).singleElement().extracting(TaskImportReader.Row::getError)
+                .isEqualTo("CSV header has no title column");
+    }
+
+    @Test
+    void csvShouldRejectUnterminatedQuoteAndResumeAtNextLine() throws IOException {
+        List<TaskImportReader.Row> rows = readAll(TaskImportReader.Format.CSV,
+                "title,description\n"
+                        + "A,\"never closed " + "x".repeat(100) + "\n"
+                        + "B,second\n"
+                        + "C,third\n", 64);
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0).getLine()).isEqualTo(2);
+        assertThat(rows.get(0).getError()).isEqualTo("Record longer than 64 characters");
+        assertThat(rows.get(1).getTitle()).isEqualTo("B");
+        assertThat(rows.get(1).getLine()).isEqualTo(3);
+        assertThat(rows.get(2).getTitle()).isEqualTo("C");
+    }
+
+    @Test
+    void csvUnterminatedQuoteShouldSwallowAtMostOneRecordLength() throws IOException {
+        List<TaskImportReader.Row> rows = readAll(TaskImportReader.Format.CSV,
+                "title\n\"open\nB\nC\nD\nE\nF\n", 8);
+
+        assertThat(rows).extracting(TaskImportReader.Row::getError)
+                .containsExactly("Record longer than 8 characters", null, null, null);
+        assertThat(rows).extracting(TaskImportReader.Row::getTitle).containsExactly(null, "D", "E", "F");
+        assertThat(rows.get(1).getLine()).isEqualTo(5);
+    }
+
+    @Test
+    void ndjsonShouldRejectOverlongLineAndResumeAtNextLine() throws IOException {
+        List<TaskImportReader.Row> rows = readAll(TaskImportReader.Format.NDJSON,
+                "{\"title\":\"" + "x".repeat(100) + "\"}\r\n{\"title\":\"B\"}\r\n", 64);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).getError()).isEqualTo("Record longer than 64 characters");
+        assertThat(rows.get(1).getLine()).isEqualTo(2);
+        assertThat(rows.get(1).getTitle()).isEqualTo("B");
+    }
+
+    @Test
+    void formatShouldRejectUnknownValues() {
+        assertThat(TaskImportReader.Format.parse(" CSV ")).isEqualTo(TaskImportReader.Format.CSV);
+        assertThatThrownBy(() -> TaskImportReader.Format.parse("xml")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<TaskImportReader.Row> readAll(TaskImportReader.Format format, String input) throws IOException {
+        return readAll(format, input, 16_384);
+    }
+
+    private List<TaskImportReader.Row> readAll(TaskImportReader.Format format, String input, int maxRecordLength)
+            throws IOException {
+        TaskImportReader reader = TaskImportReader.of(format, new StringReader(input), objectMapper, maxRecordLength);
+        List<TaskImportReader.Row> rows = new ArrayList<>();
+        TaskImportReader.Row row;
+        while ((row = reader.next()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,100 @@
+package com.stefanini.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stefanini.domain.Task;
+import com.stefanini.domain.TaskStatus;
+import com.stefanini.infrastructure.TaskBulkLoader;
+import com.stefanini.infrastructure.messaging.TaskEventPublisher;
+import jakarta.validation.Validation;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskImportServiceTest {
+
+    @Mock
+    private TaskBulkLoader bulkLoader;
+
+    @Mock
+    private TaskEventPublisher taskEventPublisher;
+
+    @Mock
+    private TaskSearchIndex searchIndex;
+
+    @Mock
+    private TaskStatistics statistics;
+
+    private final TaskProperties taskProperties = new TaskProperties();
+    private TaskImportService service;
+    private final List<List<String>> loadedTitles = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        taskProperties.getImport().setBatchSize(2);
+        service = new TaskImportService(bulkLoader, taskEventPublisher, searchIndex, statistics, taskProperties,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper());
+    }
+
+    @Test
+    void shouldLoadValidRowsInBatchesAndReportRejectedLines() throws Exception {
+        when(bulkLoader.load(any())).thenAnswer(inv -> {
+            List<Task> batch = inv.getArgument(0);
+            loadedTitles.add(batch.stream().map(Task::getTitle).toList());
+            return batch;
+        });
+
+        TaskImportResult result = service.importTasks(new StringReader("""
+                {"title":"A"}
+                {"title":" "}
+                {"title":"B","status":"done","createdAt":"2024-01-01T00:00:00"}
+                {"title":"C","status":"later"}
+                {"title":"D"}
+                """), TaskImportReader.Format.NDJSON);
+
+        assertThat(result.getRead()).isEqualTo(5);
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getRejected()).isEqualTo(2);
+        assertThat(result.getRejections()).extracting(TaskImportResult.Rejection::getLine).containsExactly(2L, 4L);
+        assertThat(result.getRejections().get(1).getErrors()).containsExactly("status: Invalid status: later");
+        assertThat(loadedTitles).containsExactly(List.of("A", "B"), List.of("D"));
+        verify(taskEventPublisher, times(2)).tasksCreated(any());
+        verify(statistics, times(2)).created(any());
+    }
+
+    @Test
+    void failedBatchShouldRejectItsRowsAndContinue() throws Exception {
+        when(bulkLoader.load(any()))
+                .thenThrow(new IllegalStateException("constraint"))
+                .thenAnswer(inv -> inv.getArgument(0));
+
+        TaskImportResult result = service.importTasks(new StringReader("title\nA\nB\nC\n"), TaskImportReader.Format.CSV);
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getRejections()).extracting(TaskImportResult.Rejection::getLine).containsExactly(2L, 3L);
+        verify(taskEventPublisher).tasksCreated(argThat(tasks -> tasks.size() == 1
+                && tasks.get(0).getStatus() == TaskStatus.PENDING && tasks.get(0).getCreatedAt() != null));
+    }
+
+    @Test
+    void shouldCapReportedRejectionsButCountAll() throws Exception {
+        taskProperties.getImport().setMaxReportedRejections(1);
+
+        TaskImportResult result = service.importTasks(new StringReader("title\n\" \"\n\"  \"\n"), TaskImportReader.Format.CSV);
+
+        assertThat(result.getRejected()).isEqualTo(2);
+        assertThat(result.getRejections()).hasSize(1);
+    }
+}
@@ -0,0 +1,104 @@
+package com.stefanini.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.stefanini.domain.Task;
+import com.stefanini.domain.TaskStatus;
+import com.stefanini.infrastructure.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskJsonCacheTest {
+
+    private static final Function<Task, Object> VIEW = task -> Map.of("id", task.getId(), "title", task.getTitle());
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanos = new AtomicLong();
+    private TaskJsonCache cache;
+
+    @BeforeEach
+    void setup() {
+        TaskProperties props = new TaskProperties();
+        props.getJsonCache().setExpireAfterWrite(Duration.ofMinutes(1));
+        Ticker ticker = nanos::get;
+        cache = new TaskJsonCache(taskRepository, new ObjectMapper(), props, meterRegistry, ticker);
+    }
+
+    @Test
+    void hitShouldSkipTheRepositoryUntilInvalidated() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task("A")), Optional.of(task("B")));
+
+        byte[] first = cache.get(1L, VIEW).getJson();
+        byte[] second = cache.get(1L, VIEW).getJson();
+        cache.invalidate(1L);
+        byte[] third = cache.get(1L, VIEW).getJson();
+
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first, StandardCharsets.UTF_8)).contains("\"title\":\"A\"");
+        assertThat(new String(third, StandardCharsets.UTF_8)).contains("\"title\":\"B\"");
+        verify(taskRepository, times(2)).findById(1L);
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", TaskJsonCache.CACHE_NAME).gauge().value())
+                .isEqualTo(1.0 / 3);
+    }
+
+    @Test
+    void entriesShouldExpireAfterWrite() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task("A")));
+
+        cache.get(1L, VIEW);
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        cache.get(1L, VIEW);
+
+        verify(taskRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void versionShouldComeFromTheCacheOrASingleColumnLookup() {
+        Task task = task("A");
+        task.setVersion(6L);
+        when(taskRepository.findVersionById(1L)).thenReturn(Optional.of(5L));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        long beforeCaching = cache.version(1L);
+        cache.get(1L, VIEW);
+
+        assertThat(beforeCaching).isEqualTo(5L);
+        assertThat(cache.version(1L)).isEqualTo(6L);
+        verify(taskRepository, times(1)).findVersionById(1L);
+    }
+
+    @Test
+    void missingTasksShouldNotBeCached() {
+        when(taskRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> cache.get(9L, VIEW)).isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> cache.get(9L, VIEW)).isInstanceOf(EntityNotFoundException.class);
+
+        verify(taskRepository, times(2)).findById(9L);
+    }
+
+    private static Task task(String title) {
+        return new Task(1L, title, null, null, TaskStatus.PENDING);
+    }
+}
@@ -0,0 +1,158 @@
+package com.stefanini.application;
+
+import com.stefanini.domain.Task;
+import com.stefanini.domain.TaskPurgeJob;
+import com.stefanini.domain.TaskStatus;
+import com.stefanini.infrastructure.TaskBulkUpdater;
+import com.stefanini.infrastructure.TaskPurgeJobRepository;
+import com.stefanini.infrastructure.messaging.TaskEventPublisher;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskPurgeServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @Mock
+    private TaskPurgeJobRepository jobRepository;
+
+    @Mock
+    private TaskBulkUpdater bulkUpdater;
+
+    @Mock
+    private TaskEventPublisher taskEventPublisher;
+
+    @Mock
+    private TaskSearchIndex searchIndex;
+
+    @Mock
+    private TaskStatistics statistics;
+
+    @Mock
+    private TaskJsonCache jsonCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final TaskProperties taskProperties = new TaskProperties();
+    private TaskPurgeService service;
+    private TaskPurgeJob job;
+
+    @BeforeEach
+    void setup() {
+        taskProperties.getPurge().setChunkSize(2);
+        service = new TaskPurgeService(jobRepository, bulkUpdater, taskEventPublisher, searchIndex, statistics, jsonCache, taskProperties,
+                transactionManager, Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+        job = new TaskPurgeJob(TaskStatus.DONE, null, null, "admin", NOW.minusMinutes(1));
+        job.setId(1L);
+    }
+
+    @Test
+    void runPendingShouldDeleteInChunksUntilFilterIsExhausted() {
+        claimSucceeds();
+        Task a = task(1L);
+        Task b = task(2L);
+        Task c = task(3L);
+        when(bulkUpdater.delete(TaskStatus.DONE, null, null, 2)).thenReturn(List.of(a, b), List.of(c));
+
+        service.runPending();
+
+        assertThat(job.getState()).isEqualTo(TaskPurgeJob.State.COMPLETED);
+        assertThat(job.getDeletedCount()).isEqualTo(3);
+        assertThat(job.getFinishedAt()).isEqualTo(NOW);
+        assertThat(job.getLeaseOwner()).isNull();
+        verify(taskEventPublisher).tasksDeleted(List.of(a, b));
+        verify(taskEventPublisher).tasksDeleted(List.of(c));
+        verify(searchIndex).remove(List.of(a, b));
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void runShouldStopAfterCancel() {
+        claimSucceeds();
+        when(bulkUpdater.delete(TaskStatus.DONE, null, null, 2)).thenReturn(List.of(task(1L), task(2L)));
+        doAnswer(inv -> {
+            service.cancel(1L, "admin", false);
+            return null;
+        }).when(taskEventPublisher).tasksDeleted(any());
+
+        service.runPending();
+
+        assertThat(job.getState()).isEqualTo(TaskPurgeJob.State.CANCELLED);
+        assertThat(job.getDeletedCount()).isEqualTo(2);
+        verify(bulkUpdater, times(1)).delete(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void findAndCancelShouldHideJobsOfOtherUsers() {
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
+        when(jobRepository.lockById(1L)).thenReturn(Optional.of(job));
+
+        assertThatThrownBy(() -> service.find(1L, "mallory", false)).isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> service.cancel(1L, "mallory", false)).isInstanceOf(EntityNotFoundException.class);
+        assertThat(job.getState()).isEqualTo(TaskPurgeJob.State.PENDING);
+
+        assertThat(service.find(1L, "admin", false)).isSameAs(job);
+        assertThat(service.cancel(1L, "root", true).getState()).isEqualTo(TaskPurgeJob.State.CANCELLED);
+    }
+
+    @Test
+    void runPendingShouldSkipJobsClaimedElsewhere() {
+        when(jobRepository.findClaimable(any(), eq(NOW))).thenReturn(List.of(1L));
+        when(jobRepository.claim(eq(1L), any(), eq(TaskPurgeJob.State.RUNNING), any(), any(), eq(NOW))).thenReturn(0);
+
+        service.runPending();
+
+        verify(bulkUpdater, never()).delete(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void runShouldMarkJobFailedOnError() {
+        claimSucceeds();
+        when(bulkUpdater.delete(TaskStatus.DONE, null, null, 2)).thenThrow(new IllegalStateException("deadlock"));
+
+        service.runPending();
+
+        assertThat(job.getState()).isEqualTo(TaskPurgeJob.State.FAILED);
+        assertThat(job.getError()).isEqualTo("deadlock");
+        verify(taskEventPublisher, never()).tasksDeleted(any());
+    }
+
+    private void claimSucceeds() {
+        when(jobRepository.findClaimable(any(), eq(NOW))).thenReturn(List.of(1L));
+        when(jobRepository.claim(eq(1L), any(), eq(TaskPurgeJob.State.RUNNING), any(), eq(NOW.plusMinutes(2)), eq(NOW)))
+                .thenAnswer(inv -> {
+                    job.setState(TaskPurgeJob.State.RUNNING);
+                    job.setLeaseOwner(inv.getArgument(3));
+                    return 1;
+                });
+        when(jobRepository.lockById(1L)).thenReturn(Optional.of(job));
+    }
+
+    private static Task task(Long id) {
+        return new Task(id, "t" + id, null, NOW.minusDays(30), TaskStatus.DONE);
+    }
+}
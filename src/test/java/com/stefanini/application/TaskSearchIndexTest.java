@@ -0,0 +1,130 @@
+package com.stefanini.application;
+
+import com.stefanini.domain.Task;
+import com.stefanini.domain.TaskStatus;
+import com.stefanini.infrastructure.TaskExporter;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSearchIndexTest {
+
+    private static final List<Task> TASKS = List.of(
+            task(1L, "Release notes", "Write the release notes"),
+            task(2L, "Relatório mensal", null),
+            task(5L, "Deploy", "Release to production"),
+            task(9L, "Review", "Code review of the deploy script"));
+
+    @Mock
+    private TaskExporter exporter;
+
+    private final TaskProperties taskProperties = new TaskProperties();
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        taskProperties.getSearch().setRebuildThreads(3);
+        index = new TaskSearchIndex(exporter, taskProperties);
+    }
+
+    @Test
+    void shouldRefuseQueriesUntilBuilt() {
+        assertThatThrownBy(() -> index.match("release")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rebuildShouldScanRangesInParallelAndMatchAllTerms() {
+        build();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.match("release")).containsExactly(1L, 5L);
+        assertThat(index.match("RELEASE notes")).containsExactly(1L);
+        assertThat(index.match("deploy")).containsExactly(5L, 9L);
+        assertThat(index.match("missing")).isEmpty();
+    }
+
+    @Test
+    void trailingStarShouldMatchPrefixesAndFoldAccents() {
+        build();
+
+        assertThat(index.match("rel*")).containsExactly(1L, 2L, 5L);
+        assertThat(index.match("relatorio")).containsExactly(2L);
+        assertThat(index.match("re* deploy")).containsExactly(5L, 9L);
+        assertThatThrownBy(() -> index.match("r*")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.match("--")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void writesShouldUpdateTheIndexIncrementally() {
+        build();
+        Task deploy = task(5L, "Deploy", "Rollback plan");
+
+        index.replace("Deploy", "Release to production", deploy);
+        index.add(List.of(task(3L, "Release checklist", null)));
+        index.remove(List.of(TASKS.get(0)));
+
+        assertThat(index.match("release")).containsExactly(3L);
+        assertThat(index.match("rollback")).containsExactly(5L);
+        assertThat(index.match("production")).isEmpty();
+    }
+
+    @Test
+    void changesDuringTheScanShouldBeReplayedOntoTheNewIndex() {
+        when(exporter.idRange()).thenReturn(new long[] {1L, 9L});
+        when(exporter.streamRange(anyLong(), anyLong(), anyInt(), any()))
+                .thenAnswer(inv -> {
+                    // A task deleted and another created while the scan is running.
+                    index.remove(List.of(TASKS.get(3)));
+                    index.add(List.of(task(10L, "Review again", null)));
+                    long from = inv.getArgument(0);
+                    long to = inv.getArgument(1);
+                    Consumer<Task> action = inv.getArgument(3);
+                    TASKS.stream().filter(t -> t.getId() >= from && t.getId() < to).forEach(action);
+                    return 0L;
+                });
+
+        index.rebuild();
+
+        assertThat(index.match("review")).containsExactly(10L);
+    }
+
+    @Test
+    void intersectShouldKeepCommonIdsInOrder() {
+        long[] a = {1, 3, 5, 7, 9};
+        int size = TaskSearchIndex.intersect(a, a.length, new long[] {2, 3, 4, 9, 11}, 5);
+
+        assertThat(size).isEqualTo(2);
+        assertThat(a[0]).isEqualTo(3);
+        assertThat(a[1]).isEqualTo(9);
+    }
+
+    private void build() {
+        when(exporter.idRange()).thenReturn(new long[] {1L, 9L});
+        when(exporter.streamRange(anyLong(), anyLong(), eq(taskProperties.getSearch().getRebuildFetchSize()),
+                any())).thenAnswer(inv -> {
+                    long from = inv.getArgument(0);
+                    long to = inv.getArgument(1);
+                    Consumer<Task> action = inv.getArgument(3);
+                    TASKS.stream().filter(t -> t.getId() >= from && t.getId() < to).forEach(action);
+                    return 0L;
+                });
+        index.rebuild();
+    }
+
+    private static Task task(Long id, String title, String description) {
+        return new Task(id, title, description, null, TaskStatus.PENDING);
+    }
+}
@@ -2,9 +2,14 @@ package com.stefanini.application;
 
 import com.stefanini.domain.Task;
 import com.stefanini.domain.TaskStatus;
+import com.stefanini.infrastructure.TaskBatchInserter;
+import com.stefanini.infrastructure.TaskBulkUpdater;
 import com.stefanini.infrastructure.TaskRepository;
+import com.stefanini.infrastructure.TaskWriter;
 import com.stefanini.infrastructure.messaging.TaskEventPublisher;
 import jakarta.persistence.EntityNotFoundException;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,17 +17,25 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,9 +44,33 @@ class TaskServiceImplTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskWriter taskWriter;
+
     @Mock
     private TaskEventPublisher taskEventPublisher;
 
+    @Mock
+    private TaskBatchInserter batchInserter;
+
+    @Mock
+    private TaskBulkUpdater bulkUpdater;
+
+    @Mock
+    private TaskSearchIndex searchIndex;
+
+    @Mock
+    private TaskStatistics statistics;
+
+    @Mock
+    private TaskJsonCache jsonCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private TaskProperties taskProperties = new TaskProperties();
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
@@ -42,6 +79,7 @@ class TaskServiceImplTest {
     @BeforeEach
     void setup() {
         existing = new Task(1L, "Title", "Desc", null, TaskStatus.IN_PROGRESS);
+        existing.setVersion(3L);
     }
 
     @Test
@@ -90,38 +128,198 @@ class TaskServiceImplTest {
     }
 
     @Test
-    void shouldUpdateTask() {
-        when(taskRepository.findById(eq(1L))).thenReturn(Optional.of(existing));
-        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+    void searchTextShouldNarrowIndexMatchesWithFilters() {
+        when(searchIndex.match("rel*")).thenReturn(new long[] {1L, 7L});
+        when(taskRepository.search(eq(List.of(1L, 7L)), eq(TaskStatus.DONE), any(), any(), any()))
+                .thenReturn(new PageImpl<>(List.of(existing)));
+
+        Page<Task> result = taskService.searchText("rel*", TaskStatus.DONE, null, null, PageRequest.of(0, 10));
+
+        assertEquals(List.of(existing), result.getContent());
+    }
+
+    @Test
+    void searchTextShouldSkipTheDatabaseWithoutMatchesAndRejectBroadQueries() {
+        taskProperties.getSearch().setMaxCandidates(2);
+        when(searchIndex.match("none")).thenReturn(new long[0]);
+        when(searchIndex.match("a*")).thenReturn(new long[] {1L, 2L, 3L});
+
+        assertEquals(0, taskService.searchText("none", null, null, null, PageRequest.of(0, 10)).getTotalElements());
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.searchText("a*", null, null, null, PageRequest.of(0, 10)));
+        verify(taskRepository, times(0)).search(any(java.util.Collection.class), any(), any(), any(), any());
+    }
+
+    @Test
+    void searchAfterShouldFetchOneExtraRowToDetectNextPage() {
+        LocalDateTime t = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Task newer = new Task(3L, "C", null, t.plusMinutes(2), TaskStatus.PENDING);
+        Task middle = new Task(2L, "B", null, t.plusMinutes(1), TaskStatus.PENDING);
+        Task older = new Task(1L, "A", null, t, TaskStatus.PENDING);
+        when(taskRepository.searchFirst(null, null, null, PageRequest.of(0, 3)))
+                .thenReturn(List.of(newer, middle, older));
+
+        CursorPage<Task> page = taskService.searchAfter(null, null, null, null, 2);
+
+        assertEquals(List.of(newer, middle), page.getItems());
+        assertEquals(t.plusMinutes(1), page.getNext().getCreatedAt());
+        assertEquals(2L, page.getNext().getId());
+    }
+
+    @Test
+    void searchAfterShouldSeekFromCursorAndEndWithoutNext() {
+        LocalDateTime t = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Task older = new Task(1L, "A", null, t, TaskStatus.PENDING);
+        when(taskRepository.searchAfter(null, null, null, t.plusMinutes(1), 2L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(older));
+
+        CursorPage<Task> page = taskService.searchAfter(null, null, null, new TaskCursor(t.plusMinutes(1), 2L), 2);
+
+        assertEquals(List.of(older), page.getItems());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void createBatchShouldInsertAndPublishPerChunk() {
+        taskProperties.getBatch().setChunkSize(2);
+        when(batchInserter.insert(any())).thenAnswer(inv -> inv.getArgument(0))
+                .thenThrow(new IllegalStateException("deadlock"));
+        List<Task> tasks = List.of(new Task(null, "A", null, null, null), new Task(null, "B", null, null, null),
+                new Task(null, "C", null, null, null));
+
+        TaskBatchResult result = taskService.createBatch(tasks);
 
+        assertEquals(3, result.getItems().size());
+        assertEquals(2, result.getCreatedCount());
+        assertEquals(TaskStatus.PENDING, tasks.get(0).getStatus());
+        assertNotNull(tasks.get(0).getCreatedAt());
+        assertEquals("Insert failed", result.getItems().get(2).getError());
+        verify(taskEventPublisher).tasksCreated(List.of(tasks.get(0), tasks.get(1)));
+        verify(transactionManager, times(1)).commit(any());
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    void updateStatusByFilterShouldRunChunksUntilFilterIsExhausted() {
+        taskProperties.getBulk().setChunkSize(2);
+        Task a = new Task(1L, "A", null, null, TaskStatus.DONE);
+        Task b = new Task(2L, "B", null, null, TaskStatus.DONE);
+        Task c = new Task(3L, "C", null, null, TaskStatus.DONE);
+        when(bulkUpdater.updateStatus(TaskStatus.PENDING, null, null, TaskStatus.DONE, 2))
+                .thenReturn(changed(a, b), changed(c));
+
+        TaskBulkResult result = taskService.updateStatus(TaskStatus.PENDING, null, null, TaskStatus.DONE);
+
+        assertEquals(List.of(a, b, c), result.getUpdated());
+        assertFalse(result.isHasMore());
+        verify(taskEventPublisher).tasksPatched(List.of(a, b));
+        verify(taskEventPublisher).tasksPatched(List.of(c));
+        verify(statistics, times(3)).statusChanged(TaskStatus.PENDING, TaskStatus.DONE);
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void updateStatusByFilterShouldStopAtMaxRows() {
+        taskProperties.getBulk().setChunkSize(2);
+        taskProperties.getBulk().setMaxRows(3);
+        Task a = new Task(1L, "A", null, null, TaskStatus.DONE);
+        Task b = new Task(2L, "B", null, null, TaskStatus.DONE);
+        Task c = new Task(3L, "C", null, null, TaskStatus.DONE);
+        when(bulkUpdater.updateStatus(null, null, null, TaskStatus.DONE, 2)).thenReturn(changed(a, b));
+        when(bulkUpdater.updateStatus(null, null, null, TaskStatus.DONE, 1)).thenReturn(changed(c));
+
+        TaskBulkResult result = taskService.updateStatus(null, null, null, TaskStatus.DONE);
+
+        assertEquals(3, result.getUpdated().size());
+        assertTrue(result.isHasMore());
+    }
+
+    @Test
+    void updateStatusByIdsShouldUseOneTransactionAndPublishAfterCommit() {
+        taskProperties.getBulk().setChunkSize(2);
+        Task a = new Task(1L, "A", null, null, TaskStatus.DONE);
+        when(bulkUpdater.updateStatus(List.of(1L, 2L), TaskStatus.DONE)).thenReturn(changed(a));
+        when(bulkUpdater.updateStatus(List.of(3L), TaskStatus.DONE)).thenReturn(List.of());
+
+        TaskBulkResult result = taskService.updateStatus(List.of(1L, 2L, 2L, 3L), TaskStatus.DONE);
+
+        assertEquals(List.of(a), result.getUpdated());
+        verify(transactionManager, times(1)).commit(any());
+        verify(taskEventPublisher).tasksPatched(List.of(a));
+    }
+
+    @Test
+    void shouldUpdateTaskWithOneStatement() {
         Task input = new Task(null, "New", "NewDesc", null, TaskStatus.DONE);
-        Task result = taskService.update(1L, input);
+        Task after = new Task(1L, "New", "NewDesc", null, TaskStatus.DONE);
+        after.setVersion(4L);
+        when(taskWriter.update(1L, input, true, 3L)).thenReturn(Optional.of(new TaskWriter.Change(after, existing)));
+
+        Task result = taskService.update(1L, input, 3L);
 
         assertEquals("New", result.getTitle());
-        assertEquals(TaskStatus.DONE, result.getStatus());
-        verify(taskRepository).save(any(Task.class));
+        assertEquals(4L, result.getVersion());
+        verify(taskEventPublisher).taskUpdated(after);
+        verify(searchIndex).replace("Title", "Desc", result);
+        verify(statistics).statusChanged(TaskStatus.IN_PROGRESS, TaskStatus.DONE);
+        verify(jsonCache).invalidate(1L);
+        verifyNoInteractions(taskRepository);
     }
 
     @Test
     void shouldPatchOnlyProvidedFields() {
-        when(taskRepository.findById(eq(1L))).thenReturn(Optional.of(existing));
-        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
-
         Task patch = new Task();
         patch.setStatus(TaskStatus.DONE);
+        Task after = new Task(1L, "Title", "Desc", null, TaskStatus.DONE);
+        when(taskWriter.update(1L, patch, false, null)).thenReturn(Optional.of(new TaskWriter.Change(after, existing)));
 
-        Task result = taskService.patch(1L, patch);
+        Task result = taskService.patch(1L, patch, null);
 
         assertEquals(TaskStatus.DONE, result.getStatus());
         assertEquals("Title", result.getTitle());
+        verify(taskEventPublisher).taskPatched(after);
     }
 
     @Test
-    void shouldDeleteExisting() {
+    void emptyPatchShouldOnlyReadTheTask() {
         when(taskRepository.findById(eq(1L))).thenReturn(Optional.of(existing));
 
-        taskService.delete(1L);
+        assertEquals(existing, taskService.patch(1L, new Task(), null));
+
+        verifyNoInteractions(taskWriter, taskEventPublisher);
+    }
+
+    @Test
+    void shouldDeleteWithOneStatement() {
+        when(taskWriter.delete(1L, null)).thenReturn(Optional.of(existing));
+
+        taskService.delete(1L, null);
+
+        verify(taskEventPublisher).taskDeleted(existing);
+        verify(statistics).deleted(List.of(existing));
+        verify(jsonCache).invalidate(1L);
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void unmatchedWriteShouldTellAStaleVersionFromAMissingTask() {
+        Task patch = new Task();
+        patch.setTitle("New");
+        when(taskWriter.update(1L, patch, false, 2L)).thenReturn(Optional.empty());
+        when(taskWriter.delete(any(), any())).thenReturn(Optional.empty());
+        when(taskRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+        when(taskRepository.findVersionById(9L)).thenReturn(Optional.empty());
+
+        assertThrows(OptimisticLockingFailureException.class, () -> taskService.patch(1L, patch, 2L));
+        assertThrows(OptimisticLockingFailureException.class, () -> taskService.delete(1L, 2L));
+        assertThrows(EntityNotFoundException.class, () -> taskService.delete(9L, 2L));
+        assertThrows(EntityNotFoundException.class, () -> taskService.delete(9L, null));
+
+        verify(taskRepository, times(1)).findVersionById(9L); // the unconditional delete needs no second look
+        verifyNoInteractions(taskEventPublisher, jsonCache);
+    }
 
-        verify(taskRepository).delete(existing);
+    private static List<TaskBulkUpdater.StatusChange> changed(Task... tasks) {
+        return java.util.Arrays.stream(tasks).map(t -> new TaskBulkUpdater.StatusChange(t, TaskStatus.PENDING)).toList();
     }
 }
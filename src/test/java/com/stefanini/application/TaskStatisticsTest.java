@@ -0,0 +1,85 @@
+package com.stefanini.application;
+
+import com.stefanini.domain.Task;
+import com.stefanini.domain.TaskStatus;
+import com.stefanini.infrastructure.TaskRepository;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatisticsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 10, 12, 0);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private final TaskProperties taskProperties = new TaskProperties();
+    private TaskStatistics statistics;
+
+    @BeforeEach
+    void setup() {
+        taskProperties.getStats().setMaxDays(7);
+        statistics = new TaskStatistics(taskRepository, taskProperties,
+                Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    @Test
+    void reconcileShouldSeedCountersFromTheDatabase() {
+        when(taskRepository.countByStatus()).thenReturn(List.of(
+                new Object[] {"PENDING", 4L}, new Object[] {"DONE", 6L}));
+        when(taskRepository.countByDaySince(LocalDateTime.of(2024, 3, 4, 0, 0))).thenReturn(List.of(
+                new Object[] {"2024-03-09", 7L}, new Object[] {"2024-03-10", 3L}));
+
+        statistics.reconcile();
+        TaskStats stats = statistics.snapshot(3);
+
+        assertThat(stats.getTotal()).isEqualTo(10);
+        assertThat(stats.getByStatus()).containsEntry(TaskStatus.PENDING, 4L)
+                .containsEntry(TaskStatus.IN_PROGRESS, 0L).containsEntry(TaskStatus.DONE, 6L);
+        assertThat(stats.getByDay()).containsExactly(
+                entry(LocalDate.of(2024, 3, 8), 0L), entry(LocalDate.of(2024, 3, 9), 7L), entry(LocalDate.of(2024, 3, 10), 3L));
+        assertThat(stats.getReconciledAt()).isEqualTo(NOW);
+    }
+
+    @Test
+    void mutationsShouldAdjustCountersAndInvalidateTheSnapshot() {
+        Task a = task(1L, TaskStatus.PENDING, NOW);
+        Task b = task(2L, TaskStatus.PENDING, NOW.minusDays(1));
+        Task old = task(3L, TaskStatus.DONE, NOW.minusDays(30));
+
+        statistics.created(List.of(a, b, old));
+        TaskStats first = statistics.snapshot(2);
+        assertThat(statistics.snapshot(2)).isSameAs(first);
+
+        statistics.statusChanged(TaskStatus.PENDING, TaskStatus.DONE);
+        statistics.deleted(List.of(b));
+        TaskStats second = statistics.snapshot(2);
+
+        assertThat(first.getTotal()).isEqualTo(3);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getTotal()).isEqualTo(2);
+        assertThat(second.getByStatus()).containsEntry(TaskStatus.PENDING, 0L).containsEntry(TaskStatus.DONE, 2L);
+        assertThat(second.getByDay().values()).containsExactly(0L, 1L);
+    }
+
+    private static Map.Entry<LocalDate, Long> entry(LocalDate day, long count) {
+        return Map.entry(day, count);
+    }
+
+    private static Task task(Long id, TaskStatus status, LocalDateTime createdAt) {
+        return new Task(id, "T" + id, null, createdAt, status);
+    }
+}
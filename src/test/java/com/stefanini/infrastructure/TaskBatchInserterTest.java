@@ -0,0 +1,90 @@
+package com.stefanini.infrastructure;
+
+import com.stefanini.domain.Task;
+import com.stefanini.domain.TaskStatus;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBatchInserterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void statementShouldReserveIdsOnceAndBindFourParametersPerRow() {
+        String sql = TaskBatchInserter.statement(3);
+
+        assertThat(sql).contains("sp_sequence_get_range @sequence_name = N'tasks_seq', @range_size = ?")
+                .contains("DECLARE @base BIGINT = CAST(@first AS BIGINT) - 50 + 1")
+                .contains("SELECT @base + v.ord")
+                .contains("(?, ?, ?, ?, 0), (?, ?, ?, ?, 1), (?, ?, ?, ?, 2)")
+                .doesNotContain("NEXT VALUE FOR");
+        assertThat(sql.chars().filter(c -> c == '?').count()).isEqualTo(13);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldAssignReservedIdsInInputOrder() {
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class)))
+                .thenReturn(List.of(51L));
+        List<Task> tasks = IntStream.range(0, 3).mapToObj(i -> task("t" + i)).toList();
+
+        new TaskBatchInserter(jdbcTemplate).insert(tasks);
+
+        assertThat(tasks).extracting(Task::getId).containsExactly(51L, 52L, 53L);
+        assertThat(tasks).extracting(Task::getVersion).containsOnly(0L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldAskForOneBlockPerFiftyRows() throws Exception {
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class)))
+                .thenReturn(List.of(1L));
+        List<Task> tasks = IntStream.range(0, 51).mapToObj(i -> task("t" + i)).toList();
+
+        new TaskBatchInserter(jdbcTemplate).insert(tasks);
+
+        ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).query(creator.capture(), any(RowMapper.class));
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(any())).thenReturn(statement);
+        creator.getValue().createPreparedStatement(connection);
+        verify(statement).setInt(1, 2);
+    }
+
+    @Test
+    void shouldRejectMoreRowsThanOneStatementAllows() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i <= TaskBatchInserter.MAX_ROWS_PER_STATEMENT; i++) {
+            tasks.add(task("t" + i));
+        }
+
+        assertThatThrownBy(() -> new TaskBatchInserter(jdbcTemplate).insert(tasks))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Task task(String title) {
+        return new Task(null, title, null, LocalDateTime.of(2024, 1, 1, 0, 0), TaskStatus.PENDING);
+    }
+}
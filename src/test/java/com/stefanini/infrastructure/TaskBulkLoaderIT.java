@@ -0,0 +1,76 @@
+package com.stefanini.infrastructure;
+
+import com.stefanini.domain.Task;
+import com.stefanini.domain.TaskStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MSSQLServerContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk copies into a real SQL Server: ids come from the reserved sequence range without clashing with
+ * ids Hibernate hands out, and the status check constraint stays trusted.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(TaskBulkLoader.class)
+class TaskBulkLoaderIT {
+
+    @Container
+    static final MSSQLServerContainer<?> SQL_SERVER =
+            new MSSQLServerContainer<>("mcr.microsoft.com/mssql/server:2022-latest").acceptLicense();
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> SQL_SERVER.getJdbcUrl()
+                + ";sendStringParametersAsUnicode=false;disableStatementPooling=false;statementPoolingCacheSize=100");
+        registry.add("spring.datasource.username", SQL_SERVER::getUsername);
+        registry.add("spring.datasource.password", SQL_SERVER::getPassword);
+    }
+
+    @Autowired
+    private TaskBulkLoader loader;
+
+    @Autowired
+    private TaskRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void shouldLoadRowsWithContiguousReservedIds() {
+        Task viaHibernate = repository.save(new Task(null, "orm", null, null, null));
+        List<Task> tasks = IntStream.range(0, 120)
+                .mapToObj(i -> new Task(null, "bulk " + i, null, LocalDateTime.of(2024, 1, 1, 0, 0), TaskStatus.DONE))
+                .toList();
+
+        loader.load(tasks);
+
+        assertThat(tasks).extracting(Task::getId).doesNotContainNull().doesNotHaveDuplicates()
+                .doesNotContain(viaHibernate.getId());
+        assertThat(tasks.get(119).getId() - tasks.get(0).getId()).isEqualTo(119);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM tasks WHERE title LIKE 'bulk %'", Integer.class))
+                .isEqualTo(120);
+        assertThat(jdbc.queryForObject(
+                "SELECT is_not_trusted FROM sys.check_constraints WHERE name = 'chk_tasks_status'", Boolean.class))
+                .isFalse();
+        assertThat(repository.save(new Task(null, "orm 2", null, null, null)).getId())
+                .isNotIn(tasks.stream().map(Task::getId).toList());
+    }
+}
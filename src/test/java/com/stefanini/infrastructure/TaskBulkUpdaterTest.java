@@ -0,0 +1,91 @@
+package com.stefanini.infrastructure;
+
+import com.stefanini.domain.Task;
+import com.stefanini.domain.TaskStatus;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBulkUpdaterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void statementShouldContainOnlyActivePredicates() {
+        assertThat(TaskBulkUpdater.statement(false, false, false))
+                .startsWith("UPDATE TOP (?) tasks SET status = ?, version = version + 1 OUTPUT INSERTED.id")
+                .endsWith("WHERE status <> ?");
+        assertThat(TaskBulkUpdater.statement(true, false, true))
+                .endsWith("WHERE status <> ? AND status = ? AND created_at <= ?")
+                .doesNotContain("created_at >=");
+    }
+
+    @Test
+    void taskRowShouldCarryVersion() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(7L);
+        when(rs.getString("title")).thenReturn("t");
+        when(rs.getString("description")).thenReturn(null);
+        when(rs.getTimestamp("created_at")).thenReturn(Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0)));
+        when(rs.getString("status")).thenReturn("DONE");
+        when(rs.getLong("version")).thenReturn(3L);
+
+        Task task = TaskBulkUpdater.TASK_ROW.mapRow(rs, 0);
+
+        assertThat(task.getId()).isEqualTo(7L);
+        assertThat(task.getVersion()).isEqualTo(3L);
+        assertThat(TaskBulkUpdater.UPDATE_BY_IDS).contains("INSERTED.version");
+    }
+
+    @Test
+    void deleteShouldBindLimitThenFilter() {
+        LocalDateTime to = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        new TaskBulkUpdater(jdbcTemplate).delete(TaskStatus.DONE, null, to, 1000);
+
+        verify(jdbcTemplate).query(eq("DELETE TOP (?) FROM tasks OUTPUT DELETED.id, DELETED.title, DELETED.description,"
+                        + " DELETED.status, DELETED.created_at, DELETED.version WHERE 1 = 1 AND status = ? AND created_at <= ?"),
+                any(RowMapper.class), eq(1000), eq("DONE"), eq(Timestamp.valueOf(to)));
+    }
+
+    @Test
+    void updateByIdsShouldSendIdsAsOneParameter() {
+        new TaskBulkUpdater(jdbcTemplate).updateStatus(List.of(3L, 1L, 2L), TaskStatus.DONE);
+
+        verify(jdbcTemplate).query(eq(TaskBulkUpdater.UPDATE_BY_IDS), any(RowMapper.class),
+                eq("DONE"), eq("3,1,2"), eq("DONE"));
+    }
+
+    @Test
+    void updateByIdsShouldSkipEmptyList() {
+        assertThat(new TaskBulkUpdater(jdbcTemplate).updateStatus(List.of(), TaskStatus.DONE)).isEmpty();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void updateByFilterShouldBindArgumentsInPredicateOrder() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        new TaskBulkUpdater(jdbcTemplate).updateStatus(TaskStatus.PENDING, from, null, TaskStatus.DONE, 500);
+
+        verify(jdbcTemplate).query(eq(TaskBulkUpdater.statement(true, true, false)), any(RowMapper.class),
+                eq(500), eq("DONE"), eq("DONE"), eq("PENDING"), eq(Timestamp.valueOf(from)));
+    }
+}
@@ -0,0 +1,147 @@
+package com.stefanini.infrastructure;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MSSQLServerContainer;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Insert throughput for 50 tasks per transaction, before and after moving {@code tasks.id} to a sequence.
+ * {@code identity} replays what Hibernate does for IDENTITY ids (one statement and key read per row, no
+ * batching) against a copy of the old table; {@code sequence} replays the pooled optimizer with JDBC batching
+ * (one {@code NEXT VALUE FOR} per 50 ids, then one batch). Needs Docker; run it explicitly with
+ * {@code mvn test -Dtest=TaskInsertBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskInsertBenchmark {
+
+    private static final int ROWS = 50;
+
+    private MSSQLServerContainer<?> container;
+    private Connection connection;
+    private PreparedStatement identityInsert;
+    private PreparedStatement sequenceInsert;
+    private PreparedStatement nextBlock;
+
+    @Setup
+    public void setup() throws Exception {
+        container = new MSSQLServerContainer<>("mcr.microsoft.com/mssql/server:2022-latest").acceptLicense();
+        container.start();
+        String url = container.getJdbcUrl()
+                + ";sendStringParametersAsUnicode=false;disableStatementPooling=false;statementPoolingCacheSize=100";
+        Flyway.configure().dataSource(url, container.getUsername(), container.getPassword()).load().migrate();
+
+        connection = DriverManager.getConnection(url, container.getUsername(), container.getPassword());
+        connection.setAutoCommit(false);
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("""
+                    CREATE TABLE tasks_identity (
+                      id BIGINT IDENTITY(1,1) PRIMARY KEY,
+                      title VARCHAR(255) NOT NULL,
+                      description VARCHAR(1000),
+                      status VARCHAR(20) NOT NULL,
+                      created_at DATETIME2 NOT NULL DEFAULT SYSDATETIME()
+                    )""");
+            ddl.execute("CREATE INDEX idx_tasks_identity_created_at_id ON tasks_identity(created_at DESC, id DESC)");
+            ddl.execute("CREATE INDEX idx_tasks_identity_status ON tasks_identity(status, created_at DESC, id DESC)"
+                    + " INCLUDE (title, description)");
+        }
+        connection.commit();
+
+        identityInsert = connection.prepareStatement(
+                "INSERT INTO tasks_identity (title, description, status, created_at) VALUES (?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS);
+        sequenceInsert = connection.prepareStatement(
+                "INSERT INTO tasks (id, title, description, status, created_at) VALUES (?, ?, ?, ?, ?)");
+        nextBlock = connection.prepareStatement("SELECT NEXT VALUE FOR tasks_seq");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (connection != null) {
+            connection.close();
+        }
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long identity() throws Exception {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long last = 0;
+        for (int i = 0; i < ROWS; i++) {
+            identityInsert.setString(1, "task " + i);
+            identityInsert.setString(2, null);
+            identityInsert.setString(3, "PENDING");
+            identityInsert.setTimestamp(4, now);
+            identityInsert.executeUpdate();
+            try (ResultSet keys = identityInsert.getGeneratedKeys()) {
+                keys.next();
+                last = keys.getLong(1);
+            }
+        }
+        connection.commit();
+        return last;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int[] sequence() throws Exception {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long hi;
+        try (ResultSet rs = nextBlock.executeQuery()) {
+            rs.next();
+            hi = rs.getLong(1);
+        }
+        for (int i = 0; i < ROWS; i++) {
+            sequenceInsert.setLong(1, hi - ROWS + 1 + i);
+            sequenceInsert.setString(2, "task " + i);
+            sequenceInsert.setString(3, null);
+            sequenceInsert.setString(4, "PENDING");
+            sequenceInsert.setTimestamp(5, now);
+            sequenceInsert.addBatch();
+        }
+        int[] counts = sequenceInsert.executeBatch();
+        connection.commit();
+        return counts;
+    }
+
+    @Test
+    void run() throws Exception {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required");
+        new Runner(new OptionsBuilder()
+                .include(TaskInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,175 @@
+package com.stefanini.infrastructure;
+
+import com.stefanini.domain.Task;
+import com.stefanini.domain.TaskStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MSSQLServerContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every search shape against a seeded SQL Server and inspects the cached execution plans: filtered
+ * shapes must seek an index, and no shape may scan the whole table or sort.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskSearchPlanIT {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 6, 1, 0, 0);
+
+    @Container
+    static final MSSQLServerContainer<?> SQL_SERVER =
+            new MSSQLServerContainer<>("mcr.microsoft.com/mssql/server:2022-latest").acceptLicense();
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> SQL_SERVER.getJdbcUrl()
+                + ";sendStringParametersAsUnicode=false;disableStatementPooling=false;statementPoolingCacheSize=100");
+        registry.add("spring.datasource.username", SQL_SERVER::getUsername);
+        registry.add("spring.datasource.password", SQL_SERVER::getPassword);
+    }
+
+    private static boolean seeded;
+
+    @Autowired
+    private TaskRepository repository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void seed() {
+        jdbc = new JdbcTemplate(dataSource);
+        if (seeded) {
+            return;
+        }
+        // 200k rows: 10% PENDING, 10% IN_PROGRESS, 80% DONE, one per second going back from BASE.
+        // Ids come from one reserved range of tasks_seq (4000 blocks of 50), as TaskBatchInserter does.
+        jdbc.execute("""
+                DECLARE @first SQL_VARIANT;
+                EXEC sp_sequence_get_range @sequence_name = N'tasks_seq', @range_size = 4000, @range_first_value = @first OUTPUT;
+                INSERT INTO tasks (id, title, description, status, created_at)
+                SELECT TOP (200000) CAST(@first AS BIGINT) - 50 + n, CONCAT('task ', n), NULL,
+                       CASE n % 10 WHEN 0 THEN 'PENDING' WHEN 1 THEN 'IN_PROGRESS' ELSE 'DONE' END,
+                       DATEADD(SECOND, -CAST(n AS INT), '2024-06-01')
+                FROM (SELECT ROW_NUMBER() OVER (ORDER BY (SELECT NULL)) AS n
+                      FROM sys.all_objects a CROSS JOIN sys.all_objects b) numbers
+                """);
+        jdbc.execute("UPDATE STATISTICS tasks WITH FULLSCAN");
+        seeded = true;
+    }
+
+    @Test
+    void statusShapesShouldSeekTheCoveringIndex() {
+        for (TaskStatus status : TaskStatus.values()) {
+            assertSeek(() -> repository.searchSlice(status, null, null, pageSortedByCreatedAt()),
+                    "idx_tasks_status_created_at_id");
+            assertSeek(() -> repository.searchFirst(status, null, null, PageRequest.of(0, 21)),
+                    "idx_tasks_status_created_at_id");
+            assertSeek(() -> repository.searchAfter(status, null, null, BASE.minusHours(10), 1_000L,
+                    PageRequest.of(0, 21)), "idx_tasks_status_created_at_id");
+            assertSeek(() -> repository.countSearch(status, null, null), "idx_tasks_status_created_at_id");
+        }
+        assertSeek(() -> repository.searchSlice(TaskStatus.PENDING, BASE.minusDays(1), BASE, pageSortedByCreatedAt()),
+                "idx_tasks_status_created_at_id");
+    }
+
+    @Test
+    void dateRangeShapesShouldSeekTheCreatedAtIndex() {
+        assertSeek(() -> repository.searchSlice(null, BASE.minusDays(1), null, pageSortedByCreatedAt()),
+                "idx_tasks_created_at_id");
+        assertSeek(() -> repository.searchSlice(null, null, BASE.minusDays(1), pageSortedByCreatedAt()),
+                "idx_tasks_created_at_id");
+        assertSeek(() -> repository.searchSlice(null, BASE.minusDays(1), BASE, pageSortedByCreatedAt()),
+                "idx_tasks_created_at_id");
+        assertSeek(() -> repository.countSearch(null, BASE.minusHours(1), BASE), "idx_tasks_created_at_id");
+    }
+
+    @Test
+    void statusShapesShouldNotLookUpTheClusteredIndex() {
+        assertThat(plansFor(() -> repository.searchSlice(TaskStatus.PENDING, null, null, pageSortedByCreatedAt())))
+                .isNotEmpty()
+                .allSatisfy(plan -> assertThat(plan).doesNotContain("PhysicalOp=\"Key Lookup\""));
+    }
+
+    @Test
+    void dailyCountsShouldSeekTheCreatedAtIndex() {
+        assertThat(plansFor(() -> repository.countByDaySince(BASE.minusHours(6)))).isNotEmpty()
+                .allSatisfy(plan -> assertThat(plan)
+                        .contains("PhysicalOp=\"Index Seek\"")
+                        .contains("Index=\"[idx_tasks_created_at_id]\"")
+                        .doesNotContain("PhysicalOp=\"Key Lookup\"")
+                        .doesNotContain("PhysicalOp=\"Clustered Index Scan\""));
+    }
+
+    @Test
+    void unfilteredKeysetPagesShouldSeekAfterTheCursor() {
+        assertSeek(() -> repository.searchAfter(null, null, null, BASE.minusDays(1), 50_000L, PageRequest.of(0, 21)),
+                "idx_tasks_created_at_id");
+
+        List<String> firstPage = plansFor(() -> repository.searchFirst(null, null, null, PageRequest.of(0, 21)));
+        assertThat(firstPage).isNotEmpty().allSatisfy(plan -> assertThat(plan)
+                .contains("Index=\"[idx_tasks_created_at_id]\"")
+                .doesNotContain("PhysicalOp=\"Sort\"")
+                .doesNotContain("PhysicalOp=\"Clustered Index Scan\""));
+    }
+
+    @Test
+    void idSearchShouldAcceptMoreIdsThanStatementParameters() {
+        List<Long> ids = jdbc.queryForList("SELECT TOP (5000) id FROM tasks WHERE status = 'DONE' ORDER BY id",
+                Long.class);
+
+        Page<Task> page = repository.search(ids, TaskStatus.DONE, null, null, pageSortedByCreatedAt());
+
+        assertThat(page.getTotalElements()).isEqualTo(5000);
+        assertThat(page.getContent()).hasSize(20).allSatisfy(task -> assertThat(ids).contains(task.getId()));
+    }
+
+    private void assertSeek(Runnable search, String index) {
+        List<String> plans = plansFor(search);
+        assertThat(plans).as("cached plans").isNotEmpty();
+        assertThat(plans).allSatisfy(plan -> assertThat(plan)
+                .contains("PhysicalOp=\"Index Seek\"")
+                .contains("Index=\"[" + index + "]\"")
+                .doesNotContain("PhysicalOp=\"Clustered Index Scan\"")
+                .doesNotContain("PhysicalOp=\"Table Scan\"")
+                .doesNotContain("PhysicalOp=\"Sort\""));
+    }
+
+    private List<String> plansFor(Runnable search) {
+        jdbc.execute("DBCC FREEPROCCACHE WITH NO_INFOMSGS");
+        search.run();
+        return jdbc.queryForList("""
+                SELECT CAST(qp.query_plan AS NVARCHAR(MAX))
+                FROM sys.dm_exec_query_stats qs
+                CROSS APPLY sys.dm_exec_sql_text(qs.sql_handle) st
+                CROSS APPLY sys.dm_exec_query_plan(qs.plan_handle) qp
+                WHERE st.text LIKE '%from tasks%' AND st.text NOT LIKE '%dm_exec_query_stats%'
+                """, String.class);
+    }
+
+    private static PageRequest pageSortedByCreatedAt() {
+        return PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")));
+    }
+}
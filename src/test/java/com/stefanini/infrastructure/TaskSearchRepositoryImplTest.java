@@ -0,0 +1,102 @@
+package com.stefanini.infrastructure;
+
+import com.stefanini.domain.Task;
+import com.stefanini.domain.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSearchRepositoryImplTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Test
+    void shouldOnlyEmitActivePredicates() {
+        assertThat(filter(null, null, null, null).where()).isEmpty();
+        assertThat(filter(TaskStatus.DONE, null, null, null).where()).isEqualTo(" where t.status = :status");
+        assertThat(filter(null, T, T, null).where()).isEqualTo(" where t.createdAt >= :from and t.createdAt <= :to");
+        assertThat(filter(TaskStatus.DONE, null, null, T).where()).isEqualTo(
+                " where t.status = :status and t.createdAt <= :afterCreatedAt"
+                        + " and (t.createdAt < :afterCreatedAt or t.id < :afterId)");
+        assertThat(new TaskSearchRepositoryImpl.Filter(List.of(1L, 2L), TaskStatus.DONE, T, null, null, null).sqlWhere())
+                .isEqualTo(" where t.id in (select cast(value as bigint) from string_split(:ids, ','))"
+                        + " and t.status = :status and t.created_at >= :from");
+    }
+
+    @Test
+    void idSearchShouldSendIdsAsOneParameter() {
+        Query query = mock(Query.class);
+        when(entityManager.createNativeQuery(anyString(), eq(Task.class))).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of());
+        TaskSearchRepositoryImpl repository = new TaskSearchRepositoryImpl(entityManager);
+
+        repository.search(List.of(3L, 1L, 2L), TaskStatus.DONE, null, null,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt")));
+
+        verify(entityManager).createNativeQuery("select t.* from tasks t"
+                + " where t.id in (select cast(value as bigint) from string_split(:ids, ','))"
+                + " and t.status = :status order by t.created_at desc", Task.class);
+        verify(query).setParameter("ids", "3,1,2");
+        verify(query).setParameter("status", "DONE");
+    }
+
+    @Test
+    void sameShapeShouldReuseIdenticalQueryText() {
+        TypedQuery<Task> query = typedQuery();
+        when(entityManager.createQuery(anyString(), any(Class.class))).thenReturn(query);
+        TaskSearchRepositoryImpl repository = new TaskSearchRepositoryImpl(entityManager);
+
+        repository.searchFirst(TaskStatus.DONE, null, null, PageRequest.of(0, 10));
+        repository.searchFirst(TaskStatus.PENDING, null, null, PageRequest.of(0, 10));
+
+        verify(entityManager, times(2)).createQuery(
+                "select t from Task t where t.status = :status order by t.createdAt desc, t.id desc", Task.class);
+        verify(query, never()).setParameter(eq("from"), any());
+    }
+
+    @Test
+    void sortShouldOnlyAcceptKnownProperties() {
+        assertThat(TaskSearchRepositoryImpl.orderBy(Sort.by(Sort.Direction.DESC, "createdAt")))
+                .isEqualTo(" order by t.createdAt desc");
+        assertThatThrownBy(() -> TaskSearchRepositoryImpl.orderBy(Sort.by("title; drop table tasks")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private TypedQuery<Task> typedQuery() {
+        TypedQuery<Task> query = mock(TypedQuery.class);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        when(query.setMaxResults(anyInt())).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of());
+        return query;
+    }
+
+    private static TaskSearchRepositoryImpl.Filter filter(TaskStatus status, LocalDateTime from, LocalDateTime to,
+                                                          LocalDateTime after) {
+        return new TaskSearchRepositoryImpl.Filter(status, from, to, after, after != null ? 1L : null);
+    }
+}
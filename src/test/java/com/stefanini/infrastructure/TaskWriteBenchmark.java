@@ -0,0 +1,131 @@
+package com.stefanini.infrastructure;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MSSQLServerContainer;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Latency of a single-task PATCH of the status, before and after {@link TaskWriter}. {@code readModifyWrite}
+ * replays the JPA path: SELECT the row, UPDATE it with a version check, COMMIT (three round trips, row locks held
+ * across all three). {@code singleStatement} sends the one auto-committed {@code UPDATE ... OUTPUT} (one round
+ * trip). Sample-time mode reports the p99 next to the mean. Needs Docker; run it explicitly with
+ * {@code mvn test -Dtest=TaskWriteBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskWriteBenchmark {
+
+    private static final int TASKS = 10_000;
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "DONE"};
+
+    private MSSQLServerContainer<?> container;
+    private Connection transactional;
+    private Connection autoCommit;
+    private PreparedStatement select;
+    private PreparedStatement versionedUpdate;
+    private PreparedStatement outputUpdate;
+
+    @Setup
+    public void setup() throws Exception {
+        container = new MSSQLServerContainer<>("mcr.microsoft.com/mssql/server:2022-latest").acceptLicense();
+        container.start();
+        String url = container.getJdbcUrl()
+                + ";sendStringParametersAsUnicode=false;disableStatementPooling=false;statementPoolingCacheSize=100";
+        Flyway.configure().dataSource(url, container.getUsername(), container.getPassword()).load().migrate();
+
+        autoCommit = DriverManager.getConnection(url, container.getUsername(), container.getPassword());
+        try (Statement seed = autoCommit.createStatement()) {
+            seed.execute("INSERT INTO tasks (id, title, description, status, created_at)"
+                    + " SELECT TOP (" + TASKS + ") ROW_NUMBER() OVER (ORDER BY (SELECT NULL)), 'task', NULL, 'PENDING',"
+                    + " SYSDATETIME() FROM sys.all_objects a CROSS JOIN sys.all_objects b");
+        }
+        transactional = DriverManager.getConnection(url, container.getUsername(), container.getPassword());
+        transactional.setAutoCommit(false);
+
+        select = transactional.prepareStatement(
+                "SELECT id, title, description, status, created_at, version FROM tasks WHERE id = ?");
+        versionedUpdate = transactional.prepareStatement(
+                "UPDATE tasks SET status = ?, version = ? WHERE id = ? AND version = ?");
+        outputUpdate = autoCommit.prepareStatement(TaskWriter.statement(false, false, true, false));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (transactional != null) {
+            transactional.close();
+        }
+        if (autoCommit != null) {
+            autoCommit.close();
+        }
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    @Benchmark
+    public int readModifyWrite() throws Exception {
+        long id = ThreadLocalRandom.current().nextLong(1, TASKS + 1);
+        long version;
+        select.setLong(1, id);
+        try (ResultSet rs = select.executeQuery()) {
+            rs.next();
+            version = rs.getLong("version");
+        }
+        versionedUpdate.setString(1, nextStatus());
+        versionedUpdate.setLong(2, version + 1);
+        versionedUpdate.setLong(3, id);
+        versionedUpdate.setLong(4, version);
+        int rows = versionedUpdate.executeUpdate();
+        transactional.commit();
+        return rows;
+    }
+
+    @Benchmark
+    public long singleStatement() throws Exception {
+        outputUpdate.setString(1, nextStatus());
+        outputUpdate.setLong(2, ThreadLocalRandom.current().nextLong(1, TASKS + 1));
+        try (ResultSet rs = outputUpdate.executeQuery()) {
+            rs.next();
+            return rs.getLong("version");
+        }
+    }
+
+    private static String nextStatus() {
+        return STATUSES[ThreadLocalRandom.current().nextInt(STATUSES.length)];
+    }
+
+    @Test
+    void run() throws Exception {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required");
+        new Runner(new OptionsBuilder()
+                .include(TaskWriteBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
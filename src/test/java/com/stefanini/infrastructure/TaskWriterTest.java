@@ -0,0 +1,74 @@
+package com.stefanini.infrastructure;
+
+import com.stefanini.domain.Task;
+import com.stefanini.domain.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class TaskWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void statementShouldSetOnlyTheGivenColumns() {
+        assertThat(TaskWriter.statement(false, false, true, true))
+                .startsWith("UPDATE tasks SET status = ?, version = version + 1 OUTPUT INSERTED.id")
+                .contains("DELETED.status AS previous_status")
+                .endsWith("WHERE id = ? AND version = ?");
+        assertThat(TaskWriter.statement(true, true, true, false))
+                .startsWith("UPDATE tasks SET title = ?, description = ?, status = ?, version = version + 1")
+                .endsWith("WHERE id = ?");
+    }
+
+    @Test
+    void patchShouldBindNonNullFieldsThenIdAndVersion() {
+        Task values = new Task(null, "New", null, null, TaskStatus.DONE);
+
+        new TaskWriter(jdbcTemplate).update(5L, values, false, 7L);
+
+        verify(jdbcTemplate).query(eq(TaskWriter.statement(true, false, true, true)), any(RowMapper.class),
+                eq("New"), eq("DONE"), eq(5L), eq(7L));
+    }
+
+    @Test
+    void replaceShouldWriteANullDescription() {
+        Task values = new Task(null, "New", null, null, TaskStatus.PENDING);
+
+        new TaskWriter(jdbcTemplate).update(5L, values, true, null);
+
+        verify(jdbcTemplate).query(eq(TaskWriter.statement(true, true, true, false)), any(RowMapper.class),
+                eq("New"), isNull(), eq("PENDING"), eq(5L));
+    }
+
+    @Test
+    void patchWithoutFieldsShouldBeRefused() {
+        assertThatThrownBy(() -> new TaskWriter(jdbcTemplate).update(5L, new Task(), false, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void deleteShouldAddTheVersionOnlyWhenExpected() {
+        TaskWriter writer = new TaskWriter(jdbcTemplate);
+
+        writer.delete(5L, null);
+        writer.delete(6L, 2L);
+
+        verify(jdbcTemplate).query(eq(TaskWriter.DELETE), any(RowMapper.class), eq(5L));
+        verify(jdbcTemplate).query(eq(TaskWriter.DELETE + " AND version = ?"), any(RowMapper.class), eq(6L), eq(2L));
+    }
+}
@@ -0,0 +1,67 @@
+package com.stefanini.infrastructure.aws;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+import software.amazon.awssdk.services.ssm.model.InternalServerErrorException;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+
+/**
+ * Local stand-in for SSM's {@code GetParameters}: a mutable parameter store that can be switched to failing.
+ */
+class InMemorySsmClient implements SsmClient {
+
+    private final Map<String, String> parameters = new ConcurrentHashMap<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile boolean failing;
+
+    InMemorySsmClient put(String name, String value) {
+        parameters.put(name, value);
+        return this;
+    }
+
+    void failing(boolean failing) {
+        this.failing = failing;
+    }
+
+    int calls() {
+        return calls.get();
+    }
+
+    @Override
+    public GetParametersResponse getParameters(GetParametersRequest request) {
+        calls.incrementAndGet();
+        if (failing) {
+            throw InternalServerErrorException.builder().message("SSM unavailable").build();
+        }
+        if (request.names().size() > 10) {
+            throw new IllegalArgumentException("GetParameters accepts at most 10 names");
+        }
+        List<Parameter> found = new ArrayList<>();
+        List<String> invalid = new ArrayList<>();
+        for (String name : request.names()) {
+            String value = parameters.get(name);
+            if (value != null) {
+                found.add(Parameter.builder().name(name).value(value).build());
+            } else {
+                invalid.add(name);
+            }
+        }
+        return GetParametersResponse.builder().parameters(found).invalidParameters(invalid).build();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+}
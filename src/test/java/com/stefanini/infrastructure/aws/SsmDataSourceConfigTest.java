@@ -1,74 +1,60 @@
 package com.stefanini.infrastructure.aws;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
 
-import javax.sql.DataSource;
+import java.time.Duration;
 
-import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
-import org.springframework.test.util.ReflectionTestUtils;
+import com.zaxxer.hikari.HikariDataSource;
 
-import software.amazon.awssdk.services.ssm.SsmClient;
-import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
-import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
-import software.amazon.awssdk.services.ssm.model.Parameter;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
-@ExtendWith(MockitoExtension.class)
 class SsmDataSourceConfigTest {
 
-    @Mock
-    private SsmClient ssmClient;
-
-    private SsmDataSourceConfig config;
-    private SsmProperties props;
-
-    @BeforeEach
-    void setUp() {
-        config = new SsmDataSourceConfig();
-        props = new SsmProperties();
-        // Inject defaults so we can assert fallbacks without spinning a Spring context.
-        ReflectionTestUtils.setField(config, "defaultHost", "localhost");
-        ReflectionTestUtils.setField(config, "defaultDb", "todo_db");
-        ReflectionTestUtils.setField(config, "defaultUser", "sa");
-        ReflectionTestUtils.setField(config, "defaultPassword", "Ford123!");
-    }
+    private final SsmDataSourceConfig config = new SsmDataSourceConfig();
+    private final SsmProperties props = new SsmProperties();
 
     @Test
     void should_build_datasource_with_ssm_values() {
-        when(ssmClient.getParameter(any(GetParameterRequest.class)))
-            .thenReturn(param("host-ssm"), param("db-ssm"), param("user-ssm"), param("pass-ssm"));
+        InMemorySsmClient ssm = new InMemorySsmClient()
+            .put("/todo/db/host", "host-ssm")
+            .put("/todo/db/name", "db-ssm")
+            .put("/todo/db/user", "user-ssm")
+            .put("/todo/db/password", "pass-ssm");
 
-        DataSource dataSource = config.dataSource(ssmClient, props);
-        DriverManagerDataSource ds = (DriverManagerDataSource) dataSource;
+        HikariDataSource ds = config.dataSource(new SsmDbParameters(ssm, props, "localhost", "todo_db", "sa", "Ford123!"));
 
-        assertEquals("jdbc:sqlserver://host-ssm:1433;databaseName=db-ssm;encrypt=false", ds.getUrl());
+        assertEquals("jdbc:sqlserver://host-ssm:1433;databaseName=db-ssm;" + SsmDataSourceConfig.JDBC_OPTIONS, ds.getJdbcUrl());
         assertEquals("user-ssm", ds.getUsername());
         assertEquals("pass-ssm", ds.getPassword());
+        assertEquals("com.microsoft.sqlserver.jdbc.SQLServerDriver", ds.getDriverClassName());
     }
 
     @Test
     void should_fallback_to_defaults_when_ssm_fails() {
-        when(ssmClient.getParameter(any(GetParameterRequest.class)))
-            .thenReturn(param("host-ssm"), param("db-ssm"), param("user-ssm"))
-            .thenThrow(new RuntimeException("SSM unavailable"));
+        InMemorySsmClient ssm = new InMemorySsmClient();
+        ssm.failing(true);
 
-        DataSource dataSource = config.dataSource(ssmClient, props);
-        DriverManagerDataSource ds = (DriverManagerDataSource) dataSource;
+        HikariDataSource ds = config.dataSource(new SsmDbParameters(ssm, props, "localhost", "todo_db", "sa", "Ford123!"));
 
-        assertEquals("jdbc:sqlserver://host-ssm:1433;databaseName=db-ssm;encrypt=false", ds.getUrl());
-        assertEquals("user-ssm", ds.getUsername());
+        assertEquals("jdbc:sqlserver://localhost:1433;databaseName=todo_db;" + SsmDataSourceConfig.JDBC_OPTIONS, ds.getJdbcUrl());
+        assertEquals("sa", ds.getUsername());
         assertEquals("Ford123!", ds.getPassword());
     }
 
-    private GetParameterResponse param(String value) {
-        return GetParameterResponse.builder()
-            .parameter(Parameter.builder().value(value).build())
-            .build();
+    @Test
+    void should_schedule_refresh_from_properties() {
+        props.setRefreshInterval(Duration.ofSeconds(30));
+        SsmDbParameters parameters = new SsmDbParameters(new InMemorySsmClient(), props, "localhost", "todo_db", "sa",
+            "Ford123!");
+        ScheduledTaskRegistrar registrar = new ScheduledTaskRegistrar();
+
+        config.ssmRefreshScheduling(parameters, props).configureTasks(registrar);
+
+        assertEquals(1, registrar.getFixedDelayTaskList().size());
+        IntervalTask task = registrar.getFixedDelayTaskList().get(0);
+        assertEquals(Duration.ofSeconds(30), task.getIntervalDuration());
+        assertEquals(Duration.ofSeconds(30), task.getInitialDelayDuration());
     }
 }
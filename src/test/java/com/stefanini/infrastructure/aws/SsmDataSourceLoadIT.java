@@ -0,0 +1,100 @@
+package com.stefanini.infrastructure.aws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.MSSQLServerContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs the same burst of short transactions through the old DriverManagerDataSource and through the pooled
+ * DataSource, and counts the logins SQL Server saw for each: one per transaction before, at most one per pooled
+ * connection now.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SsmDataSourceLoadIT {
+
+    private static final int THREADS = 8;
+    private static final int TRANSACTIONS = 400;
+    private static final int POOL_SIZE = 8;
+
+    @Container
+    static final MSSQLServerContainer<?> SQL_SERVER =
+            new MSSQLServerContainer<>("mcr.microsoft.com/mssql/server:2022-latest").acceptLicense();
+
+    @Test
+    void pooledDataSourceShouldStopConnectionChurn() throws Exception {
+        String url = SQL_SERVER.getJdbcUrl() + ";" + SsmDataSourceConfig.JDBC_OPTIONS;
+
+        DriverManagerDataSource unpooled = new DriverManagerDataSource(url, SQL_SERVER.getUsername(), SQL_SERVER.getPassword());
+        long unpooledLogins = logins(() -> burst(unpooled));
+
+        long pooledLogins;
+        try (HikariDataSource pooled = SsmDataSourceConfig.pooled(url, SQL_SERVER.getUsername(), SQL_SERVER.getPassword())) {
+            pooled.setMaximumPoolSize(POOL_SIZE);
+            pooledLogins = logins(() -> burst(pooled));
+        }
+
+        assertThat(unpooledLogins).isGreaterThanOrEqualTo(TRANSACTIONS);
+        assertThat(pooledLogins).isLessThanOrEqualTo(POOL_SIZE);
+    }
+
+    private static void burst(DataSource dataSource) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < TRANSACTIONS; i++) {
+                results.add(pool.submit(() -> {
+                    try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                        connection.setAutoCommit(false);
+                        statement.executeQuery("SELECT 1").close();
+                        connection.commit();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // "Logins/sec" is exposed as a running total; the difference is the number of logins during the action.
+    private static long logins(Action action) throws Exception {
+        long before = loginCounter();
+        action.run();
+        return loginCounter() - before - 1; // the second read logs in once itself
+    }
+
+    private static long loginCounter() throws Exception {
+        try (Connection connection = SQL_SERVER.createConnection("");
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT cntr_value FROM sys.dm_os_performance_counters"
+                     + " WHERE counter_name = 'Logins/sec' AND object_name LIKE '%General Statistics%'")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void run() throws Exception;
+    }
+}
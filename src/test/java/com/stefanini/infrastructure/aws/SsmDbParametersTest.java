@@ -0,0 +1,92 @@
+package com.stefanini.infrastructure.aws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SsmDbParametersTest {
+
+    private final SsmProperties props = new SsmProperties();
+    private InMemorySsmClient ssm;
+
+    @BeforeEach
+    void setUp() {
+        ssm = new InMemorySsmClient()
+            .put("/todo/db/host", "host-ssm")
+            .put("/todo/db/name", "db-ssm")
+            .put("/todo/db/user", "user-ssm")
+            .put("/todo/db/password", "pass-1");
+    }
+
+    @Test
+    void should_fetch_all_parameters_in_one_call() {
+        SsmDbParameters parameters = parameters();
+
+        assertEquals("host-ssm", parameters.host());
+        assertEquals("db-ssm", parameters.dbName());
+        assertEquals("user-ssm", parameters.user());
+        assertEquals("pass-1", parameters.password());
+        assertEquals(1, ssm.calls());
+    }
+
+    @Test
+    void should_fallback_per_missing_parameter_and_when_ssm_fails() {
+        SsmDbParameters partial = new SsmDbParameters(new InMemorySsmClient().put("/todo/db/host", "host-ssm"), props,
+            "localhost", "todo_db", "sa", "Ford123!");
+        ssm.failing(true);
+        SsmDbParameters unavailable = parameters();
+
+        assertEquals("host-ssm", partial.host());
+        assertEquals("Ford123!", partial.password());
+        assertEquals("localhost", unavailable.host());
+        assertEquals("sa", unavailable.user());
+    }
+
+    @Test
+    void rotated_password_should_reach_the_pool_and_evict_its_connections() {
+        SsmDbParameters parameters = parameters();
+        HikariDataSource pool = mock(HikariDataSource.class);
+        HikariConfigMXBean config = mock(HikariConfigMXBean.class);
+        HikariPoolMXBean running = mock(HikariPoolMXBean.class);
+        when(pool.getHikariConfigMXBean()).thenReturn(config);
+        when(pool.getHikariPoolMXBean()).thenReturn(running);
+        parameters.attach(pool);
+
+        ssm.put("/todo/db/password", "pass-2");
+        parameters.refresh();
+
+        assertEquals("pass-2", parameters.password());
+        verify(config).setUsername("user-ssm");
+        verify(config).setPassword("pass-2");
+        verify(running).softEvictConnections();
+    }
+
+    @Test
+    void unchanged_or_unavailable_parameters_should_leave_the_pool_alone() {
+        SsmDbParameters parameters = parameters();
+        HikariDataSource pool = mock(HikariDataSource.class);
+        parameters.attach(pool);
+
+        parameters.refresh();
+        ssm.failing(true);
+        parameters.refresh();
+
+        // A failed refresh keeps the last fetched values rather than going back to the defaults.
+        assertEquals("pass-1", parameters.password());
+        assertEquals(3, ssm.calls());
+        verifyNoInteractions(pool);
+    }
+
+    private SsmDbParameters parameters() {
+        return new SsmDbParameters(ssm, props, "localhost", "todo_db", "sa", "Ford123!");
+    }
+}
@@ -2,10 +2,15 @@ package com.stefanini.infrastructure.messaging;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,6 +24,8 @@ import com.stefanini.domain.Task;
 import com.stefanini.domain.TaskStatus;
 
 import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,4 +57,24 @@ class TaskEventPublisherSqsTest {
         assertEquals("Title", json.get("title").asText());
         assertNotNull(json.get("occurredAt").asText());
     }
+
+    @Test
+    void should_publish_created_batch_in_groups_of_ten() {
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenReturn(SendMessageBatchResponse.builder().build());
+        List<Task> tasks = IntStream.rangeClosed(1, 25)
+                .mapToObj(i -> new Task((long) i, "Title " + i, null, LocalDateTime.now(), TaskStatus.PENDING))
+                .toList();
+        TaskEventPublisherSqs publisher = new TaskEventPublisherSqs(
+                sqsClient,
+                "http://localhost:4566/000000000000/todo-events",
+                objectMapper);
+
+        publisher.tasksCreated(tasks);
+
+        ArgumentCaptor<SendMessageBatchRequest> captor = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(sqsClient, times(3)).sendMessageBatch(captor.capture());
+        verify(sqsClient, never()).sendMessage(any(SendMessageRequest.class));
+        assertEquals(List.of(10, 10, 5), captor.getAllValues().stream().map(r -> r.entries().size()).toList());
+    }
 }
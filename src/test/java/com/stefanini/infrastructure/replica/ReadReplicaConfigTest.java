@@ -0,0 +1,65 @@
+package com.stefanini.infrastructure.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadReplicaConfigTest {
+
+    private final HikariDataSource primary = new HikariDataSource();
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(ReadReplicaConfig.class)
+            .withBean("dataSource", DataSource.class, () -> primary)
+            .withBean(DataSourceProperties.class, () -> {
+                DataSourceProperties properties = new DataSourceProperties();
+                properties.setUsername("sa");
+                properties.setPassword("Ford123!");
+                return properties;
+            })
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+    @Test
+    void shouldLeaveDataSourceAloneWhenDisabled() {
+        runner.run(context -> {
+            assertThat(context).doesNotHaveBean(ReadReplicaRouter.class);
+            assertThat(context.getBean(DataSource.class)).isSameAs(primary);
+        });
+    }
+
+    @Test
+    void shouldWrapPrimaryAndPoolEachReplica() {
+        runner.withPropertyValues("app.datasource.replicas.enabled=true",
+                        "app.datasource.replicas.urls[0]=jdbc:sqlserver://replica-a:1433;databaseName=todo_db",
+                        "app.datasource.replicas.urls[1]=jdbc:sqlserver://replica-b:1433;databaseName=todo_db")
+                .run(context -> {
+                    DataSource dataSource = context.getBean(DataSource.class);
+                    assertThat(dataSource).isInstanceOf(LazyConnectionDataSourceProxy.class);
+                    assertThat(((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource()).isSameAs(primary);
+                    assertThat(context.getBean(ReadReplicaRouter.class).health().getDetails())
+                            .containsOnlyKeys("replica-1", "replica-2");
+                    assertThat(context).hasSingleBean(ReadYourWritesFilter.class);
+                });
+    }
+
+    @Test
+    void shouldBuildReadOnlyReplicaPool() {
+        ReplicaProperties props = new ReplicaProperties();
+        props.setMaximumPoolSize(4);
+
+        try (HikariDataSource pool = ReadReplicaConfig.pooled("jdbc:sqlserver://replica-a:1433", "sa", "Ford123!",
+                props)) {
+            assertThat(pool.getUsername()).isEqualTo("sa");
+            assertThat(pool.getMaximumPoolSize()).isEqualTo(4);
+            assertThat(pool.getConnectionTimeout()).isEqualTo(2000);
+            assertThat(pool.isReadOnly()).isTrue();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.stefanini.infrastructure.replica;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.when;
+
+class ReadReplicaRouterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource first = mock(DataSource.class);
+    private final DataSource second = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection firstConnection = mock(Connection.class);
+    private final Connection secondConnection = mock(Connection.class);
+    private ReadReplicaRouter router;
+    private DataSource readOnly;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(first.getConnection()).thenReturn(firstConnection);
+        when(second.getConnection()).thenReturn(secondConnection);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", first);
+        replicas.put("replica-2", second);
+        router = new ReadReplicaRouter(replicas, name -> name == null || name.startsWith("routed."),
+                Duration.ofSeconds(2), registry);
+        readOnly = router.readOnly(primary);
+    }
+
+    @AfterEach
+    void unpin() {
+        router.unpin();
+        TransactionSynchronizationManager.setCurrentTransactionName(null);
+    }
+
+    @Test
+    void shouldAlternateBetweenHealthyReplicas() throws SQLException {
+        assertThat(readOnly.getConnection()).isSameAs(firstConnection);
+        assertThat(readOnly.getConnection()).isSameAs(secondConnection);
+        assertThat(readOnly.getConnection()).isSameAs(firstConnection);
+
+        assertThat(reads("replica-1")).isEqualTo(2);
+        assertThat(reads("replica-2")).isEqualTo(1);
+        assertThat(reads(ReadReplicaRouter.PRIMARY)).isZero();
+    }
+
+    @Test
+    void shouldSkipReplicaThatRefusesConnectionsUntilHealthCheckPasses() throws SQLException {
+        when(first.getConnection()).thenThrow(new SQLTransientConnectionException("timeout"));
+
+        assertThat(readOnly.getConnection()).isSameAs(secondConnection);
+        assertThat(readOnly.getConnection()).isSameAs(secondConnection);
+        assertThat(router.health().getDetails()).containsEntry("replica-1", "DOWN").containsEntry("replica-2", "UP");
+
+        reset(first);
+        when(first.getConnection()).thenReturn(firstConnection);
+        when(firstConnection.createStatement()).thenReturn(mock(Statement.class));
+        when(secondConnection.createStatement()).thenReturn(mock(Statement.class));
+        router.checkHealth();
+
+        assertThat(router.health().getDetails()).containsEntry("replica-1", "UP");
+        assertThat(readOnly.getConnection()).isSameAs(firstConnection);
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenNoReplicaIsHealthy() throws SQLException {
+        when(first.getConnection()).thenThrow(new SQLTransientConnectionException("timeout"));
+        when(second.getConnection()).thenThrow(new SQLTransientConnectionException("timeout"));
+        router.checkHealth();
+
+        assertThat(readOnly.getConnection()).isSameAs(primaryConnection);
+        assertThat(router.health().getStatus().getCode()).isEqualTo("UP");
+        assertThat(reads(ReadReplicaRouter.PRIMARY)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldUsePrimaryWhilePinned() throws SQLException {
+        router.pinToPrimary();
+        assertThat(readOnly.getConnection()).isSameAs(primaryConnection);
+
+        router.unpin();
+        assertThat(readOnly.getConnection()).isSameAs(firstConnection);
+    }
+
+    @Test
+    void shouldKeepTransactionsThatAreNotRoutedOnPrimary() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionName("security.Revocations.isRevoked");
+        assertThat(readOnly.getConnection()).isSameAs(primaryConnection);
+
+        TransactionSynchronizationManager.setCurrentTransactionName("routed.Tasks.search");
+        assertThat(readOnly.getConnection()).isSameAs(firstConnection);
+    }
+
+    @Test
+    void shouldUsePrimaryWithoutReplicas() throws SQLException {
+        ReadReplicaRouter empty = new ReadReplicaRouter(Map.of(), name -> true, Duration.ofSeconds(2), registry);
+
+        assertThat(empty.readOnly(primary).getConnection()).isSameAs(primaryConnection);
+    }
+
+    private double reads(String route) {
+        return registry.get("db.reads").tag("route", route).counter().count();
+    }
+}
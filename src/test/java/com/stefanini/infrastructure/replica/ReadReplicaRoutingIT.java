@@ -0,0 +1,160 @@
+package com.stefanini.infrastructure.replica;
+
+import com.stefanini.application.TaskCursor;
+import com.stefanini.application.TaskServiceImpl;
+import com.stefanini.domain.TaskStatus;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.lang.reflect.Method;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+import org.testcontainers.containers.MSSQLServerContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two SQL Server containers stand in for the primary and a replica; each has a one-row table naming itself, so
+ * the row a transaction reads shows where it was routed. No replication is involved.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReadReplicaRoutingIT {
+
+    @Container
+    static final MSSQLServerContainer<?> PRIMARY =
+            new MSSQLServerContainer<>("mcr.microsoft.com/mssql/server:2022-latest").acceptLicense();
+
+    @Container
+    static final MSSQLServerContainer<?> REPLICA =
+            new MSSQLServerContainer<>("mcr.microsoft.com/mssql/server:2022-latest").acceptLicense();
+
+    private final ReplicaProperties props = new ReplicaProperties();
+    private HikariDataSource primaryPool;
+    private ReadReplicaRouter router;
+
+    @BeforeAll
+    static void markServers() throws Exception {
+        mark(PRIMARY, "primary");
+        mark(REPLICA, "replica");
+    }
+
+    @AfterEach
+    void close() throws Exception {
+        if (router != null) {
+            router.unpin();
+            router.close();
+        }
+        if (primaryPool != null) {
+            primaryPool.close();
+        }
+    }
+
+    @Test
+    void shouldSendReadOnlyTransactionsToReplicaAndTheRestToPrimary() {
+        DataSource dataSource = routing(REPLICA.getJdbcUrl());
+
+        assertThat(serverIn(dataSource, true)).isEqualTo("replica");
+        assertThat(serverIn(dataSource, false)).isEqualTo("primary");
+        assertThat(serverIn(dataSource, named("org.springframework.data.jpa.repository.support.SimpleJpaRepository"
+                + ".findById", true))).isEqualTo("primary");
+        assertThat(new JdbcTemplate(dataSource).queryForObject("SELECT name FROM server_marker", String.class))
+                .isEqualTo("primary");
+
+        router.pinToPrimary();
+        assertThat(serverIn(dataSource, true)).isEqualTo("primary");
+    }
+
+    // The task reads run in the transaction their @Transactional declares, so a read-write one would hit the primary.
+    @ParameterizedTest
+    @MethodSource("taskReads")
+    void shouldSendTaskReadsToReplica(String name, Class<?>[] parameterTypes) throws Exception {
+        DataSource dataSource = routing(REPLICA.getJdbcUrl());
+        Method method = TaskServiceImpl.class.getMethod(name, parameterTypes);
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition(
+                new AnnotationTransactionAttributeSource().getTransactionAttribute(method, TaskServiceImpl.class));
+        // The name TransactionInterceptor gives the transaction.
+        definition.setName(ClassUtils.getQualifiedMethodName(method, TaskServiceImpl.class));
+
+        assertThat(serverIn(dataSource, definition)).isEqualTo("replica");
+    }
+
+    static Object[][] taskReads() {
+        return new Object[][] {
+            {"search", new Class<?>[] {TaskStatus.class, LocalDateTime.class, LocalDateTime.class, Pageable.class}},
+            {"searchText", new Class<?>[] {String.class, TaskStatus.class, LocalDateTime.class, LocalDateTime.class,
+                Pageable.class}},
+            {"searchSlice", new Class<?>[] {TaskStatus.class, LocalDateTime.class, LocalDateTime.class, Pageable.class}},
+            {"searchAfter", new Class<?>[] {TaskStatus.class, LocalDateTime.class, LocalDateTime.class,
+                TaskCursor.class, int.class}},
+            {"export", new Class<?>[] {TaskStatus.class, LocalDateTime.class, LocalDateTime.class, Consumer.class}},
+            {"findById", new Class<?>[] {Long.class}},
+        };
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaIsUnreachable() {
+        props.setConnectionTimeout(Duration.ofMillis(500));
+        DataSource dataSource = routing("jdbc:sqlserver://localhost:1;encrypt=false");
+
+        assertThat(serverIn(dataSource, true)).isEqualTo("primary");
+        router.checkHealth();
+        assertThat(router.health().getDetails()).containsEntry("replica-1", "DOWN");
+    }
+
+    private DataSource routing(String replicaUrl) {
+        primaryPool = ReadReplicaConfig.pooled(PRIMARY.getJdbcUrl(), PRIMARY.getUsername(), PRIMARY.getPassword(),
+                props);
+        primaryPool.setReadOnly(false);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", ReadReplicaConfig.pooled(replicaUrl, REPLICA.getUsername(), REPLICA.getPassword(),
+                props));
+        router = new ReadReplicaRouter(replicas, ReadReplicaConfig.routed(props.getRoutedTransactions()),
+                Duration.ofSeconds(2), new SimpleMeterRegistry());
+        return ReadReplicaConfig.routing(primaryPool, router);
+    }
+
+    private static String serverIn(DataSource dataSource, boolean readOnly) {
+        return serverIn(dataSource, named(TaskServiceImpl.class.getName() + ".search", readOnly));
+    }
+
+    private static TransactionDefinition named(String name, boolean readOnly) {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setName(name);
+        definition.setReadOnly(readOnly);
+        return definition;
+    }
+
+    private static String serverIn(DataSource dataSource, TransactionDefinition definition) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource),
+                definition);
+        return transaction.execute(status -> new JdbcTemplate(dataSource)
+                .queryForObject("SELECT name FROM server_marker", String.class));
+    }
+
+    private static void mark(MSSQLServerContainer<?> container, String name) throws Exception {
+        try (Connection connection = container.createConnection(""); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE server_marker (name VARCHAR(20) NOT NULL)");
+            statement.execute("INSERT INTO server_marker (name) VALUES ('" + name + "')");
+        }
+    }
+}
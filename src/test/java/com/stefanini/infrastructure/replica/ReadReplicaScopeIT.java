@@ -0,0 +1,193 @@
+package com.stefanini.infrastructure.replica;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stefanini.application.TaskJsonCache;
+import com.stefanini.application.TaskProperties;
+import com.stefanini.application.TaskServiceImpl;
+import com.stefanini.domain.Task;
+import com.stefanini.infrastructure.TaskRepository;
+import com.stefanini.infrastructure.security.JwtService;
+import com.stefanini.infrastructure.security.RefreshTokenService;
+import com.stefanini.infrastructure.security.RevocationProperties;
+import com.stefanini.infrastructure.security.RevokedTokenRepository;
+import com.stefanini.infrastructure.security.TokenRevocationService;
+import com.stefanini.infrastructure.security.UserTokenRevocationRepository;
+import com.stefanini.infrastructure.security.VerifiedToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MSSQLServerContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The application's JPA stack over a primary and a replica that never receives writes, so a row written only to
+ * the primary stands for a write the replica has not applied yet. Checks which reads may see that lag.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ReadReplicaConfig.class, ReadReplicaScopeIT.Metrics.class})
+class ReadReplicaScopeIT {
+
+    @Container
+    static final MSSQLServerContainer<?> PRIMARY =
+            new MSSQLServerContainer<>("mcr.microsoft.com/mssql/server:2022-latest").acceptLicense();
+
+    @Container
+    static final MSSQLServerContainer<?> REPLICA =
+            new MSSQLServerContainer<>("mcr.microsoft.com/mssql/server:2022-latest").acceptLicense();
+
+    @DynamicPropertySource
+    static void datasources(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", PRIMARY::getJdbcUrl);
+        registry.add("spring.datasource.username", PRIMARY::getUsername);
+        registry.add("spring.datasource.password", PRIMARY::getPassword);
+        registry.add("app.datasource.replicas.enabled", () -> "true");
+        registry.add("app.datasource.replicas.urls[0]", REPLICA::getJdbcUrl);
+        registry.add("app.datasource.replicas.username", REPLICA::getUsername);
+        registry.add("app.datasource.replicas.password", REPLICA::getPassword);
+    }
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA.getJdbcUrl(), REPLICA.getUsername(), REPLICA.getPassword())
+                .load().migrate();
+    }
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private UserTokenRevocationRepository userRevocationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private ReadReplicaRouter router;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void connect() {
+        primary = new JdbcTemplate(dataSource(PRIMARY));
+        replica = new JdbcTemplate(dataSource(REPLICA));
+        for (JdbcTemplate db : List.of(primary, replica)) {
+            db.update("DELETE FROM tasks");
+            db.update("DELETE FROM revoked_tokens");
+            db.update("DELETE FROM user_token_revocations");
+        }
+    }
+
+    @Test
+    void taskServiceReadsShouldUseTheReplica() {
+        insertTask(replica, 1L, "only on the replica", 0);
+        TransactionTemplate search = new TransactionTemplate(transactionManager);
+        search.setName(TaskServiceImpl.class.getName() + ".search");
+        search.setReadOnly(true);
+
+        Optional<Task> routed = search.execute(status -> taskRepository.findById(1L));
+
+        assertThat(routed).isPresent();
+        assertThat(taskRepository.findById(1L)).isEmpty();
+    }
+
+    // Write by one client, GET by another while the replica lags, then GET by the writer: both see the write.
+    @Test
+    void jsonCacheShouldNotServeARowTheReplicaHasNotCaughtUpWith() {
+        insertTask(primary, 2L, "before", 0);
+        insertTask(replica, 2L, "before", 0);
+        TaskJsonCache cache = new TaskJsonCache(taskRepository, new ObjectMapper(), new TaskProperties(), registry);
+        Function<Task, ?> view = task -> Map.of("title", task.getTitle());
+        cache.get(2L, view);
+
+        primary.update("UPDATE tasks SET title = 'after', version = 1 WHERE id = 2");
+        cache.invalidate(2L);
+
+        assertThat(cache.get(2L, view).getVersion()).isEqualTo(1);
+        router.pinToPrimary();
+        try {
+            TaskJsonCache.Entry writer = cache.get(2L, view);
+            assertThat(writer.getVersion()).isEqualTo(1);
+            assertThat(new String(writer.getJson(), StandardCharsets.UTF_8)).contains("after");
+        } finally {
+            router.unpin();
+        }
+    }
+
+    @Test
+    void revocationChecksShouldNeverReadAReplica() {
+        primary.update("INSERT INTO revoked_tokens (jti, username, revoked_at, expires_at)"
+                + " VALUES ('jti-1', 'alice', SYSUTCDATETIME(), DATEADD(HOUR, 1, SYSUTCDATETIME()))");
+        primary.update("INSERT INTO user_token_revocations (username, revoked_before, expires_at)"
+                + " VALUES ('bob', SYSUTCDATETIME(), DATEADD(HOUR, 1, SYSUTCDATETIME()))");
+        TokenRevocationService revocations = new TokenRevocationService(revokedTokenRepository,
+                userRevocationRepository, mock(RefreshTokenService.class), new RevocationProperties(),
+                new JwtService("super-secret-key-which-is-long-enough-for-hmac", 900_000));
+        Instant issuedAt = Instant.now().minusSeconds(60);
+        double replicaReads = replicaReads();
+
+        assertThat(revocations.isRevoked(new VerifiedToken("jti-1", "alice", issuedAt, issuedAt.plusSeconds(900),
+                List.of(), null))).isTrue();
+        assertThat(revocations.isRevoked(new VerifiedToken("bob", issuedAt, issuedAt.plusSeconds(900)))).isTrue();
+        assertThat(userRevocationRepository.findById("bob")).isPresent();
+        assertThat(replicaReads()).isEqualTo(replicaReads);
+    }
+
+    private double replicaReads() {
+        return registry.get("db.reads").tag("route", "replica-1").counter().count();
+    }
+
+    private static void insertTask(JdbcTemplate db, long id, String title, long version) {
+        db.update("INSERT INTO tasks (id, title, status, created_at, version) VALUES (?, ?, 'PENDING', SYSDATETIME(), ?)",
+                id, title, version);
+    }
+
+    private static DataSource dataSource(MSSQLServerContainer<?> container) {
+        return new DriverManagerDataSource(container.getJdbcUrl(), container.getUsername(), container.getPassword());
+    }
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
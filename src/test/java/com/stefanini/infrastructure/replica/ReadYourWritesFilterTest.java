@@ -0,0 +1,107 @@
+package com.stefanini.infrastructure.replica;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadYourWritesFilterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private DataSource readOnly;
+    private ReadYourWritesFilter filter;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        ReadReplicaRouter router = new ReadReplicaRouter(Map.of("replica-1", replica), name -> true, Duration.ofSeconds(2),
+                new SimpleMeterRegistry());
+        readOnly = router.readOnly(primary);
+        filter = new ReadYourWritesFilter(router, Duration.ofSeconds(5), nanos::get);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldReadFromPrimaryWithinWindowAfterWrite() throws Exception {
+        authenticate("alice");
+        assertThat(readDuring("GET")).isSameAs(replicaConnection);
+
+        assertThat(readDuring("PATCH")).isSameAs(primaryConnection);
+        assertThat(readDuring("GET")).isSameAs(primaryConnection);
+
+        nanos.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertThat(readDuring("GET")).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void shouldKeepOtherClientsOnReplicas() throws Exception {
+        authenticate("alice");
+        readDuring("POST");
+
+        authenticate("bob");
+        assertThat(readDuring("GET")).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void shouldUnpinAfterRequest() throws Exception {
+        authenticate("alice");
+        readDuring("DELETE");
+
+        assertThat(readOnly.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void shouldBeSkippedWhenWindowIsZero() {
+        ReadYourWritesFilter disabled = new ReadYourWritesFilter(
+                new ReadReplicaRouter(Map.of(), name -> true, Duration.ofSeconds(2), new SimpleMeterRegistry()), Duration.ZERO);
+
+        assertThat(disabled.shouldNotFilter(new MockHttpServletRequest("POST", "/api/tasks"))).isTrue();
+    }
+
+    // The connection a read-only transaction inside the request would get.
+    private Connection readDuring(String method) throws ServletException, IOException {
+        AtomicReference<Connection> used = new AtomicReference<>();
+        filter.doFilter(new MockHttpServletRequest(method, "/api/tasks/1"), new MockHttpServletResponse(),
+                (request, response) -> {
+                    try {
+                        used.set(readOnly.getConnection());
+                    } catch (SQLException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                });
+        return used.get();
+    }
+
+    private static void authenticate(String user) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                user, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+}
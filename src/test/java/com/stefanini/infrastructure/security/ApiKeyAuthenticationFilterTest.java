@@ -0,0 +1,102 @@
+package com.stefanini.infrastructure.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ApiKeyAuthenticationFilterTest {
+
+    @Mock
+    private ApiKeyService apiKeyService;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private ApiKeyAuthenticationFilter filter;
+
+    @BeforeEach
+    void setup() {
+        filter = new ApiKeyAuthenticationFilter(apiKeyService, new ApiKeyProperties());
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldSkipWhenNoKeyHeader() throws ServletException, IOException {
+        filter.doFilterInternal(new MockHttpServletRequest("GET", "/api/tasks"), new MockHttpServletResponse(), filterChain);
+
+        verify(filterChain).doFilter(any(HttpServletRequest.class), any(HttpServletResponse.class));
+        verifyNoInteractions(apiKeyService);
+    }
+
+    @Test
+    void shouldAuthenticateKeyWithMatchingScope() throws ServletException, IOException {
+        when(apiKeyService.authenticate("sk_key")).thenReturn(Optional.of(principal("tasks:read")));
+
+        filter.doFilterInternal(request("GET", "/api/tasks/1"), new MockHttpServletResponse(), filterChain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("user");
+        verify(filterChain).doFilter(any(HttpServletRequest.class), any(HttpServletResponse.class));
+    }
+
+    @Test
+    void shouldForbidMissingScopeAndNonTaskRoutes() throws ServletException, IOException {
+        when(apiKeyService.authenticate("sk_key")).thenReturn(Optional.of(principal("tasks:read")));
+
+        MockHttpServletResponse write = new MockHttpServletResponse();
+        filter.doFilterInternal(request("POST", "/api/tasks"), write, filterChain);
+        MockHttpServletResponse keys = new MockHttpServletResponse();
+        filter.doFilterInternal(request("GET", "/api/api-keys"), keys, filterChain);
+
+        assertThat(write.getStatus()).isEqualTo(403);
+        assertThat(keys.getStatus()).isEqualTo(403);
+        verify(filterChain, never()).doFilter(any(HttpServletRequest.class), any(HttpServletResponse.class));
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void shouldReturn401ForUnknownKey() throws ServletException, IOException {
+        when(apiKeyService.authenticate("sk_key")).thenReturn(Optional.empty());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilterInternal(request("GET", "/api/tasks"), response, filterChain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        verify(filterChain, never()).doFilter(any(HttpServletRequest.class), any(HttpServletResponse.class));
+    }
+
+    private MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.addHeader("X-API-Key", "sk_key");
+        return request;
+    }
+
+    private ApiKeyService.Principal principal(String scope) {
+        return new ApiKeyService.Principal(1L, "user", List.of(new SimpleGrantedAuthority("SCOPE_" + scope)), null, null);
+    }
+}
@@ -0,0 +1,141 @@
+package com.stefanini.infrastructure.security;
+
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ApiKeyServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Mock
+    private ApiKeyRepository repository;
+
+    private ApiKeyService service;
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setup() {
+        ApiKeyProperties props = new ApiKeyProperties();
+        props.setPepper("test-pepper");
+        service = new ApiKeyService(repository, props, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void createShouldStoreOnlyKeyedHashAndAuthenticateImmediately() {
+        stubSave();
+
+        ApiKeyService.CreatedApiKey created = service.create("user", "ci", List.of("tasks:read"), null);
+
+        ArgumentCaptor<ApiKey> captor = ArgumentCaptor.forClass(ApiKey.class);
+        verify(repository).save(captor.capture());
+        assertThat(created.getRawKey()).startsWith("sk_");
+        assertThat(captor.getValue().getKeyHash()).isEqualTo(service.hash(created.getRawKey())).doesNotContain(created.getRawKey());
+        assertThat(captor.getValue().getKeyPrefix()).isEqualTo(created.getRawKey().substring(0, 11));
+
+        ApiKeyService.Principal principal = service.authenticate(created.getRawKey()).orElseThrow();
+        assertThat(principal.getOwner()).isEqualTo("user");
+        assertThat(principal.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("SCOPE_tasks:read");
+    }
+
+    @Test
+    void createShouldRejectUnknownScopes() {
+        assertThatThrownBy(() -> service.create("user", "ci", List.of("admin"), null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void unknownOrExpiredKeysShouldNotAuthenticate() {
+        stubSave();
+        LocalDateTime now = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+        String expired = service.create("user", "old", List.of("tasks:read"), now).getRawKey();
+
+        assertThat(service.authenticate(expired)).isEmpty();
+        assertThat(service.authenticate("sk_unknown")).isEmpty();
+        assertThat(service.authenticate("not-a-key")).isEmpty();
+    }
+
+    @Test
+    void revokeShouldRemoveKeyEvenIfReloadStillSeesIt() {
+        stubSave();
+        ApiKeyService.CreatedApiKey created = service.create("user", "ci", List.of("tasks:write"), null);
+        ApiKey stored = created.getKey();
+        when(repository.findById(stored.getId())).thenReturn(Optional.of(stored));
+
+        service.revoke(stored.getId(), "user", false);
+        assertThat(service.authenticate(created.getRawKey())).isEmpty();
+
+        // A reload whose query ran before the revocation committed must not resurrect the key.
+        when(repository.findAllActive(any())).thenReturn(List.of(unrevokedCopy(stored)));
+        service.refresh();
+        assertThat(service.authenticate(created.getRawKey())).isEmpty();
+    }
+
+    @Test
+    void revokeOfForeignKeyShouldLookLikeMissingUnlessAdmin() {
+        stubSave();
+        ApiKey stored = service.create("owner", "ci", List.of("tasks:read"), null).getKey();
+        when(repository.findById(stored.getId())).thenReturn(Optional.of(stored));
+
+        assertThatThrownBy(() -> service.revoke(stored.getId(), "intruder", false))
+                .isInstanceOf(EntityNotFoundException.class);
+
+        service.revoke(stored.getId(), "admin", true);
+        assertThat(stored.getRevokedAt()).isNotNull();
+    }
+
+    @Test
+    void refreshShouldLoadKeysCreatedElsewhere() {
+        String rawKey = "sk_created-on-another-instance";
+        ApiKey other = new ApiKey(service.hash(rawKey), rawKey.substring(0, 11), "ci", "user", "tasks:read tasks:write",
+                LocalDateTime.ofInstant(NOW, ZoneOffset.UTC), null);
+        when(repository.findAllActive(LocalDateTime.ofInstant(NOW, ZoneOffset.UTC))).thenReturn(List.of(other));
+
+        service.refresh();
+
+        assertThat(service.authenticate(rawKey)).isPresent();
+    }
+
+    @Test
+    void shouldRequirePepper() {
+        assertThatThrownBy(() -> new ApiKeyService(repository, new ApiKeyProperties()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private void stubSave() {
+        when(repository.save(any(ApiKey.class))).thenAnswer(inv -> {
+            ApiKey key = inv.getArgument(0);
+            if (key.getId() == null) {
+                ReflectionTestUtils.setField(key, "id", ids.incrementAndGet());
+            }
+            return key;
+        });
+    }
+
+    private ApiKey unrevokedCopy(ApiKey key) {
+        ApiKey copy = new ApiKey(key.getKeyHash(), key.getKeyPrefix(), key.getName(), key.getOwner(), key.getScopes(),
+                key.getCreatedAt(), key.getExpiresAt());
+        ReflectionTestUtils.setField(copy, "id", key.getId());
+        return copy;
+    }
+}
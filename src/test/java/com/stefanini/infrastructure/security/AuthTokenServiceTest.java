@@ -0,0 +1,89 @@
+package com.stefanini.infrastructure.security;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthTokenServiceTest {
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private UserVersionService userVersionService;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private JwtService jwtService;
+    private AuthTokenService service;
+
+    @BeforeEach
+    void setup() {
+        jwtService = new JwtService("super-secret-key-which-is-long-enough-for-hmac", 60_000);
+        service = new AuthTokenService(jwtService, refreshTokenService, userVersionService, userDetailsService);
+    }
+
+    @Test
+    void issueShouldReturnAccessAndRefreshTokens() {
+        when(userVersionService.currentVersion("user")).thenReturn("v1");
+        when(refreshTokenService.issue("user")).thenReturn("refresh");
+
+        AuthTokenService.IssuedTokens tokens = service.issue(new UsernamePasswordAuthenticationToken(
+                "user", null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+
+        VerifiedToken verified = jwtService.verify(tokens.getAccessToken());
+        assertThat(verified.getUserVersion()).isEqualTo("v1");
+        assertThat(tokens.getRefreshToken()).isEqualTo("refresh");
+        assertThat(tokens.getExpiresInMillis()).isEqualTo(60_000);
+    }
+
+    @Test
+    void refreshShouldIssueAccessTokenWithCurrentAuthorities() {
+        UserDetails user = new User("user", "hash", List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        when(refreshTokenService.rotate("old")).thenReturn(new RefreshTokenService.Rotation("user", "new"));
+        when(userDetailsService.loadUserByUsername("user")).thenReturn(user);
+
+        AuthTokenService.IssuedTokens tokens = service.refresh("old");
+
+        VerifiedToken verified = jwtService.verify(tokens.getAccessToken());
+        assertThat(verified.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+        assertThat(verified.getUserVersion()).isEqualTo(UserVersionService.versionOf(user));
+        assertThat(tokens.getRefreshToken()).isEqualTo("new");
+    }
+
+    @Test
+    void refreshShouldRejectDisabledUser() {
+        UserDetails disabled = User.withUsername("user").password("hash").roles("USER").disabled(true).build();
+        when(refreshTokenService.rotate("old")).thenReturn(new RefreshTokenService.Rotation("user", "new"));
+        when(userDetailsService.loadUserByUsername("user")).thenReturn(disabled);
+
+        assertThatThrownBy(() -> service.refresh("old")).isInstanceOf(InvalidRefreshTokenException.class);
+        verify(refreshTokenService).revokeAllForUser("user");
+    }
+
+    @Test
+    void refreshShouldRejectDeletedUser() {
+        when(refreshTokenService.rotate("old")).thenReturn(new RefreshTokenService.Rotation("gone", "new"));
+        when(userDetailsService.loadUserByUsername("gone")).thenThrow(new UsernameNotFoundException("gone"));
+
+        assertThatThrownBy(() -> service.refresh("old")).isInstanceOf(InvalidRefreshTokenException.class);
+        verify(refreshTokenService).revokeAllForUser("gone");
+    }
+}
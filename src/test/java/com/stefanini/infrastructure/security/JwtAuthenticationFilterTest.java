@@ -12,17 +12,19 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.time.Instant;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,7 +35,13 @@ class JwtAuthenticationFilterTest {
     private JwtService jwtService;
 
     @Mock
-    private UserDetailsService userDetailsService;
+    private VerifiedTokenCache tokenCache;
+
+    @Mock
+    private UserVersionService userVersionService;
+
+    @Mock
+    private TokenRevocationService revocationService;
 
     @Mock
     private FilterChain filterChain;
@@ -58,29 +66,81 @@ class JwtAuthenticationFilterTest {
     }
 
     @Test
-    void shouldAuthenticateValidToken() throws ServletException, IOException {
+    void shouldAuthenticateValidTokenFromClaims() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer token123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        VerifiedToken verified = verified("user");
+        when(jwtService.verify("token123")).thenReturn(verified);
+        when(userVersionService.isCurrent("user", "v1")).thenReturn(true);
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(auth).isNotNull();
+        assertThat(auth.getName()).isEqualTo("user");
+        assertThat(auth.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+        verify(jwtService, times(1)).verify("token123");
+        verify(tokenCache).put("token123", verified);
+        verify(filterChain).doFilter(any(HttpServletRequest.class), any(HttpServletResponse.class));
+    }
+
+    @Test
+    void shouldSkipVerificationOnCacheHit() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer token123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        when(tokenCache.get("token123")).thenReturn(verified("user"));
+        when(userVersionService.isCurrent("user", "v1")).thenReturn(true);
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("user");
+        verify(jwtService, never()).verify(any());
+        verify(filterChain).doFilter(any(HttpServletRequest.class), any(HttpServletResponse.class));
+    }
+
+    @Test
+    void shouldNotAuthenticateStaleUserVersion() throws ServletException, IOException {
         MockHttpServletRequest request = new MockHttpServletRequest();
         request.addHeader("Authorization", "Bearer token123");
         MockHttpServletResponse response = new MockHttpServletResponse();
 
-        when(jwtService.extractUsername("token123")).thenReturn("user");
-        UserDetails details = new User("user", "pass", Collections.emptyList());
-        when(userDetailsService.loadUserByUsername("user")).thenReturn(details);
-        when(jwtService.isValid("token123", "user")).thenReturn(true);
+        when(jwtService.verify("token123")).thenReturn(verified("user"));
+        when(userVersionService.isCurrent("user", "v1")).thenReturn(false);
 
         filter.doFilterInternal(request, response, filterChain);
 
-        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
         verify(filterChain).doFilter(any(HttpServletRequest.class), any(HttpServletResponse.class));
     }
 
+    @Test
+    void shouldReturn401ForRevokedToken() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer token123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        VerifiedToken verified = verified("user");
+        when(tokenCache.get("token123")).thenReturn(verified);
+        when(revocationService.isRevoked(verified)).thenReturn(true);
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_UNAUTHORIZED);
+        verify(filterChain, never()).doFilter(any(HttpServletRequest.class), any(HttpServletResponse.class));
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
     @Test
     void shouldReturn401OnInvalidToken() throws ServletException, IOException {
         MockHttpServletRequest request = new MockHttpServletRequest();
         request.addHeader("Authorization", "Bearer bad");
         MockHttpServletResponse response = new MockHttpServletResponse();
 
-        when(jwtService.extractUsername("bad")).thenThrow(new RuntimeException("invalid"));
+        when(jwtService.verify("bad")).thenThrow(new RuntimeException("invalid"));
 
         filter.doFilterInternal(request, response, filterChain);
 
@@ -88,4 +148,10 @@ class JwtAuthenticationFilterTest {
         verify(filterChain, never()).doFilter(any(HttpServletRequest.class), any(HttpServletResponse.class));
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
     }
+
+    private VerifiedToken verified(String subject) {
+        Instant now = Instant.now();
+        return new VerifiedToken("jti-1", subject, now, now.plusSeconds(60),
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), "v1");
+    }
 }
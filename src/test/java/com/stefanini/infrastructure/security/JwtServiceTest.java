@@ -1,11 +1,16 @@
 package com.stefanini.infrastructure.security;
 
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.Test;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.List;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class JwtServiceTest {
 
@@ -43,4 +48,49 @@ class JwtServiceTest {
 
         assertThat(other.isValid(token, "user1")).isFalse();
     }
+
+    @Test
+    void verifyShouldReturnClaimsFromSingleParse() {
+        Clock fixed = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+        JwtService service = new JwtService(secret, 60_000, fixed);
+
+        VerifiedToken verified = service.verify(service.generateToken("user1"));
+
+        assertThat(verified.getSubject()).isEqualTo("user1");
+        assertThat(verified.getIssuedAt()).isEqualTo(Instant.parse("2024-01-01T00:00:00Z"));
+        assertThat(verified.getExpiresAt()).isEqualTo(Instant.parse("2024-01-01T00:01:00Z"));
+    }
+
+    @Test
+    void verifyShouldRejectExpiredToken() {
+        Clock fixed = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+        String token = new JwtService(secret, 1_000, fixed).generateToken("user1");
+
+        Clock later = Clock.fixed(Instant.parse("2024-01-01T00:00:05Z"), ZoneOffset.UTC);
+        JwtService validator = new JwtService(secret, 1_000, later);
+
+        assertThatThrownBy(() -> validator.verify(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void shouldEmbedAuthoritiesAndUserVersion() {
+        JwtService service = new JwtService(secret, 60_000);
+
+        String token = service.generateToken("user1", List.of(new SimpleGrantedAuthority("ROLE_USER")), "v1");
+        VerifiedToken verified = service.verify(token);
+
+        assertThat(verified.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+        assertThat(verified.getUserVersion()).isEqualTo("v1");
+    }
+
+    @Test
+    void eachTokenShouldCarryAUniqueId() {
+        JwtService service = new JwtService(secret, 60_000);
+
+        String first = service.verify(service.generateToken("user1")).getId();
+        String second = service.verify(service.generateToken("user1")).getId();
+
+        assertThat(first).isNotBlank();
+        assertThat(second).isNotEqualTo(first);
+    }
 }
@@ -0,0 +1,94 @@
+package com.stefanini.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LoginExecutorTest {
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    private SimpleMeterRegistry registry;
+    private LoginExecutor executor;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        LoginProperties props = new LoginProperties();
+        props.setThreads(1);
+        props.setQueueCapacity(1);
+        executor = new LoginExecutor(authenticationManager, props, registry);
+    }
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldAuthenticateOnWorkerAndRecordLatency() {
+        Authentication result = new UsernamePasswordAuthenticationToken("user", null, List.of());
+        when(authenticationManager.authenticate(any())).thenReturn(result);
+
+        Authentication auth = executor.authenticate(token()).join();
+
+        assertThat(auth).isSameAs(result);
+        assertThat(registry.get("auth.login.verification").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPropagateAuthenticationFailure() {
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("bad"));
+
+        CompletableFuture<Authentication> future = executor.authenticate(token());
+
+        assertThatThrownBy(future::join).hasCauseInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(authenticationManager.authenticate(any())).thenAnswer(inv -> {
+            running.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return inv.getArgument(0);
+        });
+
+        CompletableFuture<Authentication> first = executor.authenticate(token());
+        running.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Authentication> queued = executor.authenticate(token());
+
+        assertThat(registry.get("auth.login.queue.depth").gauge().value()).isEqualTo(1);
+        assertThatThrownBy(() -> executor.authenticate(token()))
+                .isInstanceOf(LoginCapacityExceededException.class);
+        assertThat(registry.get("auth.login.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        first.join();
+        queued.join();
+    }
+
+    private UsernamePasswordAuthenticationToken token() {
+        return new UsernamePasswordAuthenticationToken("user", "pass");
+    }
+}
@@ -0,0 +1,92 @@
+package com.stefanini.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Per-request overhead of {@link RateLimitFilter} (its body, bypassing the OncePerRequestFilter bookkeeping
+ * that would skip repeated calls on one request) for an authenticated client, single-threaded and with four
+ * threads hitting their own buckets. Not part of the regular test run; run it explicitly with
+ * {@code mvn test -Dtest=RateLimitFilterBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitFilterBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+        RateLimitFilter filter;
+
+        @Setup
+        public void setup() {
+            RateLimitProperties props = new RateLimitProperties();
+            // Large enough that the benchmark measures the allowed path, not 429s.
+            props.setRead(new RateLimitProperties.Limit(Integer.MAX_VALUE / 2, 1_000_000_000));
+            filter = new RateLimitFilter(props, new SimpleMeterRegistry());
+        }
+    }
+
+    private static final FilterChain NOOP = (request, response) -> { };
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setup() {
+        request = new MockHttpServletRequest("GET", "/api/tasks");
+        response = new MockHttpServletResponse();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "user-" + Thread.currentThread().getId(), null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse singleClient(Shared shared) throws Exception {
+        shared.filter.doFilterInternal(request, response, NOOP);
+        return response;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public MockHttpServletResponse concurrentClients(Shared shared) throws Exception {
+        shared.filter.doFilterInternal(request, response, NOOP);
+        return response;
+    }
+
+    @Test
+    void run() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(RateLimitFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
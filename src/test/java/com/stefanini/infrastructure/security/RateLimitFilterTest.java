@@ -0,0 +1,147 @@
+package com.stefanini.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private RateLimitProperties props;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setup() {
+        props = new RateLimitProperties();
+        props.setRead(new RateLimitProperties.Limit(2, 1));
+        props.setWrite(new RateLimitProperties.Limit(1, 1));
+        props.setLogin(new RateLimitProperties.Limit(1, 0.5));
+        props.setAddress(new RateLimitProperties.Limit(3, 1));
+        filter = new RateLimitFilter(props, registry, nanos::get);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldAllowBurstThenRejectWithHeaders() throws ServletException, IOException {
+        authenticate("alice");
+
+        MockHttpServletResponse first = perform("GET", "/api/tasks", "10.0.0.1");
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(first.getHeader("X-RateLimit-Limit")).isEqualTo("2");
+        assertThat(first.getHeader("X-RateLimit-Remaining")).isEqualTo("1");
+
+        assertThat(perform("GET", "/api/tasks", "10.0.0.1").getHeader("X-RateLimit-Remaining")).isEqualTo("0");
+
+        MockHttpServletResponse rejected = perform("GET", "/api/tasks", "10.0.0.1");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(registry.get("http.ratelimit.rejected").tag("class", "read").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRefillOverTime() throws ServletException, IOException {
+        authenticate("alice");
+        perform("POST", "/api/tasks", "10.0.0.1");
+        assertThat(perform("POST", "/api/tasks", "10.0.0.1").getStatus()).isEqualTo(429);
+
+        nanos.addAndGet(1_000_000_000L);
+
+        assertThat(perform("POST", "/api/tasks", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldKeySubjectsSeparatelyAndIgnoreTheirAddress() throws ServletException, IOException {
+        authenticate("alice");
+        perform("POST", "/api/tasks", "10.0.0.1");
+        assertThat(perform("POST", "/api/tasks", "10.0.0.2").getStatus()).isEqualTo(429);
+
+        authenticate("bob");
+        assertThat(perform("POST", "/api/tasks", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void loginShouldBeKeyedByAddress() throws ServletException, IOException {
+        assertThat(perform("POST", "/api/auth/login", "10.0.0.1").getStatus()).isEqualTo(200);
+        MockHttpServletResponse rejected = perform("POST", "/api/auth/login", "10.0.0.1");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("2");
+
+        assertThat(perform("POST", "/api/auth/login", "10.0.0.2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void addressFilterShouldLimitEveryRequestFromAnAddressBeforeAuthentication() throws ServletException, IOException {
+        for (int i = 0; i < 3; i++) {
+            assertThat(performBeforeAuthentication("GET", "/api/tasks", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+        MockHttpServletResponse rejected = performBeforeAuthentication("POST", "/api/tasks", "10.0.0.1");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(registry.get("http.ratelimit.rejected").tag("class", "address").counter().count()).isEqualTo(1);
+
+        assertThat(performBeforeAuthentication("GET", "/api/tasks", "10.0.0.2").getStatus()).isEqualTo(200);
+        assertThat(performBeforeAuthentication("GET", "/actuator/health", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldIgnoreRoutesOutsideApi() throws ServletException, IOException {
+        for (int i = 0; i < 5; i++) {
+            assertThat(perform("GET", "/actuator/health", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+        assertThat(filter.bucketCount()).isZero();
+    }
+
+    @Test
+    void shouldEvictOnlyRefilledBuckets() throws ServletException, IOException {
+        perform("GET", "/api/tasks", "10.0.0.1");
+        filter.evictIdleBuckets();
+        assertThat(filter.bucketCount()).isEqualTo(1);
+
+        nanos.addAndGet(1_000_000_000L);
+        filter.evictIdleBuckets();
+        assertThat(filter.bucketCount()).isZero();
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, String remoteAddr)
+            throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private MockHttpServletResponse performBeforeAuthentication(String method, String uri, String remoteAddr)
+            throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.addressFilter().doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+}
@@ -0,0 +1,88 @@
+package com.stefanini.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.autoconfigure.web.embedded.TomcatWebServerFactoryCustomizer;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the rate limiter in an embedded Tomcat configured from application.yml, with requests arriving from a
+ * loopback "load balancer" that forwards several clients.
+ */
+class RateLimitForwardedHeadersTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private ServerProperties server;
+    private WebServer webServer;
+
+    @BeforeEach
+    void start() throws Exception {
+        StandardEnvironment environment = new StandardEnvironment();
+        for (PropertySource<?> source : new YamlPropertySourceLoader().load("application",
+                new ClassPathResource("application.yml"))) {
+            environment.getPropertySources().addLast(source);
+        }
+        server = Binder.get(environment).bind("server", ServerProperties.class).get();
+
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        new TomcatWebServerFactoryCustomizer(environment, server).customize(factory);
+        RateLimitProperties props = new RateLimitProperties();
+        props.setLogin(new RateLimitProperties.Limit(1, 0.001));
+        RateLimitFilter filter = new RateLimitFilter(props, new SimpleMeterRegistry());
+        webServer = factory.getWebServer(context -> {
+            context.addFilter("rateLimit", filter).addMappingForUrlPatterns(null, false, "/*");
+            context.addServlet("ok", new HttpServlet() {
+                @Override
+                protected void service(HttpServletRequest request, HttpServletResponse response) {
+                    response.setStatus(200);
+                }
+            }).addMapping("/*");
+        });
+        webServer.start();
+    }
+
+    @AfterEach
+    void stop() {
+        webServer.stop();
+    }
+
+    @Test
+    void shouldUseNativeForwardedHeaders() {
+        assertThat(server.getForwardHeadersStrategy()).isEqualTo(ServerProperties.ForwardHeadersStrategy.NATIVE);
+    }
+
+    @Test
+    void forwardedClientsShouldGetSeparateBuckets() throws Exception {
+        assertThat(login("203.0.113.1")).isEqualTo(200);
+        assertThat(login("203.0.113.1")).isEqualTo(429);
+
+        assertThat(login("203.0.113.2")).isEqualTo(200);
+    }
+
+    private int login(String forwardedFor) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + webServer.getPort() + "/api/auth/login"))
+                .header("X-Forwarded-For", forwardedFor)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,41 @@
+package com.stefanini.infrastructure.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitPropertiesTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(Config.class);
+
+    @Test
+    void shouldBindLimits() {
+        runner.withPropertyValues("app.security.rate-limit.login.capacity=3",
+                        "app.security.rate-limit.login.refill-per-second=0.1")
+                .run(context -> {
+                    RateLimitProperties.Limit login = context.getBean(RateLimitProperties.class).getLogin();
+                    assertThat(login.getCapacity()).isEqualTo(3);
+                    assertThat(login.emissionIntervalNanos()).isEqualTo(10_000_000_000L);
+                });
+    }
+
+    // A zero rate would make the emission interval infinite and overflow the bucket's burst.
+    @Test
+    void shouldRejectNonPositiveRefill() {
+        runner.withPropertyValues("app.security.rate-limit.write.refill-per-second=0")
+                .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Test
+    void shouldRejectEmptyBucket() {
+        runner.withPropertyValues("app.security.rate-limit.address.capacity=0")
+                .run(context -> assertThat(context).hasFailed());
+    }
+
+    @EnableConfigurationProperties(RateLimitProperties.class)
+    static class Config {
+    }
+}
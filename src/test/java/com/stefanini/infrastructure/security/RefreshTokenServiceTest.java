@@ -0,0 +1,106 @@
+package com.stefanini.infrastructure.security;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Mock
+    private RefreshTokenRepository repository;
+
+    private RefreshTokenService service;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setup() {
+        service = new RefreshTokenService(repository, Duration.ofDays(30), Clock.fixed(NOW, ZoneOffset.UTC));
+        now = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+    }
+
+    @Test
+    void issueShouldStoreOnlyTheHash() {
+        String raw = service.issue("user");
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository).save(captor.capture());
+        assertThat(captor.getValue().getTokenHash()).isEqualTo(RefreshTokenService.hash(raw)).isNotEqualTo(raw);
+        assertThat(captor.getValue().getExpiresAt()).isEqualTo(now.plusDays(30));
+    }
+
+    @Test
+    void rotateShouldConsumeTokenAndIssueReplacementInSameFamily() {
+        RefreshToken stored = stored("family-1", null);
+        when(repository.findByTokenHash(RefreshTokenService.hash("raw"))).thenReturn(Optional.of(stored));
+        when(repository.markUsed(1L, now)).thenReturn(1);
+
+        RefreshTokenService.Rotation rotation = service.rotate("raw");
+
+        assertThat(rotation.getUsername()).isEqualTo("user");
+        assertThat(rotation.getRefreshToken()).isNotEqualTo("raw");
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository).save(captor.capture());
+        assertThat(captor.getValue().getFamilyId()).isEqualTo("family-1");
+    }
+
+    @Test
+    void reuseShouldRevokeWholeFamily() {
+        RefreshToken stored = stored("family-1", now.minusMinutes(5));
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(stored));
+
+        assertThatThrownBy(() -> service.rotate("raw")).isInstanceOf(InvalidRefreshTokenException.class);
+
+        verify(repository).revokeFamily("family-1", now);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void concurrentUseShouldBeTreatedAsReuse() {
+        RefreshToken stored = stored("family-1", null);
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(stored));
+        when(repository.markUsed(eq(1L), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> service.rotate("raw")).isInstanceOf(InvalidRefreshTokenException.class);
+
+        verify(repository).revokeFamily("family-1", now);
+    }
+
+    @Test
+    void expiredOrUnknownTokenShouldBeRejected() {
+        RefreshToken expired = new RefreshToken("hash", "family-1", "user", now.minusDays(31), now.minusDays(1));
+        when(repository.findByTokenHash(RefreshTokenService.hash("old"))).thenReturn(Optional.of(expired));
+        when(repository.findByTokenHash(RefreshTokenService.hash("unknown"))).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.rotate("old")).isInstanceOf(InvalidRefreshTokenException.class);
+        assertThatThrownBy(() -> service.rotate("unknown")).isInstanceOf(InvalidRefreshTokenException.class);
+        verify(repository, never()).revokeFamily(anyString(), any());
+    }
+
+    private RefreshToken stored(String familyId, LocalDateTime usedAt) {
+        RefreshToken token = new RefreshToken("hash", familyId, "user", now.minusHours(1), now.plusDays(29));
+        token.setId(1L);
+        token.setUsedAt(usedAt);
+        return token;
+    }
+}
@@ -1,7 +1,10 @@
 package com.stefanini.infrastructure.security;
 
+import jakarta.servlet.Filter;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
@@ -41,6 +44,13 @@ class SecurityConfigTest {
     @MockBean
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @MockBean
+    private ApiKeyAuthenticationFilter apiKeyAuthenticationFilter;
+
+    // Deep stubs so addressFilter() returns the same filter while the chain is built and in the assertions.
+    @MockBean(answer = Answers.RETURNS_DEEP_STUBS)
+    private RateLimitFilter rateLimitFilter;
+
     @BeforeEach
     void setupProps() {
         userProps.setUsername("user");
@@ -62,6 +72,26 @@ class SecurityConfigTest {
                 .anyMatch(f -> f instanceof JwtAuthenticationFilter);
     }
 
+    @Test
+    void filterChainShouldRateLimitAfterAuthentication() {
+        List<Filter> filters = securityFilterChain.getFilters();
+        int jwt = filters.indexOf(jwtAuthenticationFilter);
+        int rateLimit = filters.indexOf(rateLimitFilter);
+
+        assertThat(jwt).isNotNegative();
+        assertThat(rateLimit).isGreaterThan(jwt);
+        assertThat(filters.indexOf(apiKeyAuthenticationFilter)).isBetween(0, jwt);
+    }
+
+    @Test
+    void filterChainShouldLimitByAddressBeforeCredentialsAreChecked() {
+        List<Filter> filters = securityFilterChain.getFilters();
+        int address = filters.indexOf(rateLimitFilter.addressFilter());
+
+        assertThat(address).isNotNegative();
+        assertThat(address).isLessThan(filters.indexOf(apiKeyAuthenticationFilter));
+    }
+
     @RestController
     static class DummyController {
         @GetMapping("/actuator/health")
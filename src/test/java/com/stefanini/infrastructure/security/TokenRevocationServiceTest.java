@@ -0,0 +1,130 @@
+package com.stefanini.infrastructure.security;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private UserTokenRevocationRepository userRevocationRepository;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setup() {
+        RevocationProperties props = new RevocationProperties();
+        service = new TokenRevocationService(revokedTokenRepository, userRevocationRepository, refreshTokenService,
+                props, Duration.ofMinutes(15), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void unrevokedTokenShouldNotHitTheStoreOnceFilterIsLoaded() {
+        when(revokedTokenRepository.findAllJtis()).thenReturn(List.of("other"));
+        service.refresh();
+
+        assertThat(service.isRevoked(token("jti-1", NOW))).isFalse();
+        verify(revokedTokenRepository, never()).existsById(any());
+        verify(userRevocationRepository, never()).findById(any());
+    }
+
+    @Test
+    void revokedJtiShouldBeRejected() {
+        service.refresh();
+
+        service.revokeToken("jti-1", "user", NOW.plusSeconds(600));
+        when(revokedTokenRepository.existsById("jti-1")).thenReturn(true);
+
+        assertThat(service.isRevoked(token("jti-1", NOW))).isTrue();
+        ArgumentCaptor<RevokedToken> captor = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(captor.capture());
+        assertThat(captor.getValue().getExpiresAt()).isEqualTo(LocalDateTime.ofInstant(NOW.plusSeconds(600), ZoneOffset.UTC));
+    }
+
+    @Test
+    void userRevocationShouldRejectOnlyTokensIssuedBeforeCutoff() {
+        service.refresh();
+        LocalDateTime cutoff = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+        when(userRevocationRepository.findById("user")).thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new UserTokenRevocation("user", cutoff, cutoff.plusMinutes(15))));
+
+        service.revokeAllIssuedBefore("user", NOW);
+
+        verify(refreshTokenService).revokeAllForUser("user");
+        assertThat(service.isRevoked(token("old", NOW.minusSeconds(60)))).isTrue();
+        assertThat(service.isRevoked(token("new", NOW.plusSeconds(1)))).isFalse();
+    }
+
+    @Test
+    void userRevocationShouldCompareAtSecondPrecisionAndRejectFutureCutoffs() {
+        service.refresh();
+        Instant before = NOW.minusMillis(500);
+        LocalDateTime cutoff = LocalDateTime.ofInstant(NOW.minusSeconds(1), ZoneOffset.UTC);
+        when(userRevocationRepository.findById("user")).thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new UserTokenRevocation("user", cutoff, cutoff.plusMinutes(15))));
+
+        service.revokeAllIssuedBefore("user", before);
+
+        ArgumentCaptor<UserTokenRevocation> captor = ArgumentCaptor.forClass(UserTokenRevocation.class);
+        verify(userRevocationRepository).save(captor.capture());
+        assertThat(captor.getValue().getRevokedBefore()).isEqualTo(cutoff);
+        // Issued in the cutoff's second (iat has no milliseconds): a login right after the revocation.
+        assertThat(service.isRevoked(token("same-second", NOW.minusSeconds(1)))).isFalse();
+        assertThat(service.isRevoked(token("older", NOW.minusSeconds(2)))).isTrue();
+
+        assertThatThrownBy(() -> service.revokeAllIssuedBefore("user", NOW.plusSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void localRevocationShouldSurviveRebuildThatMissedIt() {
+        service.refresh();
+        service.revokeToken("jti-1", "user", null);
+        when(revokedTokenRepository.existsById("jti-1")).thenReturn(true);
+
+        // The rebuild query does not see the row yet; the filter must still flag it.
+        service.refresh();
+
+        assertThat(service.isRevoked(token("jti-1", NOW))).isTrue();
+    }
+
+    @Test
+    void refreshShouldPurgeExpiredRows() {
+        LocalDateTime now = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+
+        service.refresh();
+
+        verify(revokedTokenRepository).deleteExpired(now);
+        verify(userRevocationRepository).deleteExpired(now);
+    }
+
+    private VerifiedToken token(String jti, Instant issuedAt) {
+        return new VerifiedToken(jti, "user", issuedAt, issuedAt.plusSeconds(900), List.of(), "v1");
+    }
+}
@@ -0,0 +1,79 @@
+package com.stefanini.infrastructure.security;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserVersionServiceTest {
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private UserRecheckProperties props;
+
+    @BeforeEach
+    void setup() {
+        props = new UserRecheckProperties();
+    }
+
+    @Test
+    void versionShouldChangeWhenPasswordOrRolesChange() {
+        String base = UserVersionService.versionOf(user("hash", "ROLE_USER"));
+
+        assertThat(UserVersionService.versionOf(user("hash", "ROLE_USER"))).isEqualTo(base);
+        assertThat(UserVersionService.versionOf(user("other-hash", "ROLE_USER"))).isNotEqualTo(base);
+        assertThat(UserVersionService.versionOf(user("hash", "ROLE_ADMIN"))).isNotEqualTo(base);
+    }
+
+    @Test
+    void shouldNotTouchStoreWhenRecheckDisabled() {
+        UserVersionService service = new UserVersionService(userDetailsService, props);
+
+        assertThat(service.isCurrent("user", "anything")).isTrue();
+        verify(userDetailsService, never()).loadUserByUsername(any());
+    }
+
+    @Test
+    void shouldRecheckStoreOncePerInterval() {
+        props.setEnabled(true);
+        UserVersionService service = new UserVersionService(userDetailsService, props);
+        UserDetails user = user("hash", "ROLE_USER");
+        when(userDetailsService.loadUserByUsername("user")).thenReturn(user);
+        String version = UserVersionService.versionOf(user);
+
+        assertThat(service.isCurrent("user", version)).isTrue();
+        assertThat(service.isCurrent("user", version)).isTrue();
+        assertThat(service.isCurrent("user", "stale")).isFalse();
+
+        verify(userDetailsService, times(1)).loadUserByUsername("user");
+    }
+
+    @Test
+    void shouldRejectTokensOfRemovedUser() {
+        props.setEnabled(true);
+        UserVersionService service = new UserVersionService(userDetailsService, props);
+        when(userDetailsService.loadUserByUsername("gone")).thenThrow(new UsernameNotFoundException("gone"));
+
+        assertThat(service.isCurrent("gone", "v1")).isFalse();
+    }
+
+    private UserDetails user(String password, String role) {
+        return new User("user", password, List.of(new SimpleGrantedAuthority(role)));
+    }
+}
@@ -0,0 +1,102 @@
+package com.stefanini.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private final Instant start = Instant.parse("2024-01-01T00:00:00Z");
+    private final AtomicLong nanos = new AtomicLong();
+
+    private SimpleMeterRegistry registry;
+    private JwtCacheProperties props;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        props = new JwtCacheProperties();
+    }
+
+    @Test
+    void shouldReturnCachedClaimsForSameToken() {
+        VerifiedTokenCache cache = cacheAt(start);
+        cache.put("token", token(start.plusSeconds(60)));
+
+        assertThat(cache.get("token")).isNotNull();
+        assertThat(cache.get("other")).isNull();
+    }
+
+    @Test
+    void shouldEvictEntryWhenExpiryPasses() {
+        VerifiedTokenCache cache = cacheAt(start);
+        cache.put("token", token(start.plusSeconds(60)));
+
+        nanos.addAndGet(Duration.ofSeconds(61).toNanos());
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get("token")).isNull();
+    }
+
+    @Test
+    void shouldNotCacheAlreadyExpiredToken() {
+        VerifiedTokenCache cache = cacheAt(start);
+        cache.put("token", token(start.minusSeconds(1)));
+
+        assertThat(cache.get("token")).isNull();
+    }
+
+    @Test
+    void shouldRespectMaxEntries() {
+        props.setMaxEntries(2);
+        VerifiedTokenCache cache = cacheAt(start);
+
+        for (int i = 0; i < 100; i++) {
+            cache.put("token-" + i, token(start.plusSeconds(60)));
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(2);
+        assertThat(registry.get("cache.evictions").tag("cache", VerifiedTokenCache.CACHE_NAME)
+                .functionCounter().count()).isGreaterThanOrEqualTo(98);
+    }
+
+    @Test
+    void shouldPublishHitAndMissMetrics() {
+        VerifiedTokenCache cache = cacheAt(start);
+        cache.put("token", token(start.plusSeconds(60)));
+
+        cache.get("token");
+        cache.get("missing");
+
+        assertThat(registry.get("cache.gets").tags("cache", VerifiedTokenCache.CACHE_NAME, "result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tags("cache", VerifiedTokenCache.CACHE_NAME, "result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void disabledCacheShouldAlwaysMiss() {
+        props.setEnabled(false);
+        VerifiedTokenCache cache = cacheAt(start);
+        cache.put("token", token(start.plusSeconds(60)));
+
+        assertThat(cache.get("token")).isNull();
+    }
+
+    private VerifiedTokenCache cacheAt(Instant now) {
+        Ticker ticker = nanos::get;
+        return new VerifiedTokenCache(props, registry, Clock.fixed(now, ZoneOffset.UTC), ticker);
+    }
+
+    private VerifiedToken token(Instant expiresAt) {
+        return new VerifiedToken("user", start, expiresAt);
+    }
+}